@@ -0,0 +1,49 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks and always publishes results as JSON, so results of releases
+ * can be compared. Takes the same arguments as JMH, like benchmark regexp and -f, -wi, -i.
+ * Results are written to file given with -rff, benchmark-results.json by default.
+ * <p>
+ * Usage: java -cp target/benchmarks.jar com.implemica.zavizionov.calculator.benchmark.BenchmarkRunner [JMH options]
+ *
+ * @author Zavizionov Andrii
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Default file of results.
+     */
+    private static final String DEFAULT_RESULT_FILE = "benchmark-results.json";
+
+    /**
+     * Runner has only main method.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs benchmarks.
+     *
+     * @param args - JMH options.
+     * @throws CommandLineOptionException - if options are malformed
+     * @throws RunnerException            - if benchmarks fail
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(options);
+        builder.resultFormat(ResultFormatType.JSON);
+        if (!options.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.DecimalParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares new BigDecimal(String) with decimal parser of strings and ASCII bytes.
+ * Allocation rate is seen with -prof gc.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalParseBenchmark {
+
+    @Param({"42", "-1234.5678", "2.5E-10", "123456789012345678901234.5"})
+    private String text;
+
+    private final DecimalParser parser = new DecimalParser();
+
+    private ByteBuffer bytes;
+
+    @Setup
+    public void setUp() {
+        bytes = ByteBuffer.allocateDirect(text.length());
+        bytes.put(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalConstructor() {
+        return new BigDecimal(text);
+    }
+
+    @Benchmark
+    public BigDecimal parserToBigDecimal() {
+        parser.parse(text);
+        return parser.toBigDecimal();
+    }
+
+    @Benchmark
+    public long parserCompact() {
+        parser.parse(text);
+        return parser.isCompact() ? parser.getUnscaled() + parser.getScale() : 0;
+    }
+
+    @Benchmark
+    public long parserDirectBytes() {
+        parser.parse(bytes, 0, bytes.limit());
+        return parser.isCompact() ? parser.getUnscaled() + parser.getScale() : 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.DisplayCache;
+import com.implemica.zavizionov.calculator.DisplayFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures display paths of first screen: rounding, formatting to new string,
+ * formatting to reused builder and cached texts. DecimalFormat scientific format,
+ * that was used before, is a baseline.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisplayBenchmark {
+
+    @Param({"12.5", "0.33333333333333333333333333333333", "1.9999999999999999999", "123456789012345678901234567890"})
+    private String value;
+
+    private final DisplayFormatter formatter = DisplayFormatter.getInstance();
+
+    private final DisplayCache cache = new DisplayCache();
+
+    private final StringBuilder builder = new StringBuilder(32);
+
+    private final DecimalFormat decimalFormat = new DecimalFormat("0E0");
+
+    private BigDecimal number;
+
+    @Setup
+    public void setUp() {
+        number = new BigDecimal(value);
+        decimalFormat.setMaximumIntegerDigits(1);
+        decimalFormat.setMaximumFractionDigits(DisplayFormatter.DISPLAY_SIZE - 1);
+        decimalFormat.setGroupingUsed(false);
+        decimalFormat.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ROOT));
+    }
+
+    @Benchmark
+    public BigDecimal getRounded() {
+        return formatter.getRounded(number);
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.format(number);
+    }
+
+    @Benchmark
+    public StringBuilder formatToBuilder() {
+        builder.setLength(0);
+        return formatter.appendTo(number, builder);
+    }
+
+    @Benchmark
+    public String cached() {
+        return cache.get(number).getText();
+    }
+
+    @Benchmark
+    public String decimalFormatBaseline() {
+        return decimalFormat.format(number);
+    }
+}
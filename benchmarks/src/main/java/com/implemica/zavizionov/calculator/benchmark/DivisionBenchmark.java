@@ -0,0 +1,96 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.PrecisionPolicy;
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares latency of divide, reverse and percent operations
+ * for different precision policies. LEGACY is a fixed scale of 10000,
+ * that was used by calculator before precision policies.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DivisionBenchmark {
+
+    /**
+     * Policies to compare.
+     */
+    public enum Policy {
+        LEGACY(PrecisionPolicy.fixedScale(10000)),
+        DEFAULT(PrecisionPolicy.DEFAULT),
+        DECIMAL64(PrecisionPolicy.of(MathContext.DECIMAL64));
+
+        private final PrecisionPolicy precisionPolicy;
+
+        Policy(PrecisionPolicy precisionPolicy) {
+            this.precisionPolicy = precisionPolicy;
+        }
+    }
+
+    @Param({"LEGACY", "DEFAULT", "DECIMAL64"})
+    private Policy policy;
+
+    @Param({"1", "123456.789"})
+    private String dividend;
+
+    private Calculator calculator;
+
+    private BigDecimal left;
+
+    private final BigDecimal three = BigDecimal.valueOf(3);
+
+    private final BigDecimal eight = BigDecimal.valueOf(8);
+
+    @Setup
+    public void setUp() {
+        calculator = new Calculator(policy.precisionPolicy);
+        left = new BigDecimal(dividend);
+    }
+
+    @Benchmark
+    public BigDecimal divideNonTerminating() throws NumberOverflowException, DivideByZeroException {
+        calculator.setOperation(left, Operation.DIVIDE);
+        return calculator.getResult(three);
+    }
+
+    @Benchmark
+    public BigDecimal divideTerminating() throws NumberOverflowException, DivideByZeroException {
+        calculator.setOperation(left, Operation.DIVIDE);
+        return calculator.getResult(eight);
+    }
+
+    @Benchmark
+    public BigDecimal reverse() throws NumberOverflowException, DivideByZeroException {
+        return calculator.getReversed(three);
+    }
+
+    @Benchmark
+    public BigDecimal percent() throws NumberOverflowException {
+        calculator.setOperation(left, Operation.PLUS);
+        return calculator.getPercent(three);
+    }
+}
@@ -0,0 +1,63 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cost of divide by zero errors with and without
+ * lightweight exceptions mode.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"false", "true"})
+    private boolean lightweight;
+
+    private final Calculator calculator = new Calculator();
+
+    private final BigDecimal five = BigDecimal.valueOf(5);
+
+    @Setup
+    public void setUp() {
+        calculator.setLightweightExceptions(lightweight);
+    }
+
+    @Benchmark
+    public Object divideByZero() throws NumberOverflowException {
+        calculator.setOperation(five, Operation.DIVIDE);
+        try {
+            return calculator.getResult(BigDecimal.ZERO);
+        } catch (DivideByZeroException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object divideSuccessfully() throws NumberOverflowException, DivideByZeroException {
+        calculator.setOperation(five, Operation.DIVIDE);
+        return calculator.getResult(five);
+    }
+}
@@ -0,0 +1,74 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.ExpressionEvaluator;
+import com.implemica.zavizionov.calculator.ExpressionPlan;
+import com.implemica.zavizionov.calculator.ResultHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of expression evaluation without view:
+ * parsing of strings and evaluation of compiled template plans.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private final String[] expressions = {
+            "3+5*2=",
+            "1234.5678-0.0001*12=",
+            "100/8+7.25-1e3=",
+            "2+3==",
+            "-17.5*4/7="
+    };
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    private final ResultHolder holder = new ResultHolder();
+
+    private final BigDecimal[] operands = {new BigDecimal("1234.5678"), new BigDecimal("0.0001")};
+
+    private ExpressionPlan plan;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        plan = evaluator.compile("?-?*12=");
+    }
+
+    @Benchmark
+    public ResultHolder evaluatePlan() {
+        evaluator.evaluate(plan, holder, operands);
+        return holder;
+    }
+
+    @Benchmark
+    public ResultHolder evaluateCachedTemplate() {
+        evaluator.evaluate(evaluator.compile("?-?*12="), holder, operands);
+        return holder;
+    }
+
+    @Benchmark
+    public ResultHolder evaluate() {
+        evaluator.evaluate(expressions[index++ % expressions.length], holder);
+        return holder;
+    }
+}
@@ -0,0 +1,61 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compares throughput of memoryAdd on one shared calculator with
+ * single compare-and-set register and synchronized register.
+ * Scaling is seen by running it with different count of threads:
+ * java -jar target/benchmarks.jar MemoryAddBenchmark -t 1, then -t 2, ... -t max
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryAddBenchmark {
+
+    private final BigDecimal value = new BigDecimal("0.01");
+
+    private final Calculator calculator = new Calculator();
+
+    private final AtomicReference<BigDecimal> casRegister = new AtomicReference<>(BigDecimal.ZERO);
+
+    private BigDecimal lockedRegister = BigDecimal.ZERO;
+
+    @Benchmark
+    public void stripedAdder() {
+        calculator.memoryAdd(value);
+    }
+
+    @Benchmark
+    public void casRegister() {
+        BigDecimal current;
+        do {
+            current = casRegister.get();
+        } while (!casRegister.compareAndSet(current, current.add(value)));
+    }
+
+    @Benchmark
+    public void synchronizedRegister() {
+        synchronized (this) {
+            lockedRegister = lockedRegister.add(value);
+        }
+    }
+}
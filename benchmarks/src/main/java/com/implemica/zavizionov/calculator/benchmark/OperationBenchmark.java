@@ -0,0 +1,77 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures latency of Calculator.getResult for every binary operation
+ * with operands of different count of digits.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationBenchmark {
+
+    @Param({"PLUS", "MINUS", "MULTIPLY", "DIVIDE"})
+    private Operation operation;
+
+    @Param({"1", "16", "64"})
+    private int digits;
+
+    private final Calculator calculator = new Calculator();
+
+    private BigDecimal left;
+
+    private BigDecimal right;
+
+    /**
+     * Creates number of given count of digits, half of them are fraction digits.
+     *
+     * @param pattern - digits, that are repeated.
+     * @param digits  - count of digits.
+     * @return number.
+     */
+    static BigDecimal operand(String pattern, int digits) {
+        StringBuilder text = new StringBuilder(digits + 1);
+        for (int i = 0; i < digits; i++) {
+            text.append(pattern.charAt(i % pattern.length()));
+        }
+        if (digits > 1) {
+            text.insert((digits + 1) / 2, '.');
+        }
+        return new BigDecimal(text.toString());
+    }
+
+    @Setup
+    public void setUp() {
+        left = operand("987654321", digits);
+        right = operand("123456789", digits);
+    }
+
+    @Benchmark
+    public BigDecimal getResult() throws NumberOverflowException, DivideByZeroException {
+        calculator.setOperation(left, operation);
+        return calculator.getResult(right);
+    }
+}
@@ -0,0 +1,61 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.CalculationResult;
+import com.implemica.zavizionov.calculator.CalculatorController;
+import com.implemica.zavizionov.calculator.CalculatorSessionPool;
+import com.implemica.zavizionov.calculator.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares short sessions with new controller per session and
+ * with controllers from session pool. Allocation rate is seen with -prof gc.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionChurnBenchmark {
+
+    private final CalculatorSessionPool pool = new CalculatorSessionPool();
+
+    private final BigDecimal left = new BigDecimal("12.5");
+
+    private final BigDecimal right = new BigDecimal("4");
+
+    private static CalculationResult session(CalculatorController controller, BigDecimal left, BigDecimal right) {
+        controller.setOperation(left, Operation.MULTIPLY);
+        CalculationResult result = controller.tryGetResult(right);
+        controller.memoryAdd(result.getValue());
+        return result;
+    }
+
+    @Benchmark
+    public CalculationResult newControllerPerSession() {
+        return session(CalculatorController.getInstance(), left, right);
+    }
+
+    @Benchmark
+    public CalculationResult pooledController() {
+        CalculatorController controller = pool.acquire();
+        try {
+            return session(controller, left, right);
+        } finally {
+            pool.release(controller);
+        }
+    }
+}
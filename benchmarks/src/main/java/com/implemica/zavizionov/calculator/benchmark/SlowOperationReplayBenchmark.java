@@ -0,0 +1,84 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import com.implemica.zavizionov.calculator.SlowOperationSampler;
+import com.implemica.zavizionov.calculator.SlowOperationSampler.Sample;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays slow operations, that were captured by SlowOperationSampler and dumped to file.
+ * Every invocation replays next sample, so score is average latency of captured operations.
+ * Without file, built-in pathological samples are replayed: quotients with scale 10000
+ * and products near max scale.
+ * <p>
+ * Usage: java -jar target/benchmarks.jar SlowOperationReplayBenchmark -p samples=slow-operations.txt
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlowOperationReplayBenchmark {
+
+    /**
+     * Pathological samples, that are replayed without file. Durations are not known.
+     */
+    private static final String BUILT_IN_SAMPLES = ""
+            + "DIVIDE 1 3 0 OK fixedScale(10000)\n"
+            + "DIVIDE 123456.789 7 0 OK fixedScale(10000)\n"
+            + "REVERSE 3 - 0 OK fixedScale(10000)\n"
+            + "PERCENT 123456.789 7 0 OK fixedScale(10000)\n"
+            + "SQRT 2 - 0 OK fixedScale(1000)\n"
+            + "MULTIPLY 1.5E+4999 -1.5E+4999 0 OK exactOrSignificant(64)\n"
+            + "MULTIPLY 1E+5001 1E+5000 0 OVERFLOW exactOrSignificant(64)\n";
+
+    /**
+     * Path of dumped samples, empty for built-in samples.
+     */
+    @Param({""})
+    private String samples;
+
+    private final Calculator calculator = new Calculator();
+
+    private Sample[] replayed;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Sample> read = samples.isEmpty()
+                ? SlowOperationSampler.read(new StringReader(BUILT_IN_SAMPLES))
+                : SlowOperationSampler.read(Paths.get(samples));
+        if (read.isEmpty()) {
+            throw new IllegalStateException("Expected: samples, actual: empty " + samples);
+        }
+        replayed = read.toArray(new Sample[0]);
+    }
+
+    @Benchmark
+    public BigDecimal replay() {
+        Sample sample = replayed[next];
+        next = next + 1 == replayed.length ? 0 : next + 1;
+        return sample.replay(calculator);
+    }
+}
@@ -0,0 +1,64 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares square root of calculator with double round-trip,
+ * that was used before (Math.sqrt of double value).
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqrtBenchmark {
+
+    @Param({"144", "2", "123456789123"})
+    private String value;
+
+    private final Calculator calculator = new Calculator();
+
+    /**
+     * Number, that is too big for double round-trip.
+     */
+    private final BigDecimal huge = new BigDecimal("2E9999");
+
+    private BigDecimal operand;
+
+    @Setup
+    public void setUp() {
+        operand = new BigDecimal(value);
+    }
+
+    @Benchmark
+    public BigDecimal doubleRoundTrip() {
+        return BigDecimal.valueOf(Math.sqrt(operand.doubleValue())).stripTrailingZeros();
+    }
+
+    @Benchmark
+    public BigDecimal sqrt() {
+        return calculator.getSqrt(operand);
+    }
+
+    @Benchmark
+    public BigDecimal sqrtHuge() {
+        return calculator.getSqrt(huge);
+    }
+}
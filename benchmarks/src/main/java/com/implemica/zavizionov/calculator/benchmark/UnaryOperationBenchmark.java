@@ -0,0 +1,70 @@
+package com.implemica.zavizionov.calculator.benchmark;
+
+import com.implemica.zavizionov.calculator.Calculator;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures latency of reverse, square root, percent and invert operations
+ * of calculator with operands of different count of digits.
+ *
+ * @author Zavizionov Andrii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnaryOperationBenchmark {
+
+    @Param({"1", "16", "64"})
+    private int digits;
+
+    private final Calculator calculator = new Calculator();
+
+    private final BigDecimal base = new BigDecimal("250");
+
+    private BigDecimal operand;
+
+    @Setup
+    public void setUp() {
+        operand = OperationBenchmark.operand("123456789", digits);
+    }
+
+    @Benchmark
+    public BigDecimal reverse() throws NumberOverflowException, DivideByZeroException {
+        return calculator.getReversed(operand);
+    }
+
+    @Benchmark
+    public BigDecimal sqrt() {
+        return calculator.getSqrt(operand);
+    }
+
+    @Benchmark
+    public BigDecimal percent() throws NumberOverflowException {
+        calculator.setOperation(base, Operation.PLUS);
+        return calculator.getPercent(operand);
+    }
+
+    @Benchmark
+    public BigDecimal invert() {
+        return calculator.getInverted(operand);
+    }
+}
@@ -0,0 +1,40 @@
+package com.implemica.zavizionov.calculator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of formatting number for first screen.
+ * Is created only by FlightRecorderEvents, that is loaded only if runtime has flight recorder.
+ *
+ * @author Zavizionov Andrii
+ */
+@Name("com.implemica.calculator.DisplayFormat")
+@Label("Calculator Display Format")
+@Category("Calculator")
+@Description("Formatting of number for first screen of calculator")
+@Threshold(FlightRecorderEvents.DEFAULT_THRESHOLD)
+final class DisplayFormatEvent extends Event {
+
+    /**
+     * Precision of formatted number.
+     */
+    @Label("Precision")
+    int precision;
+
+    /**
+     * Scale of formatted number.
+     */
+    @Label("Scale")
+    int scale;
+
+    /**
+     * Length of text of number.
+     */
+    @Label("Text Length")
+    int textLength;
+}
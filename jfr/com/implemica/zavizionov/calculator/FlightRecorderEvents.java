@@ -0,0 +1,88 @@
+package com.implemica.zavizionov.calculator;
+
+import jdk.jfr.EventType;
+
+import java.math.BigDecimal;
+
+/**
+ * Records events of calculator with flight recorder. Is loaded by FlightEvents by name,
+ * so it's the only class, besides events, that depends on jdk.jfr. Enabled state of event
+ * types is checked before event is created, so no event is allocated when recording is off.
+ * Events, that are shorter than default threshold, are not written.
+ *
+ * @author Zavizionov Andrii
+ */
+final class FlightRecorderEvents implements EventRecorder {
+
+    /**
+     * Duration of events, that are recorded by default. Writing of event costs about
+     * a microsecond, so fast operations are skipped, recording can set other threshold.
+     */
+    static final String DEFAULT_THRESHOLD = "20 us";
+
+    /**
+     * Type of operation events.
+     */
+    private final EventType operationType = EventType.getEventType(OperationEvent.class);
+
+    /**
+     * Type of format events.
+     */
+    private final EventType formatType = EventType.getEventType(DisplayFormatEvent.class);
+
+    @Override
+    public Object beginOperation() {
+        if (!operationType.isEnabled()) {
+            return null;
+        }
+        OperationEvent event = new OperationEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitOperation(Object started, Operation operation, BigDecimal left, BigDecimal right,
+                                BigDecimal result, ResultStatus status) {
+        OperationEvent event = (OperationEvent) started;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation.name();
+        event.leftPrecision = left.precision();
+        event.leftScale = left.scale();
+        if (right != null) {
+            event.rightPrecision = right.precision();
+            event.rightScale = right.scale();
+        }
+        if (result != null) {
+            event.resultPrecision = result.precision();
+            event.resultScale = result.scale();
+        }
+        event.status = status.name();
+        event.commit();
+    }
+
+    @Override
+    public Object beginFormat() {
+        if (!formatType.isEnabled()) {
+            return null;
+        }
+        DisplayFormatEvent event = new DisplayFormatEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitFormat(Object started, BigDecimal value, int textLength) {
+        DisplayFormatEvent event = (DisplayFormatEvent) started;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.precision = value.precision();
+        event.scale = value.scale();
+        event.textLength = textLength;
+        event.commit();
+    }
+}
@@ -0,0 +1,71 @@
+package com.implemica.zavizionov.calculator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of calculator operation. Duration of event is duration of operation,
+ * operand precisions and scales let slow operations be matched with huge operands.
+ * Is created only by FlightRecorderEvents, that is loaded only if runtime has flight recorder.
+ *
+ * @author Zavizionov Andrii
+ */
+@Name("com.implemica.calculator.Operation")
+@Label("Calculator Operation")
+@Category("Calculator")
+@Description("Operation of calculator with scales of operands and result")
+@Threshold(FlightRecorderEvents.DEFAULT_THRESHOLD)
+final class OperationEvent extends Event {
+
+    /**
+     * Name of operation.
+     */
+    @Label("Operation")
+    String operation;
+
+    /**
+     * Precision of left operand, or of the only operand of unary operation.
+     */
+    @Label("Left Precision")
+    int leftPrecision;
+
+    /**
+     * Scale of left operand, or of the only operand of unary operation.
+     */
+    @Label("Left Scale")
+    int leftScale;
+
+    /**
+     * Precision of right operand, 0 for unary operation.
+     */
+    @Label("Right Precision")
+    int rightPrecision;
+
+    /**
+     * Scale of right operand, 0 for unary operation.
+     */
+    @Label("Right Scale")
+    int rightScale;
+
+    /**
+     * Precision of result, 0 if operation failed.
+     */
+    @Label("Result Precision")
+    int resultPrecision;
+
+    /**
+     * Scale of result, 0 if operation failed.
+     */
+    @Label("Result Scale")
+    int resultScale;
+
+    /**
+     * Status of result, like OK or OVERFLOW.
+     */
+    @Label("Status")
+    String status;
+}
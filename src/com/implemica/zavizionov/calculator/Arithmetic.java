@@ -0,0 +1,186 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Stateless calculator arithmetic. Is shared by calculators,
+ * that store their operands in different ways.
+ *
+ * @author Zavizionov Andrii
+ */
+final class Arithmetic {
+
+    /**
+     * Max calculator scale. Any operation
+     * that will need a bigger scale, will cause an overflow.
+     */
+    static final int MAX_SCALE = 10000;
+
+    /**
+     * BigDecimal value of (-1)
+     */
+    private static final BigDecimal NEGATIVE_ONE = BigDecimal.valueOf(-1);
+
+    /**
+     * BigDecimal value of 100
+     */
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Class has only static methods.
+     */
+    private Arithmetic() {
+
+    }
+
+    /**
+     * Checks if operation can be performed on given operands,
+     * before performing it.
+     *
+     * @param operation       - operation to be performed.
+     * @param leftOperand     - left operand.
+     * @param rightOperand    - right operand.
+     * @param precisionPolicy - precision policy for divide operation.
+     * @return OK or status of error, that will surely occur.
+     */
+    static ResultStatus check(Operation operation, BigDecimal leftOperand, BigDecimal rightOperand,
+                              PrecisionPolicy precisionPolicy) {
+        if (OverflowEstimator.isOverflow(operation, leftOperand, rightOperand, MAX_SCALE, precisionPolicy)) {
+            return ResultStatus.OVERFLOW;
+        }
+        if (operation == Operation.DIVIDE && rightOperand.compareTo(BigDecimal.ZERO) == 0) {
+            return ResultStatus.DIVIDE_BY_ZERO;
+        }
+        return ResultStatus.OK;
+    }
+
+    /**
+     * Performs two-operand operation on checked operands.
+     * Other operations give zero.
+     *
+     * @param operation       - operation to be performed.
+     * @param leftOperand     - left operand.
+     * @param rightOperand    - right operand, non-zero for divide operation.
+     * @param precisionPolicy - precision policy for divide operation.
+     * @return result of operation.
+     */
+    static BigDecimal apply(Operation operation, BigDecimal leftOperand, BigDecimal rightOperand,
+                            PrecisionPolicy precisionPolicy) {
+        switch (operation) {
+            case PLUS:
+                return leftOperand.add(rightOperand);
+            case MINUS:
+                return leftOperand.subtract(rightOperand);
+            case DIVIDE:
+                return precisionPolicy.divide(leftOperand, rightOperand).stripTrailingZeros();
+            case MULTIPLY:
+                return leftOperand.multiply(rightOperand);
+            default:
+                return BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Check if result of operation overflows max scale.
+     *
+     * @param result - result of operation.
+     * @return true if result absolute scale is bigger than max scale.
+     */
+    static boolean isOverflow(BigDecimal result) {
+        return Math.abs(result.scale()) > MAX_SCALE;
+    }
+
+    /**
+     * Calculates the given percent from given number.
+     *
+     * @param value           - number to calculate percent from.
+     * @param percent         - percent to be calculated.
+     * @param precisionPolicy - precision policy for dividing percent by 100.
+     * @return percent from number.
+     */
+    static BigDecimal percent(BigDecimal value, BigDecimal percent, PrecisionPolicy precisionPolicy) {
+        return value.multiply(precisionPolicy.divide(percent, HUNDRED)).stripTrailingZeros();
+    }
+
+    /**
+     * Calculates the given percent from given number, if result fits max scale.
+     * Percents, that will surely overflow, are not calculated at all.
+     *
+     * @param value           - number to calculate percent from.
+     * @param percent         - percent to be calculated.
+     * @param precisionPolicy - precision policy for dividing percent by 100.
+     * @return percent from number, null if result overflows max scale.
+     */
+    static BigDecimal tryPercent(BigDecimal value, BigDecimal percent, PrecisionPolicy precisionPolicy) {
+        if (OverflowEstimator.isOverflow(Operation.PERCENT, value, percent, MAX_SCALE, precisionPolicy)) {
+            return null;
+        }
+        BigDecimal result;
+        try {
+            result = percent(value, percent, precisionPolicy);
+        } catch (ArithmeticException e) {
+            //scale of quotient or product overflows int, like percent 1E-2147483647 of 1E+2147483647
+            return null;
+        }
+        return isOverflow(result) ? null : result;
+    }
+
+    /**
+     * Inverts given number, same as (-1)*value
+     *
+     * @param value - number to invert.
+     * @return result of inverting.
+     */
+    static BigDecimal invert(BigDecimal value) {
+        return value.multiply(NEGATIVE_ONE);
+    }
+
+    /**
+     * Returns a result of dividing one by given non-zero number.
+     *
+     * @param value           - non-zero number to be reversed.
+     * @param precisionPolicy - precision policy for division.
+     * @return result of dividing.
+     */
+    static BigDecimal reverse(BigDecimal value, PrecisionPolicy precisionPolicy) {
+        return precisionPolicy.divide(BigDecimal.ONE, value).stripTrailingZeros();
+    }
+
+    /**
+     * Returns a result of dividing one by given non-zero number, if result fits max scale.
+     * Reverses, that will surely overflow, are not calculated at all.
+     * Example: reverse of 3E+9999 has scale 10063 with 64 digits of precision.
+     *
+     * @param value           - non-zero number to be reversed.
+     * @param precisionPolicy - precision policy for division.
+     * @return result of dividing, null if result overflows max scale.
+     */
+    static BigDecimal tryReverse(BigDecimal value, PrecisionPolicy precisionPolicy) {
+        if (OverflowEstimator.isOverflow(Operation.DIVIDE, BigDecimal.ONE, value, MAX_SCALE, precisionPolicy)) {
+            return null;
+        }
+        BigDecimal result;
+        try {
+            result = reverse(value, precisionPolicy);
+        } catch (ArithmeticException e) {
+            //scale of quotient overflows int, like reverse of 1E+2147483647
+            return null;
+        }
+        return isOverflow(result) ? null : result;
+    }
+
+    /**
+     * Extracts the square root of given number.
+     *
+     * @param value           - number.
+     * @param precisionPolicy - precision policy for non-terminating roots.
+     * @return square root of given number.
+     * @throws IllegalArgumentException - if given number is negative
+     */
+    static BigDecimal sqrt(BigDecimal value, PrecisionPolicy precisionPolicy) {
+        if (value.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Expected: non-negative, actual: " + value);
+        }
+        return SquareRoot.sqrt(value, precisionPolicy).stripTrailingZeros();
+    }
+}
@@ -0,0 +1,72 @@
+package com.implemica.zavizionov.calculator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * View of ASCII bytes of buffer as chars. Can be reset to other bytes,
+ * so one view is reused for any count of slices and bytes are never copied.
+ *
+ * @author Zavizionov Andrii
+ */
+final class AsciiSequence implements CharSequence {
+
+    /**
+     * Buffer with bytes.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Index of first byte.
+     */
+    private int from;
+
+    /**
+     * Count of bytes.
+     */
+    private int length;
+
+    /**
+     * Sets viewed bytes.
+     *
+     * @param buffer - buffer with bytes.
+     * @param from   - absolute index of first byte.
+     * @param to     - absolute index after last byte.
+     * @return this view.
+     * @throws IndexOutOfBoundsException - if indexes are out of buffer limit
+     */
+    AsciiSequence reset(ByteBuffer buffer, int from, int to) {
+        if (from < 0 || to < from || to > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Expected: slice of buffer with limit " + buffer.limit()
+                    + ", actual: " + from + ".." + to);
+        }
+        this.buffer = buffer;
+        this.from = from;
+        this.length = to - from;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(from + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
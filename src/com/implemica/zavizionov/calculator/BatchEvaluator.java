@@ -0,0 +1,286 @@
+package com.implemica.zavizionov.calculator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates batches of independent expressions or keystroke sequences on all cores.
+ * Batch is split with fork/join into chunks, every chunk is evaluated
+ * by its own evaluator or keypad with its own calculator, so items don't
+ * share any state. Results are in order of items.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class BatchEvaluator {
+
+    /**
+     * Min count of expressions, that are evaluated by one task.
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    /**
+     * Count of chunks per thread, more chunks balance load better.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Precision policy for evaluators.
+     */
+    private final PrecisionPolicy precisionPolicy;
+
+    /**
+     * Pool, that evaluates chunks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates batch evaluator with default precision policy, that uses common pool.
+     */
+    public BatchEvaluator() {
+        this(PrecisionPolicy.DEFAULT, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates batch evaluator.
+     *
+     * @param precisionPolicy - precision policy for divide operations.
+     * @param pool            - pool, that evaluates chunks, its parallelism is used.
+     * @throws IllegalArgumentException - if policy or pool is null
+     */
+    public BatchEvaluator(PrecisionPolicy precisionPolicy, ForkJoinPool pool) {
+        if (precisionPolicy == null) {
+            throw new IllegalArgumentException("Expected: precision policy, actual: null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Expected: pool, actual: null");
+        }
+        this.precisionPolicy = precisionPolicy;
+        this.pool = pool;
+    }
+
+    /**
+     * Evaluates given expressions in parallel.
+     *
+     * @param expressions - expressions, like "3+5*2="
+     * @return results of expressions or their error statuses in the same order.
+     * @throws IllegalArgumentException - if some expression is malformed
+     */
+    public List<CalculationResult> evaluate(List<? extends CharSequence> expressions) {
+        CalculationResult[] results = new CalculationResult[expressions.size()];
+        if (results.length == 0) {
+            return Collections.emptyList();
+        }
+        pool.invoke(new ExpressionTask(expressions, results, 0, results.length, getChunkSize(results.length)));
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Presses given keystroke sequences in parallel. Keypad is cleared
+     * together with its memory before every sequence.
+     *
+     * @param sequences - keystroke sequences, like ONE, PLUS, TWO, EQUAL
+     * @return texts of first screen after sequences in the same order.
+     */
+    public List<String> press(List<? extends List<KeypadEngine.Key>> sequences) {
+        String[] displays = new String[sequences.size()];
+        if (displays.length == 0) {
+            return Collections.emptyList();
+        }
+        pool.invoke(new KeystrokeTask(sequences, displays, 0, displays.length, getChunkSize(displays.length)));
+        return Collections.unmodifiableList(Arrays.asList(displays));
+    }
+
+    /**
+     * Returns max count of items, that are evaluated by one task.
+     *
+     * @param count - count of items in batch.
+     * @return chunk size.
+     */
+    private int getChunkSize(int count) {
+        return Math.max(MIN_CHUNK_SIZE, count / (pool.getParallelism() * CHUNKS_PER_THREAD));
+    }
+
+    /**
+     * Returns pool, that evaluates chunks.
+     *
+     * @return fork/join pool.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Task, that evaluates range of items, big ranges are split in halves.
+     */
+    private abstract class ChunkTask extends RecursiveAction {
+
+        /**
+         * Version of serialized form, tasks are never serialized.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Index of first item of range.
+         */
+        final int from;
+
+        /**
+         * Index after last item of range.
+         */
+        final int to;
+
+        /**
+         * Max count of items, that are evaluated without splitting.
+         */
+        final int chunkSize;
+
+        /**
+         * Creates task for range of items.
+         *
+         * @param from      - index of first item of range.
+         * @param to        - index after last item of range.
+         * @param chunkSize - max count of items, that are evaluated without splitting.
+         */
+        ChunkTask(int from, int to, int chunkSize) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(newTask(from, middle), newTask(middle, to));
+                return;
+            }
+            evaluate();
+        }
+
+        /**
+         * Creates task for part of range of same batch.
+         *
+         * @param from - index of first item of part.
+         * @param to   - index after last item of part.
+         * @return task for part of range.
+         */
+        abstract ChunkTask newTask(int from, int to);
+
+        /**
+         * Evaluates items of range in order.
+         */
+        abstract void evaluate();
+    }
+
+    /**
+     * Task, that evaluates range of expressions.
+     */
+    private final class ExpressionTask extends ChunkTask {
+
+        /**
+         * Version of serialized form, tasks are never serialized.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * All expressions of batch.
+         */
+        private final List<? extends CharSequence> expressions;
+
+        /**
+         * Results of all expressions of batch.
+         */
+        private final CalculationResult[] results;
+
+        /**
+         * Creates task for range of expressions.
+         *
+         * @param expressions - all expressions of batch.
+         * @param results     - results of all expressions of batch.
+         * @param from        - index of first expression of range.
+         * @param to          - index after last expression of range.
+         * @param chunkSize   - max count of expressions, that are evaluated without splitting.
+         */
+        ExpressionTask(List<? extends CharSequence> expressions, CalculationResult[] results, int from, int to,
+                       int chunkSize) {
+            super(from, to, chunkSize);
+            this.expressions = expressions;
+            this.results = results;
+        }
+
+        @Override
+        ChunkTask newTask(int from, int to) {
+            return new ExpressionTask(expressions, results, from, to, chunkSize);
+        }
+
+        @Override
+        void evaluate() {
+            ExpressionEvaluator evaluator = new ExpressionEvaluator(precisionPolicy);
+            for (int i = from; i < to; i++) {
+                try {
+                    results[i] = evaluator.tryEvaluate(expressions.get(i));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Malformed expression at index " + i + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Task, that presses range of keystroke sequences on its own keypad.
+     */
+    private final class KeystrokeTask extends ChunkTask {
+
+        /**
+         * Version of serialized form, tasks are never serialized.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * All keystroke sequences of batch.
+         */
+        private final List<? extends List<KeypadEngine.Key>> sequences;
+
+        /**
+         * Texts of first screen after all sequences of batch.
+         */
+        private final String[] displays;
+
+        /**
+         * Creates task for range of keystroke sequences.
+         *
+         * @param sequences - all keystroke sequences of batch.
+         * @param displays  - texts of first screen after all sequences of batch.
+         * @param from      - index of first sequence of range.
+         * @param to        - index after last sequence of range.
+         * @param chunkSize - max count of sequences, that are pressed without splitting.
+         */
+        KeystrokeTask(List<? extends List<KeypadEngine.Key>> sequences, String[] displays, int from, int to,
+                      int chunkSize) {
+            super(from, to, chunkSize);
+            this.sequences = sequences;
+            this.displays = displays;
+        }
+
+        @Override
+        ChunkTask newTask(int from, int to) {
+            return new KeystrokeTask(sequences, displays, from, to, chunkSize);
+        }
+
+        @Override
+        void evaluate() {
+            KeypadEngine engine = KeypadEngine.getInstance(CalculatorController.getInstance(precisionPolicy));
+            for (int i = from; i < to; i++) {
+                engine.pressClearButton();
+                engine.press(KeypadEngine.Key.MC);
+                for (KeypadEngine.Key key : sequences.get(i)) {
+                    engine.press(key);
+                }
+                displays[i] = engine.getDisplayText();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable result of calculator operation: resulting number
+ * or status of error, that occurred instead.
+ * Is returned by calculator methods, that don't throw exceptions.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class CalculationResult {
+
+    /**
+     * Shared result of divide by zero error.
+     */
+    private static final CalculationResult DIVIDE_BY_ZERO = new CalculationResult(null, ResultStatus.DIVIDE_BY_ZERO);
+
+    /**
+     * Shared result of overflow error.
+     */
+    private static final CalculationResult OVERFLOW = new CalculationResult(null, ResultStatus.OVERFLOW);
+
+    /**
+     * Resulting number, null if error occurred.
+     */
+    private final BigDecimal value;
+
+    /**
+     * Status of result.
+     */
+    private final ResultStatus status;
+
+    /**
+     * Constructor. Class instances can't be created directly.
+     *
+     * @param value  - resulting number.
+     * @param status - status of result.
+     */
+    private CalculationResult(BigDecimal value, ResultStatus status) {
+        this.value = value;
+        this.status = status;
+    }
+
+    /**
+     * Returns successful result with given number.
+     *
+     * @param value - resulting number.
+     * @return successful result.
+     */
+    public static CalculationResult of(BigDecimal value) {
+        return new CalculationResult(value, ResultStatus.OK);
+    }
+
+    /**
+     * Returns result with given error status. Error results are shared.
+     *
+     * @param status - error status.
+     * @return error result.
+     * @throws IllegalArgumentException - if status is OK.
+     */
+    public static CalculationResult error(ResultStatus status) {
+        switch (status) {
+            case DIVIDE_BY_ZERO:
+                return DIVIDE_BY_ZERO;
+            case OVERFLOW:
+                return OVERFLOW;
+            default:
+                throw new IllegalArgumentException("Expected: error status, actual: " + status);
+        }
+    }
+
+    /**
+     * Returns resulting number.
+     *
+     * @return resulting number, null if error occurred.
+     */
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    /**
+     * Returns status of result.
+     *
+     * @return status of result.
+     */
+    public ResultStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Tells if error occurred instead of result.
+     *
+     * @return true if status is not OK.
+     */
+    public boolean isError() {
+        return status != ResultStatus.OK;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CalculationResult)) {
+            return false;
+        }
+        CalculationResult that = (CalculationResult) o;
+        return status == that.status && (value == null ? that.value == null : value.equals(that.value));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * status.hashCode() + (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return isError() ? status.toString() : value.toString();
+    }
+}
@@ -14,30 +14,16 @@ import java.math.BigDecimal;
 public class Calculator {
 
     /**
-     * Scale for divide operation, set bigger to increase precision.
+     * Max absolute scale of operands and results. Operations, that
+     * need a bigger scale, overflow.
      */
-    private static final int DIVIDE_SCALE = 10000;
-
-    /**
-     * Max calculator scale. Any operation
-     * that will need a bigger scale, will cause an exception.
-     */
-    private static final int MAX_SCALE = 10000;
-
-    /**
-     * BigDecimal value of (-1)
-     */
-    private static final BigDecimal NEGATIVE_ONE = BigDecimal.valueOf(-1);
-
-    /**
-     * BigDecimal value of 100
-     */
-    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    public static final int MAX_SCALE = Arithmetic.MAX_SCALE;
 
     /**
      * Stored value for memory operations of calculator.
+     * Memory operations can be called by many threads at once.
      */
-    private BigDecimal memory = BigDecimal.ZERO;
+    private final DecimalAdder memory = new DecimalAdder();
 
     /**
      * Holds a left operand of any operation.
@@ -59,6 +45,48 @@ public class Calculator {
      */
     private boolean nextOperation;
 
+    /**
+     * Precision policy for divide, reverse, percent and square root operations.
+     */
+    private PrecisionPolicy precisionPolicy;
+
+    /**
+     * Status of last performed operation.
+     */
+    private ResultStatus status = ResultStatus.OK;
+
+    /**
+     * Is true, if shared exceptions without stack trace and
+     * detailed message should be thrown.
+     */
+    private boolean lightweightExceptions;
+
+    /**
+     * Metrics, that record performed operations, null if operations are not recorded.
+     */
+    private OperationMetrics metrics;
+
+    /**
+     * Sampler, that captures slow operations with their operands, null if they are not captured.
+     */
+    private SlowOperationSampler sampler;
+
+    /**
+     * Creates calculator with default precision policy.
+     */
+    public Calculator() {
+        this(PrecisionPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates calculator with given precision policy.
+     *
+     * @param precisionPolicy - precision policy for divide, reverse and percent operations.
+     */
+    public Calculator(PrecisionPolicy precisionPolicy) {
+        setPrecisionPolicy(precisionPolicy);
+    }
+
     /**
      * Performs stored operation on stored operands.
      *
@@ -67,30 +95,117 @@ public class Calculator {
      * @throws DivideByZeroException   - if divide by zero was performed
      */
     private BigDecimal performOperation() throws NumberOverflowException, DivideByZeroException {
-        if (operation == Operation.NOOP) {
-            return BigDecimal.ZERO;
+        BigDecimal result = calculate();
+        if (status == ResultStatus.DIVIDE_BY_ZERO) {
+            throw newDivideByZeroException("Right", rightOperand);
         }
-        BigDecimal result = BigDecimal.ZERO;
-        switch (operation) {
-            case PLUS:
-                result = plus();
-                break;
-            case MINUS:
-                result = minus();
-                break;
-            case DIVIDE:
-                result = divide();
-                break;
-            case MULTIPLY:
-                result = multiply();
-                break;
+        if (status == ResultStatus.OVERFLOW) {
+            throw newNumberOverflowException();
+        }
+        return result;
+    }
+
+    /**
+     * Performs stored operation on stored operands without throwing exceptions.
+     * Status of result is stored in status field.
+     *
+     * @return result of operation, null if error occurred.
+     */
+    private BigDecimal calculate() {
+        long start = startTime();
+        Object event = FlightEvents.beginOperation();
+        BigDecimal result = calculateOperation();
+        FlightEvents.commitOperation(event, operation, leftOperand, rightOperand, result, status);
+        record(operation, start, leftOperand, rightOperand, status);
+        return result;
+    }
+
+    /**
+     * Performs stored operation on stored operands, is not recorded to metrics and sampler.
+     * Status of result is stored in status field.
+     *
+     * @return result of operation, null if error occurred.
+     */
+    private BigDecimal calculateOperation() {
+        status = Arithmetic.check(operation, leftOperand, rightOperand, precisionPolicy);
+        if (status != ResultStatus.OK) {
+            return null;
         }
-        if (Math.abs(result.scale()) > MAX_SCALE) {
-            throw new NumberOverflowException("Overflow");
+        BigDecimal result = Arithmetic.apply(operation, leftOperand, rightOperand, precisionPolicy);
+        if (Arithmetic.isOverflow(result)) {
+            return fail(ResultStatus.OVERFLOW);
         }
         return result;
     }
 
+    /**
+     * Stores error status of operation.
+     *
+     * @param status - error status.
+     * @return null as result of operation.
+     */
+    private BigDecimal fail(ResultStatus status) {
+        this.status = status;
+        return null;
+    }
+
+    /**
+     * Returns start time of recorded operation.
+     *
+     * @return nano time, 0 if operations are not recorded.
+     */
+    private long startTime() {
+        return metrics == null && sampler == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records operation to metrics and sampler, if they are set.
+     *
+     * @param operation - performed operation.
+     * @param start     - start time of operation.
+     * @param left      - left operand, or the only operand of unary operation.
+     * @param right     - right operand, null for unary operation.
+     * @param status    - status of result.
+     */
+    private void record(Operation operation, long start, BigDecimal left, BigDecimal right, ResultStatus status) {
+        if (metrics == null && sampler == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        if (metrics != null) {
+            metrics.record(operation, nanos, status);
+        }
+        if (sampler != null) {
+            sampler.record(operation, left, right, nanos, status, precisionPolicy);
+        }
+    }
+
+    /**
+     * Stores result of operation as left operand, if there is no error.
+     *
+     * @param result - result of operation, null if error occurred.
+     * @return given result.
+     */
+    private BigDecimal storeResult(BigDecimal result) {
+        if (result != null) {
+            leftOperand = result;
+        }
+        return result;
+    }
+
+    /**
+     * Converts result of operation and its status to result object.
+     *
+     * @param result - result of operation, null if error occurred.
+     * @return result object.
+     */
+    private CalculationResult toCalculationResult(BigDecimal result) {
+        if (result == null) {
+            return CalculationResult.error(status);
+        }
+        return CalculationResult.of(result);
+    }
+
     /**
      * Sets a left operand and operation.
      *
@@ -128,12 +243,45 @@ public class Calculator {
      * @throws DivideByZeroException   - if divide by zero was performed
      */
     public BigDecimal getResult(BigDecimal rightOperand) throws NumberOverflowException, DivideByZeroException {
+        prepareResult(rightOperand);
+        leftOperand = performOperation();
+        return leftOperand;
+    }
+
+    /**
+     * Returns a result of operation without throwing exceptions.
+     * Works the same way as getResult.
+     *
+     * @param rightOperand - right operand
+     * @return result of two-operand operation or error status.
+     */
+    public CalculationResult tryGetResult(BigDecimal rightOperand) {
+        prepareResult(rightOperand);
+        return toCalculationResult(storeResult(calculate()));
+    }
+
+    /**
+     * Puts a result of operation to given holder without throwing exceptions.
+     * Works the same way as getResult.
+     *
+     * @param rightOperand - right operand
+     * @param holder       - holder for result of two-operand operation or error status.
+     */
+    public void tryGetResult(BigDecimal rightOperand, ResultHolder holder) {
+        prepareResult(rightOperand);
+        holder.set(storeResult(calculate()), status);
+    }
+
+    /**
+     * Prepares operands for getting a result of operation.
+     *
+     * @param rightOperand - right operand, is ignored for repeated operation.
+     */
+    private void prepareResult(BigDecimal rightOperand) {
         if (!nextOperation) {
             this.rightOperand = rightOperand;
         }
         nextOperation = true;
-        leftOperand = performOperation();
-        return leftOperand;
     }
 
     /**
@@ -151,50 +299,43 @@ public class Calculator {
      * @throws DivideByZeroException   - if divide by zero was performed
      */
     public BigDecimal getResultOnGo(BigDecimal rightOperand) throws NumberOverflowException, DivideByZeroException {
-        nextOperation = false;
-        this.rightOperand = rightOperand;
+        prepareResultOnGo(rightOperand);
         leftOperand = performOperation();
         return leftOperand;
     }
 
     /**
-     * Performs an add operation for stored operands.
-     *
-     * @return sum of operands
-     */
-    private BigDecimal plus() {
-        return leftOperand.add(rightOperand);
-    }
-
-    /**
-     * Performs a subtract operation for stored operands.
+     * Returns a result of next operation without throwing exceptions.
+     * Works the same way as getResultOnGo.
      *
-     * @return difference of operands
+     * @param rightOperand next right operand
+     * @return result of operation or error status.
      */
-    private BigDecimal minus() {
-        return leftOperand.subtract(rightOperand);
+    public CalculationResult tryGetResultOnGo(BigDecimal rightOperand) {
+        prepareResultOnGo(rightOperand);
+        return toCalculationResult(storeResult(calculate()));
     }
 
     /**
-     * Performs a divide operation for stored operands.
+     * Puts a result of next operation to given holder without throwing exceptions.
+     * Works the same way as getResultOnGo.
      *
-     * @return result ov division
-     * @throws DivideByZeroException - when dividing by zero
+     * @param rightOperand next right operand
+     * @param holder       - holder for result of operation or error status.
      */
-    private BigDecimal divide() throws DivideByZeroException {
-        if (rightOperand.compareTo(BigDecimal.ZERO) == 0) {
-            throw new DivideByZeroException("Can't divide by zero. Right operand expected : non-zero, actual: " + rightOperand);
-        }
-        return leftOperand.divide(rightOperand, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP).stripTrailingZeros();
+    public void tryGetResultOnGo(BigDecimal rightOperand, ResultHolder holder) {
+        prepareResultOnGo(rightOperand);
+        holder.set(storeResult(calculate()), status);
     }
 
     /**
-     * Performs a multiply operation for stored operands.
+     * Prepares operands for getting a result of next operation.
      *
-     * @return result of multiplying
+     * @param rightOperand next right operand
      */
-    private BigDecimal multiply() {
-        return leftOperand.multiply(rightOperand);
+    private void prepareResultOnGo(BigDecimal rightOperand) {
+        nextOperation = false;
+        this.rightOperand = rightOperand;
     }
 
     /**
@@ -202,9 +343,19 @@ public class Calculator {
      *
      * @param percent - percent to be calculated
      * @return percent from left operand
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
      */
-    public BigDecimal getPercent(BigDecimal percent) {
-        return leftOperand.multiply(percent.divide(HUNDRED, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP)).stripTrailingZeros();
+    public BigDecimal getPercent(BigDecimal percent) throws NumberOverflowException {
+        long start = startTime();
+        Object event = FlightEvents.beginOperation();
+        BigDecimal result = Arithmetic.tryPercent(leftOperand, percent, precisionPolicy);
+        ResultStatus percentStatus = result == null ? ResultStatus.OVERFLOW : ResultStatus.OK;
+        FlightEvents.commitOperation(event, Operation.PERCENT, leftOperand, percent, result, percentStatus);
+        record(Operation.PERCENT, start, leftOperand, percent, percentStatus);
+        if (result == null) {
+            throw newNumberOverflowException();
+        }
+        return result;
     }
 
     /**
@@ -221,7 +372,7 @@ public class Calculator {
      * Clears calculator memory field.
      */
     public void memoryClear() {
-        memory = BigDecimal.ZERO;
+        memory.reset(BigDecimal.ZERO);
     }
 
     /**
@@ -230,7 +381,7 @@ public class Calculator {
      * @return number from memory
      */
     public BigDecimal memoryRecall() {
-        return memory;
+        return memory.sum();
     }
 
     /**
@@ -239,25 +390,133 @@ public class Calculator {
      * @param value - number to store
      */
     public void memoryStore(BigDecimal value) {
-        memory = value;
+        memory.reset(value);
     }
 
     /**
      * Adds a given number to number, stored in memory.
+     * Additions from different threads are never lost.
      *
      * @param value - number to add
      */
     public void memoryAdd(BigDecimal value) {
-        memory = memory.add(value);
+        memory.add(value);
     }
 
     /**
      * Subtracts a given number from number, stored in memory.
+     * Subtractions from different threads are never lost.
      *
      * @param value - number to subtract
      */
     public void memorySubtract(BigDecimal value) {
-        memory = memory.subtract(value);
+        memory.add(value.negate());
+    }
+
+    /**
+     * Returns precision policy of calculator.
+     *
+     * @return precision policy for divide, reverse and percent operations.
+     */
+    public PrecisionPolicy getPrecisionPolicy() {
+        return precisionPolicy;
+    }
+
+    /**
+     * Sets precision policy of calculator.
+     *
+     * @param precisionPolicy - precision policy for divide, reverse and percent operations.
+     * @throws IllegalArgumentException - if policy is null
+     */
+    public void setPrecisionPolicy(PrecisionPolicy precisionPolicy) {
+        if (precisionPolicy == null) {
+            throw new IllegalArgumentException("Expected: precision policy, actual: null");
+        }
+        this.precisionPolicy = precisionPolicy;
+    }
+
+    /**
+     * Tells if calculator throws lightweight exceptions.
+     *
+     * @return true if shared exceptions without stack trace are thrown.
+     */
+    public boolean isLightweightExceptions() {
+        return lightweightExceptions;
+    }
+
+    /**
+     * Switches lightweight exceptions mode. In this mode
+     * shared exceptions without stack trace and detailed message are thrown,
+     * so error-heavy usage costs no more than successful operations.
+     *
+     * @param lightweightExceptions - if true, lightweight exceptions are thrown.
+     */
+    public void setLightweightExceptions(boolean lightweightExceptions) {
+        this.lightweightExceptions = lightweightExceptions;
+    }
+
+    /**
+     * Returns metrics, that record performed operations.
+     *
+     * @return metrics, null if operations are not recorded.
+     */
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets metrics, that record count, latency and errors of every performed operation.
+     * Metrics can be shared by many calculators.
+     *
+     * @param metrics - metrics, null to stop recording.
+     */
+    public void setMetrics(OperationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns sampler, that captures slow operations.
+     *
+     * @return sampler, null if slow operations are not captured.
+     */
+    public SlowOperationSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Sets sampler, that captures operations slower than its threshold with their operands.
+     * Sampler can be shared by many calculators.
+     *
+     * @param sampler - sampler, null to stop capturing.
+     */
+    public void setSampler(SlowOperationSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    /**
+     * Creates exception for overflow of max scale.
+     *
+     * @return exception to throw.
+     */
+    private NumberOverflowException newNumberOverflowException() {
+        if (lightweightExceptions) {
+            return NumberOverflowException.getLightweight();
+        }
+        return new NumberOverflowException("Overflow");
+    }
+
+    /**
+     * Creates exception for dividing by zero.
+     *
+     * @param operandName - name of zero operand.
+     * @param operand     - zero operand.
+     * @return exception to throw.
+     */
+    private DivideByZeroException newDivideByZeroException(String operandName, BigDecimal operand) {
+        if (lightweightExceptions) {
+            return DivideByZeroException.getLightweight();
+        }
+        return new DivideByZeroException("Can't divide by zero. " + operandName + " operand expected : non-zero, actual: " + operand);
     }
 
     /**
@@ -287,30 +546,56 @@ public class Calculator {
         return this.leftOperand;
     }
 
+    /**
+     * Returns a result of operation for another left operand without throwing exceptions.
+     * Works the same way as getResultAfterEqual.
+     *
+     * @param newLeftOperand - new left operand
+     * @return result of operation or error status.
+     */
+    public CalculationResult tryGetResultAfterEqual(BigDecimal newLeftOperand) {
+        this.leftOperand = newLeftOperand;
+        return toCalculationResult(storeResult(calculate()));
+    }
+
+    /**
+     * Puts a result of operation for another left operand to given holder without throwing exceptions.
+     * Works the same way as getResultAfterEqual.
+     *
+     * @param newLeftOperand - new left operand
+     * @param holder         - holder for result of operation or error status.
+     */
+    public void tryGetResultAfterEqual(BigDecimal newLeftOperand, ResultHolder holder) {
+        this.leftOperand = newLeftOperand;
+        holder.set(storeResult(calculate()), status);
+    }
+
     /**
      * * Inverts given operand, same as (-1)*leftOperand
      *
      * @return result of inverting
      */
     public BigDecimal getInverted(BigDecimal value) {
-        return value.multiply(NEGATIVE_ONE);
+        long start = startTime();
+        BigDecimal result = Arithmetic.invert(value);
+        record(Operation.INVERT, start, value, null, ResultStatus.OK);
+        return result;
     }
 
     /**
-     * Extracts the square root of left operand
+     * Extracts the square root of given number
+     * with precision of calculator precision policy.
      *
-     * @return square root of left operand
-     * @throws IllegalArgumentException - if left operand is negative
-     *                                  number or to big for calculating square root
+     * @return square root of given number
+     * @throws IllegalArgumentException - if given number is negative
      */
     public BigDecimal getSqrt(BigDecimal value) {
-        if (Double.isInfinite(value.doubleValue())) {
-            throw new IllegalArgumentException("To big value");
-        }
-        if (value.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Expected: non-negative, actual: " + value);
-        }
-        return BigDecimal.valueOf(Math.sqrt(value.doubleValue())).stripTrailingZeros();
+        long start = startTime();
+        Object event = FlightEvents.beginOperation();
+        BigDecimal result = Arithmetic.sqrt(value, precisionPolicy);
+        FlightEvents.commitOperation(event, Operation.SQRT, value, null, result, ResultStatus.OK);
+        record(Operation.SQRT, start, value, null, ResultStatus.OK);
+        return result;
     }
 
     /**
@@ -318,12 +603,24 @@ public class Calculator {
      *
      * @param value number to be reversed
      * @return result of dividing
-     * @throws DivideByZeroException - if left operand is zero.
+     * @throws DivideByZeroException   - if left operand is zero.
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
      */
-    public BigDecimal getReversed(BigDecimal value) throws DivideByZeroException {
-        if (value.compareTo(BigDecimal.ZERO) == 0)
-            throw new DivideByZeroException("Can't divide by zero. Left operand expected : non-zero, actual: " + rightOperand);
-        return BigDecimal.ONE.divide(value, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP).stripTrailingZeros();
+    public BigDecimal getReversed(BigDecimal value) throws DivideByZeroException, NumberOverflowException {
+        long start = startTime();
+        if (value.compareTo(BigDecimal.ZERO) == 0) {
+            record(Operation.REVERSE, start, value, null, ResultStatus.DIVIDE_BY_ZERO);
+            throw newDivideByZeroException("Left", value);
+        }
+        Object event = FlightEvents.beginOperation();
+        BigDecimal result = Arithmetic.tryReverse(value, precisionPolicy);
+        ResultStatus reverseStatus = result == null ? ResultStatus.OVERFLOW : ResultStatus.OK;
+        FlightEvents.commitOperation(event, Operation.REVERSE, value, null, result, reverseStatus);
+        record(Operation.REVERSE, start, value, null, reverseStatus);
+        if (result == null) {
+            throw newNumberOverflowException();
+        }
+        return result;
     }
 }
 
@@ -4,6 +4,8 @@ import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
 import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Controller for Calculator and CalculatorFormatter classes.
@@ -12,14 +14,83 @@ import java.math.BigDecimal;
  */
 public class CalculatorController {
 
-    private final Calculator calculator = new Calculator();
-
-    private CalculatorController() {
+    private final Calculator calculator;
 
+    private CalculatorController(PrecisionPolicy precisionPolicy) {
+        calculator = new Calculator(precisionPolicy);
     }
 
     public static CalculatorController getInstance() {
-        return new CalculatorController();
+        return new CalculatorController(PrecisionPolicy.DEFAULT);
+    }
+
+    public static CalculatorController getInstance(PrecisionPolicy precisionPolicy) {
+        return new CalculatorController(precisionPolicy);
+    }
+
+    /**
+     * Evaluates batch of independent expressions on all cores.
+     *
+     * @param expressions - expressions, like "3+5*2="
+     * @return results of expressions in the same order.
+     * @throws IllegalArgumentException - if some expression is malformed
+     */
+    public static List<CalculationResult> evaluateBatch(List<? extends CharSequence> expressions) {
+        return new BatchEvaluator().evaluate(expressions);
+    }
+
+    /**
+     * Evaluates batch of independent expressions with given count of threads.
+     *
+     * @param expressions     - expressions, like "3+5*2="
+     * @param precisionPolicy - precision policy for divide operations.
+     * @param parallelism     - count of threads.
+     * @return results of expressions in the same order.
+     * @throws IllegalArgumentException - if some expression is malformed or parallelism is not positive
+     */
+    public static List<CalculationResult> evaluateBatch(List<? extends CharSequence> expressions,
+                                                        PrecisionPolicy precisionPolicy, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Expected: positive parallelism, actual: " + parallelism);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new BatchEvaluator(precisionPolicy, pool).evaluate(expressions);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Presses batch of independent keystroke sequences on all cores.
+     *
+     * @param sequences - keystroke sequences, like ONE, PLUS, TWO, EQUAL
+     * @return texts of first screen after sequences in the same order.
+     */
+    public static List<String> pressBatch(List<? extends List<KeypadEngine.Key>> sequences) {
+        return new BatchEvaluator().press(sequences);
+    }
+
+    /**
+     * Presses batch of independent keystroke sequences with given count of threads.
+     *
+     * @param sequences       - keystroke sequences, like ONE, PLUS, TWO, EQUAL
+     * @param precisionPolicy - precision policy of calculators.
+     * @param parallelism     - count of threads.
+     * @return texts of first screen after sequences in the same order.
+     * @throws IllegalArgumentException - if parallelism is not positive
+     */
+    public static List<String> pressBatch(List<? extends List<KeypadEngine.Key>> sequences,
+                                          PrecisionPolicy precisionPolicy, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Expected: positive parallelism, actual: " + parallelism);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new BatchEvaluator(precisionPolicy, pool).press(sequences);
+        } finally {
+            pool.shutdown();
+        }
     }
 
 
@@ -31,6 +102,22 @@ public class CalculatorController {
         return calculator.getResult(rightOperand);
     }
 
+    public CalculationResult tryGetResultAfterEqual(BigDecimal newLeftOperand) {
+        return calculator.tryGetResultAfterEqual(newLeftOperand);
+    }
+
+    public void tryGetResultAfterEqual(BigDecimal newLeftOperand, ResultHolder holder) {
+        calculator.tryGetResultAfterEqual(newLeftOperand, holder);
+    }
+
+    public CalculationResult tryGetResult(BigDecimal rightOperand) {
+        return calculator.tryGetResult(rightOperand);
+    }
+
+    public void tryGetResult(BigDecimal rightOperand, ResultHolder holder) {
+        calculator.tryGetResult(rightOperand, holder);
+    }
+
     public void setOperation(BigDecimal leftOperand, Operation operation) {
         calculator.setOperation(leftOperand, operation);
     }
@@ -39,6 +126,14 @@ public class CalculatorController {
         return calculator.getResultOnGo(rightOperand);
     }
 
+    public CalculationResult tryGetResultOnGo(BigDecimal rightOperand) {
+        return calculator.tryGetResultOnGo(rightOperand);
+    }
+
+    public void tryGetResultOnGo(BigDecimal rightOperand, ResultHolder holder) {
+        calculator.tryGetResultOnGo(rightOperand, holder);
+    }
+
     public BigDecimal memoryRecall() {
         return calculator.memoryRecall();
     }
@@ -55,7 +150,7 @@ public class CalculatorController {
         calculator.memorySubtract(value);
     }
 
-    public BigDecimal getPercent(BigDecimal percent) {
+    public BigDecimal getPercent(BigDecimal percent) throws NumberOverflowException {
         return calculator.getPercent(percent);
     }
 
@@ -76,11 +171,43 @@ public class CalculatorController {
     }
 
 
+    public PrecisionPolicy getPrecisionPolicy() {
+        return calculator.getPrecisionPolicy();
+    }
+
+    public void setPrecisionPolicy(PrecisionPolicy precisionPolicy) {
+        calculator.setPrecisionPolicy(precisionPolicy);
+    }
+
+    public boolean isLightweightExceptions() {
+        return calculator.isLightweightExceptions();
+    }
+
+    public void setLightweightExceptions(boolean lightweightExceptions) {
+        calculator.setLightweightExceptions(lightweightExceptions);
+    }
+
+    public OperationMetrics getMetrics() {
+        return calculator.getMetrics();
+    }
+
+    public void setMetrics(OperationMetrics metrics) {
+        calculator.setMetrics(metrics);
+    }
+
+    public SlowOperationSampler getSampler() {
+        return calculator.getSampler();
+    }
+
+    public void setSampler(SlowOperationSampler sampler) {
+        calculator.setSampler(sampler);
+    }
+
     public Operation getOperation() {
         return calculator.getOperation();
     }
 
-    public BigDecimal getReversed(BigDecimal value) throws DivideByZeroException {
+    public BigDecimal getReversed(BigDecimal value) throws DivideByZeroException, NumberOverflowException {
         return calculator.getReversed(value);
     }
 }
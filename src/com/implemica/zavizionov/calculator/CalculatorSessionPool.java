@@ -0,0 +1,314 @@
+package com.implemica.zavizionov.calculator;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe pool of calculator controllers for short sessions.
+ * Released controllers are reset with clear and memoryClear and are handed
+ * out again, so sessions don't create new controllers. Count of idle
+ * controllers is bounded, controllers, that are idle longer than idle timeout,
+ * are evicted on next release. Idle controllers are held in
+ * preallocated ring buffer, so acquire and release create no objects, once identity set
+ * of acquired controllers has grown to peak count of sessions.
+ * Controller should not be used after its release, second release of it and release
+ * of controller, that was not acquired from this pool, are rejected.
+ * <p>
+ * Pool trades time for allocation: new controller is 120 bytes and is faster
+ * to create, than to acquire and release (SessionChurnBenchmark on one core:
+ * about 50 ns per session with new controller, about 140 ns with pool).
+ * Pool is worth it only where controllers escape, like sessions of server,
+ * that are handed to other threads, so JIT can't remove their allocation, and
+ * where many sessions per second make allocation rate matter more than 90 ns.
+ * Code with short sessions in one method should create controllers.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class CalculatorSessionPool {
+
+    /**
+     * Default max count of idle controllers.
+     */
+    public static final int DEFAULT_MAX_IDLE = 1024;
+
+    /**
+     * Default time, that controller can be idle, in milliseconds.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Source of current time in nanoseconds.
+     */
+    interface Clock {
+        long nanoTime();
+    }
+
+    /**
+     * Idle controllers in ring buffer, most recently released are on top,
+     * eldest ones are at bottom.
+     */
+    private final CalculatorController[] idle;
+
+    /**
+     * Release times of idle controllers in nanoseconds.
+     */
+    private final long[] releaseTimes;
+
+    /**
+     * Controllers, that are handed out and not released yet, compared by identity.
+     * Controller, that is never released, stays here, so sessions must release controllers.
+     */
+    private final Set<CalculatorController> acquired =
+            Collections.newSetFromMap(new IdentityHashMap<CalculatorController, Boolean>());
+
+    /**
+     * Index of eldest idle controller.
+     */
+    private int bottom;
+
+    /**
+     * Count of idle controllers.
+     */
+    private int idleCount;
+
+    /**
+     * Time, that controller can be idle, in nanoseconds.
+     */
+    private final long idleTimeoutNanos;
+
+    /**
+     * Precision policy of new and reset controllers.
+     */
+    private final PrecisionPolicy precisionPolicy;
+
+    /**
+     * Source of current time.
+     */
+    private final Clock clock;
+
+    /**
+     * Count of created controllers.
+     */
+    private long createdCount;
+
+    /**
+     * Count of acquires, that got idle controller.
+     */
+    private long reusedCount;
+
+    /**
+     * Count of released controllers.
+     */
+    private long releasedCount;
+
+    /**
+     * Count of released controllers, that were dropped, because pool was full.
+     */
+    private long discardedCount;
+
+    /**
+     * Count of controllers, that were evicted after idle timeout.
+     */
+    private long evictedCount;
+
+    /**
+     * Creates pool with default settings.
+     */
+    public CalculatorSessionPool() {
+        this(DEFAULT_MAX_IDLE, DEFAULT_IDLE_TIMEOUT_MILLIS, PrecisionPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates pool.
+     *
+     * @param maxIdle           - max count of idle controllers.
+     * @param idleTimeoutMillis - time, that controller can be idle, in milliseconds.
+     * @param precisionPolicy   - precision policy of controllers.
+     * @throws IllegalArgumentException - if max idle count or timeout is negative or policy is null
+     */
+    public CalculatorSessionPool(int maxIdle, long idleTimeoutMillis, PrecisionPolicy precisionPolicy) {
+        this(maxIdle, idleTimeoutMillis, precisionPolicy, new Clock() {
+            @Override
+            public long nanoTime() {
+                return System.nanoTime();
+            }
+        });
+    }
+
+    /**
+     * Creates pool with given source of time.
+     *
+     * @param maxIdle           - max count of idle controllers.
+     * @param idleTimeoutMillis - time, that controller can be idle, in milliseconds.
+     * @param precisionPolicy   - precision policy of controllers.
+     * @param clock             - source of current time.
+     */
+    CalculatorSessionPool(int maxIdle, long idleTimeoutMillis, PrecisionPolicy precisionPolicy, Clock clock) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("Expected: non-negative max idle count, actual: " + maxIdle);
+        }
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Expected: non-negative idle timeout, actual: " + idleTimeoutMillis);
+        }
+        if (precisionPolicy == null) {
+            throw new IllegalArgumentException("Expected: precision policy, actual: null");
+        }
+        this.idle = new CalculatorController[maxIdle];
+        this.releaseTimes = new long[maxIdle];
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.precisionPolicy = precisionPolicy;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns idle controller or creates new one, if there is no idle controller.
+     *
+     * @return cleared controller with pool precision policy.
+     */
+    public synchronized CalculatorController acquire() {
+        CalculatorController controller;
+        if (idleCount > 0) {
+            idleCount--;
+            int top = getIndex(idleCount);
+            controller = idle[top];
+            idle[top] = null;
+            reusedCount++;
+        } else {
+            controller = CalculatorController.getInstance(precisionPolicy);
+            createdCount++;
+        }
+        acquired.add(controller);
+        return controller;
+    }
+
+    /**
+     * Resets given controller and returns it to pool.
+     * If pool is full, controller is dropped.
+     *
+     * @param controller - controller, that is not used anymore.
+     * @throws IllegalArgumentException - if controller is null, is already released or was not acquired from pool
+     */
+    public void release(CalculatorController controller) {
+        if (controller == null) {
+            throw new IllegalArgumentException("Expected: controller, actual: null");
+        }
+        long now = clock.nanoTime();
+        synchronized (this) {
+            if (!acquired.remove(controller)) {
+                throw new IllegalArgumentException("Expected: acquired controller, actual: released " + controller);
+            }
+            controller.clear();
+            controller.memoryClear();
+            controller.setPrecisionPolicy(precisionPolicy);
+            controller.setLightweightExceptions(false);
+            controller.setMetrics(null);
+            controller.setSampler(null);
+
+            releasedCount++;
+            evictIdle(now);
+            if (idleCount == idle.length) {
+                discardedCount++;
+                return;
+            }
+            int top = getIndex(idleCount);
+            idle[top] = controller;
+            releaseTimes[top] = now;
+            idleCount++;
+        }
+    }
+
+    /**
+     * Evicts controllers, that are idle longer than idle timeout.
+     * Is called on every release, acquire doesn't read clock.
+     */
+    public synchronized void evictIdle() {
+        evictIdle(clock.nanoTime());
+    }
+
+    /**
+     * Evicts controllers, that are idle longer than idle timeout, from bottom of pool.
+     *
+     * @param now - current time in nanoseconds.
+     */
+    private void evictIdle(long now) {
+        while (idleCount > 0 && now - releaseTimes[bottom] > idleTimeoutNanos) {
+            idle[bottom] = null;
+            bottom = (bottom + 1) % idle.length;
+            idleCount--;
+            evictedCount++;
+        }
+    }
+
+    /**
+     * Returns index in ring buffer for position from bottom.
+     *
+     * @param position - position from bottom.
+     * @return index in ring buffer.
+     */
+    private int getIndex(int position) {
+        return (bottom + position) % idle.length;
+    }
+
+    /**
+     * Returns count of idle controllers.
+     *
+     * @return count of controllers in pool.
+     */
+    public synchronized int getIdleCount() {
+        return idleCount;
+    }
+
+    /**
+     * Returns count of acquired and not released controllers.
+     *
+     * @return count of controllers in use.
+     */
+    public synchronized long getActiveCount() {
+        return createdCount + reusedCount - releasedCount;
+    }
+
+    /**
+     * Returns count of created controllers.
+     *
+     * @return count of controllers, created by pool.
+     */
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Returns count of acquires, that got idle controller.
+     *
+     * @return count of reused controllers.
+     */
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    /**
+     * Returns count of released controllers, that were dropped, because pool was full.
+     *
+     * @return count of discarded controllers.
+     */
+    public synchronized long getDiscardedCount() {
+        return discardedCount;
+    }
+
+    /**
+     * Returns count of controllers, that were evicted after idle timeout.
+     *
+     * @return count of evicted controllers.
+     */
+    public synchronized long getEvictedCount() {
+        return evictedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CalculatorSessionPool{idle=" + getIdleCount() + ", active=" + getActiveCount()
+                + ", created=" + getCreatedCount() + ", reused=" + getReusedCount()
+                + ", discarded=" + getDiscardedCount() + ", evicted=" + getEvictedCount() + "}";
+    }
+}
@@ -0,0 +1,125 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Long arithmetic for exact division of operands, which unscaled values fit in long
+ * (up to 18 digits). Such operands are the most frequent ones, so this tier is
+ * tried first and BigInteger gcd and division by five are used only for bigger operands.
+ * Only termination of quotient is checked here, plus, minus and multiply are not
+ * covered, BigDecimal itself computes them with long for compact operands.
+ *
+ * @author Zavizionov Andrii
+ */
+final class CompactArithmetic {
+
+    /**
+     * Returned instead of scale, when quotient has non-terminating decimal expansion.
+     */
+    static final int NON_TERMINATING = Integer.MIN_VALUE;
+
+    /**
+     * Returned instead of scale, when operands don't fit long arithmetic.
+     */
+    static final int UNKNOWN = Integer.MAX_VALUE;
+
+    /**
+     * Max count of digits of unscaled value, that always fits long.
+     */
+    private static final int MAX_COMPACT_PRECISION = 18;
+
+    /**
+     * Class has only static methods.
+     */
+    private CompactArithmetic() {
+
+    }
+
+    /**
+     * Returns a scale, that is enough to represent quotient exactly.
+     * Quotient terminates only if its reduced denominator has
+     * no prime factors, except 2 and 5.
+     *
+     * @param dividend - number to be divided.
+     * @param divisor  - non-zero number to divide by.
+     * @return scale of exact quotient, NON_TERMINATING if quotient doesn't terminate
+     * or UNKNOWN if operands are too big for long arithmetic.
+     */
+    static int getExactScale(BigDecimal dividend, BigDecimal divisor) {
+        if (!isCompact(dividend) || !isCompact(divisor)) {
+            return UNKNOWN;
+        }
+        long numerator = Math.abs(getUnscaled(dividend));
+        long denominator = Math.abs(getUnscaled(divisor));
+        denominator /= gcd(numerator, denominator);
+
+        int twos = Long.numberOfTrailingZeros(denominator);
+        denominator >>= twos;
+
+        int fives = 0;
+        while (denominator % 5 == 0) {
+            denominator /= 5;
+            fives++;
+        }
+
+        if (denominator != 1) {
+            return NON_TERMINATING;
+        }
+        return toScale((long) dividend.scale() - divisor.scale() + Math.max(twos, fives));
+    }
+
+    /**
+     * Converts long scale to int one.
+     *
+     * @param scale - scale as long.
+     * @return scale, NON_TERMINATING if scale doesn't fit int, so result will be rounded.
+     */
+    static int toScale(long scale) {
+        if (scale <= Integer.MIN_VALUE || scale >= Integer.MAX_VALUE) {
+            return NON_TERMINATING;
+        }
+        return (int) scale;
+    }
+
+    /**
+     * Check if unscaled value of given number fits long.
+     *
+     * @param value - given number
+     * @return true if unscaled value fits long, false instead.
+     */
+    private static boolean isCompact(BigDecimal value) {
+        return value.precision() <= MAX_COMPACT_PRECISION;
+    }
+
+    /**
+     * Returns unscaled value of compact number. Integer values
+     * are converted without creating any objects. BigDecimal has no public
+     * way to read unscaled long of fractional value, so unscaledValue()
+     * creates BigInteger for it on every call, unless JIT eliminates it by escape analysis.
+     *
+     * @param value - compact number
+     * @return unscaled value
+     */
+    private static long getUnscaled(BigDecimal value) {
+        if (value.scale() == 0) {
+            return value.longValue();
+        }
+        return value.unscaledValue().longValue();
+    }
+
+    /**
+     * Calculates greatest common divisor of two non-negative numbers.
+     *
+     * @param a - first number
+     * @param b - second positive number
+     * @return greatest common divisor
+     */
+    private static long gcd(long a, long b) {
+        while (a != 0) {
+            long remainder = b % a;
+            b = a;
+            a = remainder;
+        }
+        return b;
+    }
+}
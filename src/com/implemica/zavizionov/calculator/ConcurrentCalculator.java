@@ -0,0 +1,494 @@
+package com.implemica.zavizionov.calculator;
+
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe calculator, that can be shared by many threads without locks.
+ * Works the same way as Calculator, but all its operands are held
+ * in one immutable state, that is replaced with compare-and-set.
+ * Every operation is atomic: it sees state, left by previous operation,
+ * and its result is computed from that state only.
+ * Memory is striped adder, so many threads can add to it without contention.
+ *
+ * @author Zavizionov Andrii
+ */
+public class ConcurrentCalculator {
+
+    /**
+     * Current state of calculator.
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(State.INITIAL);
+
+    /**
+     * Stored value for memory operations of calculator.
+     */
+    private final DecimalAdder memory = new DecimalAdder();
+
+    /**
+     * Precision policy for divide, reverse, percent and square root operations.
+     */
+    private final PrecisionPolicy precisionPolicy;
+
+    /**
+     * Is true, if shared exceptions without stack trace and
+     * detailed message should be thrown.
+     */
+    private volatile boolean lightweightExceptions;
+
+    /**
+     * Creates calculator with default precision policy.
+     */
+    public ConcurrentCalculator() {
+        this(PrecisionPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates calculator with given precision policy.
+     *
+     * @param precisionPolicy - precision policy for divide, reverse and percent operations.
+     * @throws IllegalArgumentException - if policy is null
+     */
+    public ConcurrentCalculator(PrecisionPolicy precisionPolicy) {
+        if (precisionPolicy == null) {
+            throw new IllegalArgumentException("Expected: precision policy, actual: null");
+        }
+        this.precisionPolicy = precisionPolicy;
+    }
+
+    /**
+     * Sets a left operand and operation.
+     *
+     * @param leftOperand - left operand.
+     * @param operation   - operation to be performed.
+     */
+    public void setOperation(BigDecimal leftOperand, Operation operation) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.withOperation(leftOperand, operation)));
+    }
+
+    /**
+     * Returns a result of operation.
+     * Should be called for two-operand operations
+     * Example 3+5
+     *
+     * @param rightOperand - right operand
+     * @return result of two-operand operation
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
+     * @throws DivideByZeroException   - if divide by zero was performed
+     */
+    public BigDecimal getResult(BigDecimal rightOperand) throws NumberOverflowException, DivideByZeroException {
+        return toResult(perform(Step.RESULT, rightOperand));
+    }
+
+    /**
+     * Returns a result of operation without throwing exceptions.
+     * Works the same way as getResult.
+     *
+     * @param rightOperand - right operand
+     * @return result of two-operand operation or error status.
+     */
+    public CalculationResult tryGetResult(BigDecimal rightOperand) {
+        return perform(Step.RESULT, rightOperand).toCalculationResult();
+    }
+
+    /**
+     * Returns a result of next operation, should be called
+     * for sequences of operations.
+     * Example: 3+5*
+     * (result)
+     * 6-
+     * (result)
+     * 8
+     *
+     * @param rightOperand next right operand
+     * @return result of operation
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
+     * @throws DivideByZeroException   - if divide by zero was performed
+     */
+    public BigDecimal getResultOnGo(BigDecimal rightOperand) throws NumberOverflowException, DivideByZeroException {
+        return toResult(perform(Step.RESULT_ON_GO, rightOperand));
+    }
+
+    /**
+     * Returns a result of next operation without throwing exceptions.
+     * Works the same way as getResultOnGo.
+     *
+     * @param rightOperand next right operand
+     * @return result of operation or error status.
+     */
+    public CalculationResult tryGetResultOnGo(BigDecimal rightOperand) {
+        return perform(Step.RESULT_ON_GO, rightOperand).toCalculationResult();
+    }
+
+    /**
+     * Returns a result of stored operation for another left operand.
+     * Example: 3+5=
+     * result is 8
+     * 1=
+     * result is 6
+     *
+     * @param newLeftOperand - new left operand
+     * @return result of operation
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
+     * @throws DivideByZeroException   - if divide by zero was performed
+     */
+    public BigDecimal getResultAfterEqual(BigDecimal newLeftOperand) throws NumberOverflowException, DivideByZeroException {
+        return toResult(perform(Step.RESULT_AFTER_EQUAL, newLeftOperand));
+    }
+
+    /**
+     * Returns a result of operation for another left operand without throwing exceptions.
+     * Works the same way as getResultAfterEqual.
+     *
+     * @param newLeftOperand - new left operand
+     * @return result of operation or error status.
+     */
+    public CalculationResult tryGetResultAfterEqual(BigDecimal newLeftOperand) {
+        return perform(Step.RESULT_AFTER_EQUAL, newLeftOperand).toCalculationResult();
+    }
+
+    /**
+     * Atomically performs stored operation. New state is computed from current
+     * one and is set only if no other thread has changed state meanwhile,
+     * otherwise computation is repeated with fresh state.
+     *
+     * @param step    - kind of result to be returned.
+     * @param operand - right operand for results, left operand for result after equal.
+     * @return state with result of operation.
+     */
+    private State perform(Step step, BigDecimal operand) {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            next = current.prepare(step, operand).calculate(precisionPolicy);
+        } while (!state.compareAndSet(current, next));
+        return next;
+    }
+
+    /**
+     * Returns result of operation or throws exception for its error status.
+     *
+     * @param result - state with result of operation.
+     * @return result of operation.
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
+     * @throws DivideByZeroException   - if divide by zero was performed
+     */
+    private BigDecimal toResult(State result) throws NumberOverflowException, DivideByZeroException {
+        if (result.status == ResultStatus.DIVIDE_BY_ZERO) {
+            throw newDivideByZeroException("Right", result.rightOperand);
+        }
+        if (result.status == ResultStatus.OVERFLOW) {
+            throw newNumberOverflowException();
+        }
+        return result.leftOperand;
+    }
+
+    /**
+     * Calculates the given percent from left operand
+     *
+     * @param percent - percent to be calculated
+     * @return percent from left operand
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
+     */
+    public BigDecimal getPercent(BigDecimal percent) throws NumberOverflowException {
+        BigDecimal result = Arithmetic.tryPercent(state.get().leftOperand, percent, precisionPolicy);
+        if (result == null) {
+            throw newNumberOverflowException();
+        }
+        return result;
+    }
+
+    /**
+     * Returns an operation, currently stored in calculator.
+     */
+    public Operation getOperation() {
+        return state.get().operation;
+    }
+
+    /**
+     * Resets calculator operands and operation to default value.
+     * Memory is not changed.
+     */
+    public void clear() {
+        state.set(State.INITIAL);
+    }
+
+    /**
+     * Clears calculator memory.
+     */
+    public void memoryClear() {
+        memoryStore(BigDecimal.ZERO);
+    }
+
+    /**
+     * Returns number from memory
+     *
+     * @return number from memory
+     */
+    public BigDecimal memoryRecall() {
+        return memory.sum();
+    }
+
+    /**
+     * Store given number in memory.
+     *
+     * @param value - number to store
+     */
+    public void memoryStore(BigDecimal value) {
+        memory.reset(value);
+    }
+
+    /**
+     * Adds a given number to number, stored in memory.
+     * Additions from different threads are never lost.
+     *
+     * @param value - number to add
+     */
+    public void memoryAdd(BigDecimal value) {
+        memory.add(value);
+    }
+
+    /**
+     * Subtracts a given number from number, stored in memory.
+     * Subtractions from different threads are never lost.
+     *
+     * @param value - number to subtract
+     */
+    public void memorySubtract(BigDecimal value) {
+        memory.add(value.negate());
+    }
+
+    /**
+     * Inverts given number, same as (-1)*value
+     *
+     * @param value - number to invert.
+     * @return result of inverting
+     */
+    public BigDecimal getInverted(BigDecimal value) {
+        return Arithmetic.invert(value);
+    }
+
+    /**
+     * Extracts the square root of given number
+     * with precision of calculator precision policy.
+     *
+     * @param value - number.
+     * @return square root of given number
+     * @throws IllegalArgumentException - if given number is negative
+     */
+    public BigDecimal getSqrt(BigDecimal value) {
+        return Arithmetic.sqrt(value, precisionPolicy);
+    }
+
+    /**
+     * Returns a result of dividing one by given number.
+     *
+     * @param value number to be reversed
+     * @return result of dividing
+     * @throws DivideByZeroException   - if given number is zero.
+     * @throws NumberOverflowException - occurs when resulting number overflows maximal scale.
+     */
+    public BigDecimal getReversed(BigDecimal value) throws DivideByZeroException, NumberOverflowException {
+        if (value.compareTo(BigDecimal.ZERO) == 0)
+            throw newDivideByZeroException("Left", value);
+        BigDecimal result = Arithmetic.tryReverse(value, precisionPolicy);
+        if (result == null) {
+            throw newNumberOverflowException();
+        }
+        return result;
+    }
+
+    /**
+     * Returns precision policy of calculator.
+     *
+     * @return precision policy for divide, reverse and percent operations.
+     */
+    public PrecisionPolicy getPrecisionPolicy() {
+        return precisionPolicy;
+    }
+
+    /**
+     * Tells if calculator throws lightweight exceptions.
+     *
+     * @return true if shared exceptions without stack trace are thrown.
+     */
+    public boolean isLightweightExceptions() {
+        return lightweightExceptions;
+    }
+
+    /**
+     * Switches lightweight exceptions mode.
+     *
+     * @param lightweightExceptions - if true, lightweight exceptions are thrown.
+     */
+    public void setLightweightExceptions(boolean lightweightExceptions) {
+        this.lightweightExceptions = lightweightExceptions;
+    }
+
+    /**
+     * Creates exception for overflow of max scale.
+     *
+     * @return exception to throw.
+     */
+    private NumberOverflowException newNumberOverflowException() {
+        if (lightweightExceptions) {
+            return NumberOverflowException.getLightweight();
+        }
+        return new NumberOverflowException("Overflow");
+    }
+
+    /**
+     * Creates exception for dividing by zero.
+     *
+     * @param operandName - name of zero operand.
+     * @param operand     - zero operand.
+     * @return exception to throw.
+     */
+    private DivideByZeroException newDivideByZeroException(String operandName, BigDecimal operand) {
+        if (lightweightExceptions) {
+            return DivideByZeroException.getLightweight();
+        }
+        return new DivideByZeroException("Can't divide by zero. " + operandName + " operand expected : non-zero, actual: " + operand);
+    }
+
+    /**
+     * Kinds of operation results, that differ in preparing of operands.
+     */
+    private enum Step {
+        /**
+         * Result of operation, right operand is reused for repeated result.
+         */
+        RESULT,
+        /**
+         * Result of next operation in sequence.
+         */
+        RESULT_ON_GO,
+        /**
+         * Result of stored operation for another left operand.
+         */
+        RESULT_AFTER_EQUAL
+    }
+
+    /**
+     * Immutable state of calculator with status of operation, that produced it.
+     */
+    private static final class State {
+
+        /**
+         * State of new calculator.
+         */
+        static final State INITIAL = new State(BigDecimal.ZERO, BigDecimal.ZERO, Operation.NOOP, false, ResultStatus.OK);
+
+        /**
+         * Left operand of any operation, holds result of last successful operation.
+         */
+        final BigDecimal leftOperand;
+
+        /**
+         * Right operand of operations, that need such one.
+         */
+        final BigDecimal rightOperand;
+
+        /**
+         * Operation, that should be performed.
+         */
+        final Operation operation;
+
+        /**
+         * Is true, if some operation was already done.
+         */
+        final boolean nextOperation;
+
+        /**
+         * Status of operation, that produced this state.
+         */
+        final ResultStatus status;
+
+        /**
+         * Creates state.
+         *
+         * @param leftOperand   - left operand.
+         * @param rightOperand  - right operand.
+         * @param operation     - operation.
+         * @param nextOperation - true if some operation was already done.
+         * @param status        - status of operation, that produced this state.
+         */
+        State(BigDecimal leftOperand, BigDecimal rightOperand, Operation operation, boolean nextOperation,
+              ResultStatus status) {
+            this.leftOperand = leftOperand;
+            this.rightOperand = rightOperand;
+            this.operation = operation;
+            this.nextOperation = nextOperation;
+            this.status = status;
+        }
+
+        /**
+         * Returns state with new left operand and operation.
+         *
+         * @param leftOperand - left operand.
+         * @param operation   - operation to be performed.
+         * @return new state.
+         */
+        State withOperation(BigDecimal leftOperand, Operation operation) {
+            return new State(leftOperand, rightOperand, operation, false, ResultStatus.OK);
+        }
+
+        /**
+         * Returns state with operands, prepared for given step.
+         *
+         * @param step    - kind of result to be returned.
+         * @param operand - right operand for results, left operand for result after equal.
+         * @return new state.
+         */
+        State prepare(Step step, BigDecimal operand) {
+            switch (step) {
+                case RESULT:
+                    return new State(leftOperand, nextOperation ? rightOperand : operand, operation, true,
+                            status);
+                case RESULT_ON_GO:
+                    return new State(leftOperand, operand, operation, false, status);
+                default:
+                    return new State(operand, rightOperand, operation, nextOperation, status);
+            }
+        }
+
+        /**
+         * Returns state with result of stored operation as left operand.
+         * If operation fails, left operand is kept and error status is stored.
+         *
+         * @param precisionPolicy - precision policy for divide operation.
+         * @return new state.
+         */
+        State calculate(PrecisionPolicy precisionPolicy) {
+            ResultStatus status = Arithmetic.check(operation, leftOperand, rightOperand, precisionPolicy);
+            if (status != ResultStatus.OK) {
+                return new State(leftOperand, rightOperand, operation, nextOperation, status);
+            }
+            BigDecimal result = Arithmetic.apply(operation, leftOperand, rightOperand, precisionPolicy);
+            if (Arithmetic.isOverflow(result)) {
+                return new State(leftOperand, rightOperand, operation, nextOperation, ResultStatus.OVERFLOW);
+            }
+            return new State(result, rightOperand, operation, nextOperation, ResultStatus.OK);
+        }
+
+        /**
+         * Converts result of operation and its status to result object.
+         *
+         * @return result object.
+         */
+        CalculationResult toCalculationResult() {
+            if (status != ResultStatus.OK) {
+                return CalculationResult.error(status);
+            }
+            return CalculationResult.of(leftOperand);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Exact decimal accumulator for many threads, works like LongAdder.
+ * Values are added to base one with compare-and-set. When threads contend
+ * for it, they add to separate cells, chosen by thread, and sum is built
+ * lazily from base and all cells only when it is needed.
+ * Sum is exact, because decimal addition is associative.
+ * <p>
+ * Sum and reset are not atomic with respect to concurrent additions:
+ * sum, taken while other threads add, may miss some of these additions,
+ * but no addition is ever lost.
+ *
+ * @author Zavizionov Andrii
+ */
+final class DecimalAdder {
+
+    /**
+     * Count of cells, power of two, that is not less than count of processors.
+     */
+    private static final int CELLS_COUNT = getCellsCount(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Index of cell of every thread, changed when thread contends for its cell.
+     */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            long id = Thread.currentThread().getId();
+            return new int[]{(int) (id * 0x9E3779B97F4A7C15L >>> 32) | 1};
+        }
+    };
+
+    /**
+     * Value, that is used while there is no contention, and after reset.
+     */
+    private final AtomicReference<BigDecimal> base;
+
+    /**
+     * Cells for contending threads, created on first contention.
+     */
+    private final AtomicReference<Cell[]> cells = new AtomicReference<>();
+
+    /**
+     * Creates adder with zero sum.
+     */
+    DecimalAdder() {
+        this(BigDecimal.ZERO);
+    }
+
+    /**
+     * Creates adder with given sum.
+     *
+     * @param value - initial sum.
+     */
+    DecimalAdder(BigDecimal value) {
+        base = new AtomicReference<>(value);
+    }
+
+    /**
+     * Adds given number to sum.
+     *
+     * @param value - number to add.
+     */
+    void add(BigDecimal value) {
+        Cell[] currentCells = cells.get();
+        if (currentCells == null) {
+            BigDecimal current = base.get();
+            if (base.compareAndSet(current, current.add(value))) {
+                return;
+            }
+            currentCells = createCells();
+        }
+        int[] probe = PROBE.get();
+        while (true) {
+            Cell cell = currentCells[probe[0] & (currentCells.length - 1)];
+            if (cell.add(value)) {
+                return;
+            }
+            probe[0] = nextProbe(probe[0]);
+        }
+    }
+
+    /**
+     * Returns sum of all added numbers.
+     *
+     * @return current sum.
+     */
+    BigDecimal sum() {
+        BigDecimal sum = base.get();
+        Cell[] currentCells = cells.get();
+        if (currentCells != null) {
+            for (Cell cell : currentCells) {
+                BigDecimal value = cell.value;
+                if (value != null) {
+                    sum = sum.add(value);
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Replaces sum with given number.
+     *
+     * @param value - new sum.
+     */
+    void reset(BigDecimal value) {
+        Cell[] currentCells = cells.get();
+        if (currentCells != null) {
+            for (Cell cell : currentCells) {
+                cell.value = null;
+            }
+        }
+        base.set(value);
+    }
+
+    /**
+     * Creates cells, if they are not created by another thread.
+     *
+     * @return cells of adder.
+     */
+    private Cell[] createCells() {
+        Cell[] newCells = new Cell[CELLS_COUNT];
+        for (int i = 0; i < newCells.length; i++) {
+            newCells[i] = new Cell();
+        }
+        cells.compareAndSet(null, newCells);
+        return cells.get();
+    }
+
+    /**
+     * Returns next pseudo-random cell index with xorshift.
+     *
+     * @param probe - current index.
+     * @return next index.
+     */
+    private static int nextProbe(int probe) {
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+        return probe;
+    }
+
+    /**
+     * Returns power of two, that is not less than given count.
+     *
+     * @param processors - count of processors.
+     * @return count of cells.
+     */
+    private static int getCellsCount(int processors) {
+        int count = 1;
+        while (count < processors) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    /**
+     * Padding before value of cell. JVM lays out fields of superclass before fields
+     * of subclass, but groups fields of one class by type, so padding fields
+     * are declared in classes around the one with value.
+     */
+    @SuppressWarnings("unused")
+    private static class CellPaddingBefore {
+
+        /**
+         * Fills gap after compressed object header, since Java 15 JVM
+         * puts fields of subclass into such gap of superclass.
+         */
+        private int p0;
+
+        /**
+         * Padding before value.
+         */
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    /**
+     * Value of cell, that is placed after padding of superclass.
+     */
+    private static class CellValue extends CellPaddingBefore {
+
+        /**
+         * Updater for value of cells.
+         */
+        private static final AtomicReferenceFieldUpdater<CellValue, BigDecimal> VALUE =
+                AtomicReferenceFieldUpdater.newUpdater(CellValue.class, BigDecimal.class, "value");
+
+        /**
+         * Sum of numbers, added to cell, null if nothing was added after reset.
+         */
+        volatile BigDecimal value;
+
+        /**
+         * Tries to add given number to cell value once.
+         *
+         * @param value - number to add.
+         * @return true if number is added, false if other thread has changed value.
+         */
+        boolean add(BigDecimal value) {
+            BigDecimal current = this.value;
+            return VALUE.compareAndSet(this, current, current == null ? value : current.add(value));
+        }
+    }
+
+    /**
+     * Holds value for one or several threads. Is padded to own cache line,
+     * so threads, that update neighbour cells, don't slow down each other.
+     */
+    @SuppressWarnings("unused")
+    private static final class Cell extends CellValue {
+
+        /**
+         * Padding after value.
+         */
+        private long q1, q2, q3, q4, q5, q6, q7;
+    }
+}
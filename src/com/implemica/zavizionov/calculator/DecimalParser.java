@@ -0,0 +1,266 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Parser of decimal numbers from characters or ASCII bytes without copying them.
+ * Accepts the same format as new BigDecimal(String):
+ * [+|-]digits[.digits][(e|E)[+|-]digits], integer or fractional part can be omitted, but not both.
+ * Numbers of up to 18 significant digits are compact: their unscaled long value
+ * and scale are computed without creating any objects. Numbers of up to 36
+ * significant digits are built from two longs, longer ones are parsed by
+ * BigDecimal from reused char buffer.
+ * Parser keeps last parsed number, so it is used by one thread.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class DecimalParser {
+
+    /**
+     * Max count of significant digits, that always fits long.
+     */
+    public static final int MAX_COMPACT_DIGITS = 18;
+
+    /**
+     * Max count of significant digits, that are built from two longs.
+     */
+    private static final int MAX_TWO_LONG_DIGITS = MAX_COMPACT_DIGITS * 2;
+
+    /**
+     * Powers of ten from 0 to 18.
+     */
+    private static final BigInteger[] TEN_POWERS = new BigInteger[MAX_COMPACT_DIGITS + 1];
+
+    static {
+        for (int i = 0; i < TEN_POWERS.length; i++) {
+            TEN_POWERS[i] = BigInteger.TEN.pow(i);
+        }
+    }
+
+    /**
+     * Max absolute exponent, that is read, bigger ones overflow scale anyway.
+     */
+    private static final long MAX_EXPONENT = 1L << 40;
+
+    /**
+     * View of parsed bytes.
+     */
+    private final AsciiSequence bytes = new AsciiSequence();
+
+    /**
+     * Buffer for numbers, that are not compact.
+     */
+    private char[] chars = new char[MAX_COMPACT_DIGITS * 2];
+
+    /**
+     * Unscaled value of last compact number.
+     */
+    private long unscaled;
+
+    /**
+     * Scale of last compact number.
+     */
+    private int scale;
+
+    /**
+     * Last number, that is not compact, null for compact number.
+     */
+    private BigDecimal big;
+
+    /**
+     * Parses whole sequence as number.
+     *
+     * @param text - text of number.
+     * @throws NumberFormatException - if text is not a number
+     */
+    public void parse(CharSequence text) {
+        parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses part of sequence as number.
+     *
+     * @param text - text with number.
+     * @param from - index of first character of number.
+     * @param to   - index after last character of number.
+     * @throws NumberFormatException - if part of text is not a number
+     */
+    public void parse(CharSequence text, int from, int to) {
+        if (parsePrefix(text, from, to) != to) {
+            throw new NumberFormatException("Expected: number, actual: " + text.subSequence(from, to));
+        }
+    }
+
+    /**
+     * Parses ASCII bytes of buffer as number. Position of buffer is not changed.
+     *
+     * @param buffer - buffer with number.
+     * @param from   - absolute index of first byte of number.
+     * @param to     - absolute index after last byte of number.
+     * @throws NumberFormatException - if bytes are not a number
+     */
+    public void parse(ByteBuffer buffer, int from, int to) {
+        parse(bytes.reset(buffer, from, to));
+    }
+
+    /**
+     * Parses number from start of part of sequence. Number ends at first character,
+     * that can't continue it.
+     *
+     * @param text - text, that starts with number.
+     * @param from - index of first character of number.
+     * @param to   - index after last character, that can be read.
+     * @return index after last character of number.
+     * @throws NumberFormatException - if there is no number at start or its exponent is malformed
+     */
+    public int parsePrefix(CharSequence text, int from, int to) {
+        int position = from;
+        boolean negative = false;
+        if (position < to && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+            negative = text.charAt(position) == '-';
+            position++;
+        }
+        long value = 0;
+        long low = 0;
+        int lowDigits = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; position < to; position++) {
+            char symbol = text.charAt(position);
+            if (symbol >= '0' && symbol <= '9') {
+                digits++;
+                if (fraction) {
+                    fractionDigits++;
+                }
+                if (significantDigits > 0 || symbol != '0') {
+                    significantDigits++;
+                }
+                if (significantDigits <= MAX_COMPACT_DIGITS) {
+                    value = value * 10 + (symbol - '0');
+                } else if (significantDigits <= MAX_TWO_LONG_DIGITS) {
+                    low = low * 10 + (symbol - '0');
+                    lowDigits++;
+                }
+            } else if (symbol == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Expected: digits, actual: " + text.subSequence(from, position));
+        }
+
+        long exponent = 0;
+        if (position < to && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            position++;
+            boolean negativeExponent = false;
+            if (position < to && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                negativeExponent = text.charAt(position) == '-';
+                position++;
+            }
+            int start = position;
+            for (; position < to && text.charAt(position) >= '0' && text.charAt(position) <= '9'; position++) {
+                if (exponent <= MAX_EXPONENT) {
+                    exponent = exponent * 10 + (text.charAt(position) - '0');
+                }
+            }
+            if (position == start) {
+                throw new NumberFormatException("Expected: exponent digits, actual: " + text.subSequence(from, position));
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        long newScale = fractionDigits - exponent;
+        if (newScale > Integer.MAX_VALUE || newScale < Integer.MIN_VALUE) {
+            throw new NumberFormatException("Expected: scale in int range, actual: " + text.subSequence(from, position));
+        }
+
+        if (significantDigits > MAX_TWO_LONG_DIGITS) {
+            big = parseBig(text, from, position);
+        } else if (significantDigits > MAX_COMPACT_DIGITS) {
+            BigInteger twoLongs = BigInteger.valueOf(value).multiply(TEN_POWERS[lowDigits]).add(BigInteger.valueOf(low));
+            big = new BigDecimal(negative ? twoLongs.negate() : twoLongs, (int) newScale);
+        } else {
+            big = null;
+            unscaled = negative ? -value : value;
+            scale = (int) newScale;
+        }
+        return position;
+    }
+
+    /**
+     * Parses long number with BigDecimal.
+     *
+     * @param text - text with number.
+     * @param from - index of first character of number.
+     * @param to   - index after last character of number.
+     * @return parsed number.
+     */
+    private BigDecimal parseBig(CharSequence text, int from, int to) {
+        int length = to - from;
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(from + i);
+        }
+        return new BigDecimal(chars, 0, length);
+    }
+
+    /**
+     * Tells if last number is compact, so its unscaled value and scale are known.
+     *
+     * @return true if last number has no more than 18 significant digits.
+     */
+    public boolean isCompact() {
+        return big == null;
+    }
+
+    /**
+     * Returns unscaled value of last compact number.
+     *
+     * @return unscaled value.
+     * @throws IllegalStateException - if last number is not compact
+     */
+    public long getUnscaled() {
+        checkCompact();
+        return unscaled;
+    }
+
+    /**
+     * Returns scale of last compact number.
+     *
+     * @return scale.
+     * @throws IllegalStateException - if last number is not compact
+     */
+    public int getScale() {
+        checkCompact();
+        return scale;
+    }
+
+    /**
+     * Checks, that last number is compact.
+     *
+     * @throws IllegalStateException - if last number is not compact
+     */
+    private void checkCompact() {
+        if (big != null) {
+            throw new IllegalStateException("Expected: compact number, actual: " + big);
+        }
+    }
+
+    /**
+     * Returns last number.
+     *
+     * @return number, equal to new BigDecimal of the same text.
+     */
+    public BigDecimal toBigDecimal() {
+        return big != null ? big : BigDecimal.valueOf(unscaled, scale);
+    }
+}
@@ -0,0 +1,140 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Thread-safe bounded cache of first screen texts of numbers. Screen often shows the same
+ * values again (memory recall, repeated equal) and batch results repeat too, so they are
+ * formatted once. Key is number itself: its equals and hashCode use only unscaled value and
+ * scale and create no objects, so 2.5 and 2.50 are different keys with the same text.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class DisplayCache {
+
+    /**
+     * Default max count of cached texts.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Formatter of numbers.
+     */
+    private static final DisplayFormatter FORMATTER = DisplayFormatter.getInstance();
+
+    /**
+     * Cached texts by numbers.
+     */
+    private final LruCache<BigDecimal, Entry> cache;
+
+    /**
+     * Creates cache with default capacity.
+     */
+    public DisplayCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates cache with given capacity.
+     *
+     * @param capacity - max count of cached texts.
+     * @throws IllegalArgumentException - if capacity is not positive
+     */
+    public DisplayCache(int capacity) {
+        this.cache = new LruCache<>(capacity);
+    }
+
+    /**
+     * Returns text of number, that is formatted once and then is taken from cache.
+     *
+     * @param value - number.
+     * @return text of number and its font size.
+     * @throws IllegalArgumentException - if value is null
+     */
+    public Entry get(BigDecimal value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Expected: number, actual: null");
+        }
+        Entry entry = cache.get(value);
+        if (entry == null) {
+            //other thread can format the same value at the same time, result is the same
+            String text = FORMATTER.format(value);
+            entry = new Entry(text, KeypadEngine.FontSize.ofLength(text.length()));
+            cache.put(value, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns part of requests, that found cached text.
+     *
+     * @return hit rate from 0 to 1, 0 if there were no requests.
+     */
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    /**
+     * Returns underlying cache with counts of hits, misses and evictions.
+     *
+     * @return cache of texts.
+     */
+    public LruCache<BigDecimal, Entry> getCache() {
+        return cache;
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayCache{" + cache + "}";
+    }
+
+    /**
+     * Text of number on first screen and font size of the text.
+     */
+    public static final class Entry {
+
+        /**
+         * Text of number.
+         */
+        private final String text;
+
+        /**
+         * Font size of text.
+         */
+        private final KeypadEngine.FontSize fontSize;
+
+        /**
+         * Creates entry.
+         *
+         * @param text     - text of number.
+         * @param fontSize - font size of text.
+         */
+        Entry(String text, KeypadEngine.FontSize fontSize) {
+            this.text = text;
+            this.fontSize = fontSize;
+        }
+
+        /**
+         * Returns text of number.
+         *
+         * @return text, like first screen shows it.
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Returns font size of text.
+         *
+         * @return font size, first screen uses for the text.
+         */
+        public KeypadEngine.FontSize getFontSize() {
+            return fontSize;
+        }
+
+        @Override
+        public String toString() {
+            return text + " (" + fontSize + ")";
+        }
+    }
+}
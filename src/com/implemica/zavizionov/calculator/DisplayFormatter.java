@@ -0,0 +1,137 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formats numbers exactly like first screen of calculator shows them.
+ * Number, that fits 16 digits, is shown as is, like 12.5. Longer number is rounded
+ * to integer, if it differs from it less than 1e-14, and is shown with 16 digits,
+ * like 0.333333333333333, or with scientific representation, like 1.5e+20 or -3e-17.
+ * Formatter is immutable and has no state, so one instance is shared by any count
+ * of threads and results of batch calculations can be formatted in parallel.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class DisplayFormatter {
+
+    /**
+     * Count of digits, that first screen can fit.
+     */
+    public static final int DISPLAY_SIZE = DisplayRenderer.FIRST_DISPLAY_SIZE;
+
+    /**
+     * Min difference with nearest integer for number not to be rounded.
+     */
+    private static final BigDecimal DELTA = new BigDecimal("1E-" + (DISPLAY_SIZE - 2));
+
+    /**
+     * Min number value, that is rounded to integer.
+     */
+    private static final BigDecimal MIN = DisplayRenderer.MIN;
+
+    /**
+     * Expected length of formatted number.
+     */
+    private static final int TEXT_CAPACITY = 24;
+
+    /**
+     * The only instance of formatter.
+     */
+    private static final DisplayFormatter INSTANCE = new DisplayFormatter();
+
+    /**
+     * Formatter is got with getInstance method.
+     */
+    private DisplayFormatter() {
+    }
+
+    /**
+     * Returns formatter.
+     *
+     * @return shared instance of formatter.
+     */
+    public static DisplayFormatter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Formats number like first screen shows it.
+     *
+     * @param value - number to format.
+     * @return text of first screen.
+     * @throws IllegalArgumentException - if value is null
+     */
+    public String format(BigDecimal value) {
+        return appendTo(value, new StringBuilder(TEXT_CAPACITY)).toString();
+    }
+
+    /**
+     * Appends number to builder like first screen shows it. Builder is
+     * reused by caller, so no strings are created for most of numbers.
+     *
+     * @param value - number to format.
+     * @param out   - builder, text is appended to.
+     * @return given builder.
+     * @throws IllegalArgumentException - if value or builder is null
+     */
+    public StringBuilder appendTo(BigDecimal value, StringBuilder out) {
+        if (value == null || out == null) {
+            throw new IllegalArgumentException("Expected: number and builder, actual: " + value + ", " + out);
+        }
+        appendStripped(value.stripTrailingZeros(), out);
+        return out;
+    }
+
+    /**
+     * Appends number without trailing zeros to builder like first screen shows it.
+     *
+     * @param value - number without trailing zeros.
+     * @param out   - builder, text is appended to.
+     */
+    void appendStripped(BigDecimal value, StringBuilder out) {
+        Object event = FlightEvents.beginFormat();
+        int start = out.length();
+        if (DisplayRenderer.countPlainDigits(value) <= DISPLAY_SIZE) {
+            DisplayRenderer.appendPlain(value, out);
+        } else {
+            DisplayRenderer.appendFormatted(getRounded(value), out);
+        }
+        FlightEvents.commitFormat(event, value, out.length() - start);
+    }
+
+    /**
+     * Rounds given number to integer if it's needed: positive number, that differs from
+     * nearest integer less than 1e-14, like 2.000000000000000001, is shown as integer.
+     *
+     * @param value - number to be rounded
+     * @return rounded variant of number if rounding is needed, given number instead.
+     */
+    public BigDecimal getRounded(BigDecimal value) {
+        if (isInteger(value)) {
+            return value;
+        }
+        if (value.compareTo(MIN) < 0) {
+            return value;
+        }
+        BigDecimal nearestInteger = value.setScale(0, RoundingMode.HALF_UP);
+        if (value.subtract(nearestInteger).abs().compareTo(DELTA) < 0) {
+            return nearestInteger;
+        }
+        return value;
+    }
+
+    /**
+     * Check if given number is integer.
+     *
+     * @param value - given number
+     * @return true if number is integer, false instead.
+     */
+    private static boolean isInteger(BigDecimal value) {
+        if (value.scale() <= 0) {
+            return true;
+        }
+        BigDecimal nearestInteger = value.setScale(0, RoundingMode.HALF_UP);
+        return nearestInteger.compareTo(value) == 0;
+    }
+}
@@ -0,0 +1,318 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Renders numbers for first screen directly into given StringBuilder.
+ * Output is the same as of DecimalFormat with patterns "0" and "0E0", that were
+ * used before, with e+ and e- exponent signs, but formats are not needed:
+ * digits of number are written to the builder and are rounded half-even in place.
+ * Digits of numbers of up to 36 digits are appended as one or two longs, so no strings are created.
+ * Renderer has no state, so it is safe to call from any count of threads.
+ *
+ * @author Zavizionov Andrii
+ */
+final class DisplayRenderer {
+
+    /**
+     * Count of digits, that first screen can fit.
+     */
+    static final int FIRST_DISPLAY_SIZE = 16;
+
+    /**
+     * Min number value, that first screen can fit with plain representation.
+     * It will be scientific otherwise, so negative numbers are always scientific.
+     * Plain is representation like 56.568 or 5862. Scientific is like 5e+13.
+     */
+    static final BigDecimal MIN = new BigDecimal("1E-" + (FIRST_DISPLAY_SIZE - 2));
+
+    /**
+     * Max count of integer digits of number with plain representation,
+     * so numbers from 1e+16 are scientific.
+     */
+    private static final int MAX_INTEGER_DIGITS = FIRST_DISPLAY_SIZE;
+
+    /**
+     * Scale for switching between scientific and plain number representations.
+     * If number scale is bigger then this value, scientific representation will
+     * be used. Otherwise, value will be represented with plain number.
+     */
+    static final int MAX_SCALE = 29;
+
+    /**
+     * Max count of significant digits of scientific representation:
+     * one integer digit and fraction digits, that display can fit.
+     */
+    private static final int SCIENTIFIC_DIGITS = FIRST_DISPLAY_SIZE;
+
+    /**
+     * Max digits of number, which unscaled value always fits long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Ten to the power of max digits of long.
+     */
+    private static final BigInteger LONG_DIGITS_POWER = BigInteger.TEN.pow(MAX_LONG_DIGITS);
+
+    /**
+     * Decimal dot symbol.
+     */
+    private static final char DOT_SYMBOL = '.';
+
+    /**
+     * Minus sign of number.
+     */
+    private static final char MINUS_SYMBOL = '-';
+
+    /**
+     * Plus sign of exponent.
+     */
+    private static final char PLUS_SYMBOL = '+';
+
+    /**
+     * Exponent sign.
+     */
+    private static final char EXPONENT_SYMBOL = 'e';
+
+    /**
+     * Renderer has only static methods.
+     */
+    private DisplayRenderer() {
+    }
+
+    /**
+     * Appends number, that doesn't fit first screen as is: scientific representation
+     * for numbers not less than 1e+16, less than MIN or with scale bigger than MAX_SCALE,
+     * like 1.234567890123457e+20, and rounded plain representation otherwise, like 0.1234567890123457.
+     *
+     * @param value - number to render.
+     * @param out   - builder, number is appended to.
+     */
+    static void appendFormatted(BigDecimal value, StringBuilder out) {
+        if (isScientific(value)) {
+            appendScientific(value, out);
+        } else {
+            //max fraction digits was counted from dot index of plain text
+            int intDigits = Math.max(value.precision() - value.scale(), 1);
+            appendPlain(value, FIRST_DISPLAY_SIZE - intDigits, out);
+        }
+    }
+
+    /**
+     * Tells if number is shown with scientific representation: it is not less than 1e+16,
+     * less than MIN or its scale is bigger than MAX_SCALE. Number is compared by count of its
+     * integer digits, because compareTo of numbers with different scales creates objects.
+     *
+     * @param value - number.
+     * @return true if number is shown with scientific representation.
+     */
+    static boolean isScientific(BigDecimal value) {
+        //number is between 10^(pointIndex - 1) and 10^pointIndex
+        int pointIndex = value.precision() - value.scale();
+        return value.signum() <= 0 || pointIndex > MAX_INTEGER_DIGITS || pointIndex <= -MIN.scale()
+                || value.scale() > MAX_SCALE;
+    }
+
+    /**
+     * Appends exact plain representation of number without trailing zeros of fraction,
+     * like stripTrailingZeros().toPlainString() does.
+     *
+     * @param value - number to render.
+     * @param out   - builder, number is appended to.
+     */
+    static void appendPlain(BigDecimal value, StringBuilder out) {
+        appendPlain(value, Math.max(value.scale(), 0), out);
+    }
+
+    /**
+     * Counts digits of exact plain representation of number.
+     *
+     * @param value - number.
+     * @return count of symbols of plain text, that are neither dot nor minus.
+     */
+    static int countPlainDigits(BigDecimal value) {
+        int scale = value.scale();
+        if (scale <= 0) {
+            return value.precision() - scale;
+        }
+        return Math.max(value.precision(), scale + 1);
+    }
+
+    /**
+     * Appends plain representation of number, rounded half-even to given count of fraction
+     * digits, without trailing zeros of fraction.
+     *
+     * @param value          - number to render.
+     * @param fractionDigits - max count of fraction digits.
+     * @param out            - builder, number is appended to.
+     */
+    private static void appendPlain(BigDecimal value, int fractionDigits, StringBuilder out) {
+        int start = appendDigits(value, out);
+        int pointIndex = value.precision() - value.scale();
+        if (round(out, start, pointIndex + fractionDigits)) {
+            pointIndex++;
+        }
+        if (isZero(out, start)) {
+            out.setLength(start + 1);
+            return;
+        }
+
+        //trailing zeros of fraction are not shown
+        int end = out.length();
+        while (end - start > Math.max(pointIndex, 1) && out.charAt(end - 1) == '0') {
+            end--;
+        }
+        out.setLength(end);
+        int length = end - start;
+
+        if (pointIndex <= 0) {
+            out.insert(start, "0.");
+            for (int i = 0; i < -pointIndex; i++) {
+                out.insert(start + 2, '0');
+            }
+        } else if (pointIndex >= length) {
+            for (int i = length; i < pointIndex; i++) {
+                out.append('0');
+            }
+        } else {
+            out.insert(start + pointIndex, DOT_SYMBOL);
+        }
+    }
+
+    /**
+     * Appends scientific representation of number with one integer digit,
+     * rounded half-even to 16 significant digits, like 1.5e+20 or -3e-17.
+     *
+     * @param value - number to render.
+     * @param out   - builder, number is appended to.
+     */
+    private static void appendScientific(BigDecimal value, StringBuilder out) {
+        int start = appendDigits(value, out);
+        int exponent = value.precision() - value.scale() - 1;
+        if (round(out, start, SCIENTIFIC_DIGITS)) {
+            exponent++;
+        }
+        if (isZero(out, start)) {
+            out.setLength(start + 1);
+            exponent = 0;
+        }
+
+        int end = out.length();
+        while (end - start > 1 && out.charAt(end - 1) == '0') {
+            end--;
+        }
+        out.setLength(end);
+        if (end - start > 1) {
+            out.insert(start + 1, DOT_SYMBOL);
+        }
+
+        out.append(EXPONENT_SYMBOL);
+        if (exponent < 0) {
+            out.append(MINUS_SYMBOL).append(-exponent);
+        } else {
+            out.append(PLUS_SYMBOL).append(exponent);
+        }
+    }
+
+    /**
+     * Appends sign and digits of unscaled value of number.
+     *
+     * @param value - number.
+     * @param out   - builder, digits are appended to.
+     * @return index of first digit in builder.
+     */
+    private static int appendDigits(BigDecimal value, StringBuilder out) {
+        if (value.signum() < 0) {
+            out.append(MINUS_SYMBOL);
+        }
+        int start = out.length();
+        BigInteger unscaled = value.unscaledValue();
+        int precision = value.precision();
+        if (precision <= MAX_LONG_DIGITS) {
+            out.append(Math.abs(unscaled.longValue()));
+        } else if (precision <= MAX_LONG_DIGITS * 2) {
+            //two longs are cheaper than BigInteger.toString()
+            BigInteger[] parts = unscaled.abs().divideAndRemainder(LONG_DIGITS_POWER);
+            out.append(parts[0].longValue());
+            long low = parts[1].longValue();
+            for (long power = LONG_DIGITS_POWER.longValue() / 10; power > low && power > 1; power /= 10) {
+                out.append('0');
+            }
+            out.append(low);
+        } else {
+            out.append(unscaled.abs());
+        }
+        return start;
+    }
+
+    /**
+     * Rounds half-even digits from start of builder to the end, so only given count
+     * of digits is left.
+     *
+     * @param out    - builder with digits from start to its end.
+     * @param start  - index of first digit.
+     * @param digits - count of digits to keep, can be negative or bigger than present count.
+     * @return true if rounding added a digit before first one, like 99.7 is rounded to 100.
+     */
+    private static boolean round(StringBuilder out, int start, int digits) {
+        int length = out.length() - start;
+        if (digits >= length) {
+            return false;
+        }
+        if (digits < 0) {
+            //number is less than half of last kept digit
+            out.setLength(start);
+            out.append('0');
+            return false;
+        }
+
+        int firstDropped = start + digits;
+        char dropped = out.charAt(firstDropped);
+        boolean roundUp = dropped > '5';
+        if (dropped == '5') {
+            boolean restIsZero = true;
+            for (int i = firstDropped + 1; i < out.length() && restIsZero; i++) {
+                restIsZero = out.charAt(i) == '0';
+            }
+            boolean lastKeptIsOdd = digits > 0 && (out.charAt(firstDropped - 1) - '0') % 2 == 1;
+            roundUp = !restIsZero || lastKeptIsOdd;
+        }
+        out.setLength(firstDropped);
+        if (!roundUp) {
+            if (digits == 0) {
+                out.append('0');
+            }
+            return false;
+        }
+
+        int i = firstDropped - 1;
+        while (i >= start && out.charAt(i) == '9') {
+            out.setCharAt(i, '0');
+            i--;
+        }
+        if (i >= start) {
+            out.setCharAt(i, (char) (out.charAt(i) + 1));
+            return false;
+        }
+        out.insert(start, '1');
+        return true;
+    }
+
+    /**
+     * Tells if all digits from start of builder are zeros.
+     *
+     * @param out   - builder with digits from start to its end.
+     * @param start - index of first digit.
+     * @return true if number is zero.
+     */
+    private static boolean isZero(StringBuilder out, int start) {
+        for (int i = start; i < out.length(); i++) {
+            if (out.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Records events of calculator. Started events are opaque to calculator, so it doesn't depend
+ * on classes of recorder, implementation is loaded by FlightEvents only if it's present.
+ *
+ * @author Zavizionov Andrii
+ */
+interface EventRecorder {
+
+    /**
+     * Starts event of operation.
+     *
+     * @return started event, null if operation events are not recorded.
+     */
+    Object beginOperation();
+
+    /**
+     * Ends event of operation and commits it, if it's recorded.
+     *
+     * @param event     - not null event, started by beginOperation.
+     * @param operation - performed operation.
+     * @param left      - left operand, or the only operand of unary operation.
+     * @param right     - right operand, null for unary operation.
+     * @param result    - result, null if operation failed.
+     * @param status    - status of result.
+     */
+    void commitOperation(Object event, Operation operation, BigDecimal left, BigDecimal right, BigDecimal result,
+                         ResultStatus status);
+
+    /**
+     * Starts event of formatting number for first screen.
+     *
+     * @return started event, null if format events are not recorded.
+     */
+    Object beginFormat();
+
+    /**
+     * Ends event of formatting and commits it, if it's recorded.
+     *
+     * @param event      - not null event, started by beginFormat.
+     * @param value      - formatted number.
+     * @param textLength - length of text of number.
+     */
+    void commitFormat(Object event, BigDecimal value, int textLength);
+}
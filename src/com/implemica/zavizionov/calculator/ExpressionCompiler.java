@@ -0,0 +1,209 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Compiles expressions to steps of calculator, that are performed
+ * the same way as calculator buttons are pressed. Kind of every step
+ * depends only on order of tokens, not on values, so it is known before
+ * evaluation. Steps are written to buffers, that are reused for next
+ * expression, so direct evaluation of strings creates no plan objects.
+ *
+ * @author Zavizionov Andrii
+ */
+final class ExpressionCompiler {
+
+    /**
+     * Initial size of buffers.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Tokenizer of compiled expression.
+     */
+    private final ExpressionTokenizer tokenizer = new ExpressionTokenizer();
+
+    /**
+     * Kinds of compiled steps.
+     */
+    ExpressionPlan.Step[] steps = new ExpressionPlan.Step[INITIAL_CAPACITY];
+
+    /**
+     * Operations of compiled steps.
+     */
+    Operation[] operations = new Operation[INITIAL_CAPACITY];
+
+    /**
+     * Operand codes of compiled steps.
+     */
+    int[] operands = new int[INITIAL_CAPACITY];
+
+    /**
+     * Count of compiled steps.
+     */
+    int stepCount;
+
+    /**
+     * Constant operands of compiled expression.
+     */
+    BigDecimal[] constants = new BigDecimal[INITIAL_CAPACITY];
+
+    /**
+     * Count of constant operands.
+     */
+    private int constantCount;
+
+    /**
+     * Count of operand slots.
+     */
+    private int slotCount;
+
+    /**
+     * Compiles expression to buffers.
+     *
+     * @param expression   - expression, like "3+5*2=" or template, like "?+?*2="
+     * @param slotsAllowed - if false, operand slots are not allowed.
+     * @throws IllegalArgumentException - if expression is malformed
+     */
+    void compile(CharSequence expression, boolean slotsAllowed) {
+        tokenizer.reset(expression);
+        Arrays.fill(constants, 0, constantCount, null);
+        stepCount = 0;
+        constantCount = 0;
+        slotCount = 0;
+
+        ExpressionTokenizer.Token token = tokenizer.next(true);
+        if (!isOperand(token)) {
+            throw tokenizer.unexpected("expression without first number");
+        }
+        int value = addOperand(token, slotsAllowed);
+        //is true, if operation is set and its right operand is entered
+        boolean sequence = false;
+        boolean afterEqual = false;
+        boolean operationSet = false;
+        ExpressionTokenizer.Token previous = token;
+        while (true) {
+            token = tokenizer.next(previous == ExpressionTokenizer.Token.OPERATION);
+            switch (token) {
+                case NUMBER:
+                case SLOT:
+                    if (isOperand(previous)) {
+                        throw tokenizer.unexpected("number after number");
+                    }
+                    value = addOperand(token, slotsAllowed);
+                    sequence = previous == ExpressionTokenizer.Token.OPERATION;
+                    break;
+                case OPERATION:
+                    if (previous == ExpressionTokenizer.Token.OPERATION) {
+                        throw tokenizer.unexpected("operation after operation");
+                    }
+                    if (sequence) {
+                        addStep(ExpressionPlan.Step.RESULT_ON_GO, null, value);
+                        value = ExpressionPlan.LAST_RESULT;
+                    }
+                    addStep(ExpressionPlan.Step.SET_OPERATION, tokenizer.getOperation(), value);
+                    operationSet = true;
+                    sequence = false;
+                    afterEqual = false;
+                    break;
+                case EQUAL:
+                    if (previous == ExpressionTokenizer.Token.OPERATION) {
+                        throw tokenizer.unexpected("equal sign after operation");
+                    }
+                    addEqual(value, operationSet, afterEqual);
+                    value = ExpressionPlan.LAST_RESULT;
+                    sequence = false;
+                    afterEqual = true;
+                    break;
+                default:
+                    if (previous == ExpressionTokenizer.Token.OPERATION) {
+                        throw tokenizer.unexpected("end of expression after operation");
+                    }
+                    if (previous != ExpressionTokenizer.Token.EQUAL) {
+                        addEqual(value, operationSet, afterEqual);
+                    }
+                    return;
+            }
+            previous = token;
+        }
+    }
+
+    /**
+     * Returns immutable plan of compiled template.
+     *
+     * @param template - compiled template.
+     * @return plan of template.
+     */
+    ExpressionPlan toPlan(String template) {
+        return new ExpressionPlan(template, steps, operations, operands, stepCount, constants, constantCount,
+                slotCount);
+    }
+
+    /**
+     * Adds step, that is performed by equal button.
+     *
+     * @param value        - operand code of current number.
+     * @param operationSet - true if some operation was set.
+     * @param afterEqual   - true if equal was already performed.
+     */
+    private void addEqual(int value, boolean operationSet, boolean afterEqual) {
+        if (!operationSet) {
+            addStep(ExpressionPlan.Step.VALUE, null, value);
+        } else if (afterEqual) {
+            addStep(ExpressionPlan.Step.RESULT_AFTER_EQUAL, null, value);
+        } else {
+            addStep(ExpressionPlan.Step.RESULT, null, value);
+        }
+    }
+
+    /**
+     * Adds step to buffers.
+     *
+     * @param step      - kind of step.
+     * @param operation - operation for setting, null for other steps.
+     * @param operand   - operand code.
+     */
+    private void addStep(ExpressionPlan.Step step, Operation operation, int operand) {
+        if (stepCount == steps.length) {
+            steps = Arrays.copyOf(steps, stepCount * 2);
+            operations = Arrays.copyOf(operations, stepCount * 2);
+            operands = Arrays.copyOf(operands, stepCount * 2);
+        }
+        steps[stepCount] = step;
+        operations[stepCount] = operation;
+        operands[stepCount] = operand;
+        stepCount++;
+    }
+
+    /**
+     * Adds operand of last token.
+     *
+     * @param token        - number or slot token.
+     * @param slotsAllowed - if false, operand slots are not allowed.
+     * @return operand code.
+     */
+    private int addOperand(ExpressionTokenizer.Token token, boolean slotsAllowed) {
+        if (token == ExpressionTokenizer.Token.SLOT) {
+            if (!slotsAllowed) {
+                throw tokenizer.unexpected("operand slot in expression");
+            }
+            return -1 - slotCount++;
+        }
+        if (constantCount == constants.length) {
+            constants = Arrays.copyOf(constants, constantCount * 2);
+        }
+        constants[constantCount] = tokenizer.getNumber();
+        return constantCount++;
+    }
+
+    /**
+     * Check if token is operand.
+     *
+     * @param token - token.
+     * @return true for number or slot.
+     */
+    private static boolean isOperand(ExpressionTokenizer.Token token) {
+        return token == ExpressionTokenizer.Token.NUMBER || token == ExpressionTokenizer.Token.SLOT;
+    }
+}
@@ -0,0 +1,276 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+
+import java.math.BigDecimal;
+
+/**
+ * Evaluates expression strings without view, the same way as they are
+ * evaluated by pressing calculator buttons: operations are performed
+ * from left to right, on the go, without priorities.
+ * Example: "3+5*2=" is 16, "2+3==" is 8, "2+3=1=" is 4.
+ * Expression end works as equal sign, if operation is not finished.
+ * <p>
+ * Templates, like "?+?*2=", are compiled to plans, that are cached and
+ * evaluated with different operands without parsing.
+ * <p>
+ * Evaluator reuses its calculator and compiler, so it should not be
+ * used by several threads at once.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class ExpressionEvaluator {
+
+    /**
+     * Operands for expressions without slots.
+     */
+    private static final BigDecimal[] NO_OPERANDS = new BigDecimal[0];
+
+    /**
+     * Default max count of cached plans.
+     */
+    public static final int DEFAULT_PLAN_CACHE_SIZE = 256;
+
+    /**
+     * Calculator, that performs operations.
+     */
+    private final Calculator calculator;
+
+    /**
+     * Compiler of evaluated expressions.
+     */
+    private final ExpressionCompiler compiler = new ExpressionCompiler();
+
+    /**
+     * Cache of compiled templates, can be shared by several evaluators.
+     */
+    private final LruCache<String, ExpressionPlan> planCache;
+
+    /**
+     * Holder for results of calculator operations.
+     */
+    private final ResultHolder holder = new ResultHolder();
+
+    /**
+     * Creates evaluator with default precision policy.
+     */
+    public ExpressionEvaluator() {
+        this(PrecisionPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates evaluator with given precision policy.
+     *
+     * @param precisionPolicy - precision policy for divide operations.
+     */
+    public ExpressionEvaluator(PrecisionPolicy precisionPolicy) {
+        this(precisionPolicy, new LruCache<String, ExpressionPlan>(DEFAULT_PLAN_CACHE_SIZE));
+    }
+
+    /**
+     * Creates evaluator with given precision policy and plan cache.
+     * Plan cache is thread-safe, so evaluators of different threads can share it.
+     *
+     * @param precisionPolicy - precision policy for divide operations.
+     * @param planCache       - cache of compiled templates.
+     * @throws IllegalArgumentException - if plan cache is null
+     */
+    public ExpressionEvaluator(PrecisionPolicy precisionPolicy, LruCache<String, ExpressionPlan> planCache) {
+        if (planCache == null) {
+            throw new IllegalArgumentException("Expected: plan cache, actual: null");
+        }
+        calculator = new Calculator(precisionPolicy);
+        this.planCache = planCache;
+    }
+
+    /**
+     * Evaluates given expression.
+     *
+     * @param expression - expression, like "3+5*2="
+     * @return result of expression.
+     * @throws NumberOverflowException  - occurs when resulting number overflows maximal scale.
+     * @throws DivideByZeroException    - if divide by zero was performed
+     * @throws IllegalArgumentException - if expression is malformed
+     */
+    public BigDecimal evaluate(CharSequence expression) throws NumberOverflowException, DivideByZeroException {
+        evaluate(expression, holder);
+        if (holder.getStatus() == ResultStatus.DIVIDE_BY_ZERO) {
+            throw new DivideByZeroException("Can't divide by zero. Expression: " + expression);
+        }
+        if (holder.getStatus() == ResultStatus.OVERFLOW) {
+            throw new NumberOverflowException("Overflow. Expression: " + expression);
+        }
+        return holder.getValue();
+    }
+
+    /**
+     * Evaluates given expression without throwing calculation exceptions.
+     *
+     * @param expression - expression, like "3+5*2="
+     * @return result of expression or error status.
+     * @throws IllegalArgumentException - if expression is malformed
+     */
+    public CalculationResult tryEvaluate(CharSequence expression) {
+        evaluate(expression, holder);
+        return holder.toResult();
+    }
+
+    /**
+     * Evaluates given expression and puts its result to given holder.
+     * Evaluation stops at first error.
+     *
+     * @param expression - expression, like "3+5*2="
+     * @param result     - holder for result of expression or error status.
+     * @throws IllegalArgumentException - if expression is malformed
+     */
+    public void evaluate(CharSequence expression, ResultHolder result) {
+        compiler.compile(expression, false);
+        execute(compiler.steps, compiler.operations, compiler.operands, compiler.stepCount, compiler.constants,
+                NO_OPERANDS, result);
+    }
+
+    /**
+     * Returns compiled plan of given template from plan cache.
+     * Template is compiled and cached, if it is not found.
+     *
+     * @param template - expression template, like "?+?*2=", where question marks are operand slots.
+     * @return plan of template.
+     * @throws IllegalArgumentException - if template is malformed
+     */
+    public ExpressionPlan compile(String template) {
+        ExpressionPlan plan = planCache.get(template);
+        if (plan == null) {
+            compiler.compile(template, true);
+            plan = compiler.toPlan(template);
+            planCache.put(template, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Evaluates compiled plan with given operands.
+     *
+     * @param plan     - compiled expression template.
+     * @param operands - operands for slots of template.
+     * @return result of expression.
+     * @throws NumberOverflowException  - occurs when resulting number overflows maximal scale.
+     * @throws DivideByZeroException    - if divide by zero was performed
+     * @throws IllegalArgumentException - if count of operands differs from count of slots
+     */
+    public BigDecimal evaluate(ExpressionPlan plan, BigDecimal... operands) throws NumberOverflowException, DivideByZeroException {
+        evaluate(plan, holder, operands);
+        if (holder.getStatus() == ResultStatus.DIVIDE_BY_ZERO) {
+            throw new DivideByZeroException("Can't divide by zero. Expression: " + plan);
+        }
+        if (holder.getStatus() == ResultStatus.OVERFLOW) {
+            throw new NumberOverflowException("Overflow. Expression: " + plan);
+        }
+        return holder.getValue();
+    }
+
+    /**
+     * Evaluates compiled plan with given operands without throwing calculation exceptions.
+     *
+     * @param plan     - compiled expression template.
+     * @param operands - operands for slots of template.
+     * @return result of expression or error status.
+     * @throws IllegalArgumentException - if count of operands differs from count of slots
+     */
+    public CalculationResult tryEvaluate(ExpressionPlan plan, BigDecimal... operands) {
+        evaluate(plan, holder, operands);
+        return holder.toResult();
+    }
+
+    /**
+     * Evaluates compiled plan with given operands and puts its result to given holder.
+     * Evaluation stops at first error.
+     *
+     * @param plan     - compiled expression template.
+     * @param result   - holder for result of expression or error status.
+     * @param operands - operands for slots of template.
+     * @throws IllegalArgumentException - if count of operands differs from count of slots or operand is null
+     */
+    public void evaluate(ExpressionPlan plan, ResultHolder result, BigDecimal... operands) {
+        if (operands.length != plan.getSlotCount()) {
+            throw new IllegalArgumentException("Expected: " + plan.getSlotCount() + " operands for \"" + plan
+                    + "\", actual: " + operands.length);
+        }
+        for (BigDecimal operand : operands) {
+            if (operand == null) {
+                throw new IllegalArgumentException("Expected: operand, actual: null");
+            }
+        }
+        execute(plan.steps, plan.operations, plan.operands, plan.steps.length, plan.constants, operands, result);
+    }
+
+    /**
+     * Performs compiled steps on calculator.
+     *
+     * @param steps      - kinds of steps.
+     * @param operations - operations of steps.
+     * @param codes      - operand codes of steps.
+     * @param count      - count of steps.
+     * @param constants  - constant operands.
+     * @param slots      - operands for slots.
+     * @param result     - holder for result or error status, overflow if operand's scale is out of range.
+     */
+    private void execute(ExpressionPlan.Step[] steps, Operation[] operations, int[] codes, int count,
+                         BigDecimal[] constants, BigDecimal[] slots, ResultHolder result) {
+        calculator.clear();
+        BigDecimal value = null;
+        for (int i = 0; i < count; i++) {
+            int code = codes[i];
+            BigDecimal operand;
+            if (code == ExpressionPlan.LAST_RESULT) {
+                operand = value;
+            } else {
+                operand = code >= 0 ? constants[code] : slots[-1 - code];
+                //operands like 1E+1000000 overflow at once, no operation or output is built for them
+                if (Arithmetic.isOverflow(operand)) {
+                    result.set(null, ResultStatus.OVERFLOW);
+                    return;
+                }
+            }
+
+            switch (steps[i]) {
+                case SET_OPERATION:
+                    calculator.setOperation(operand, operations[i]);
+                    continue;
+                case RESULT:
+                    calculator.tryGetResult(operand, result);
+                    break;
+                case RESULT_ON_GO:
+                    calculator.tryGetResultOnGo(operand, result);
+                    break;
+                case RESULT_AFTER_EQUAL:
+                    calculator.tryGetResultAfterEqual(operand, result);
+                    break;
+                default:
+                    result.set(operand, ResultStatus.OK);
+            }
+            if (result.isError()) {
+                return;
+            }
+            value = result.getValue();
+        }
+    }
+
+    /**
+     * Returns cache of compiled plans.
+     *
+     * @return plan cache with its statistics.
+     */
+    public LruCache<String, ExpressionPlan> getPlanCache() {
+        return planCache;
+    }
+
+    /**
+     * Returns precision policy of evaluator.
+     *
+     * @return precision policy for divide operations.
+     */
+    public PrecisionPolicy getPrecisionPolicy() {
+        return calculator.getPrecisionPolicy();
+    }
+}
@@ -0,0 +1,106 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Immutable compiled expression template, like "?+?*2=", where question marks
+ * are operand slots. Plan is a flat list of calculator steps: every step has
+ * its kind, operation for setting of operation and operand, that is a constant,
+ * an operand slot or result of previous step.
+ * Plans have no calculator state, so one plan can be evaluated by any
+ * count of evaluators at once.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class ExpressionPlan {
+
+    /**
+     * Kinds of plan steps, every kind is one calculator method.
+     */
+    enum Step {
+        SET_OPERATION, RESULT, RESULT_ON_GO, RESULT_AFTER_EQUAL, VALUE
+    }
+
+    /**
+     * Operand code of result of previous step.
+     * Non-negative codes are constant indexes,
+     * other negative codes are (-1 - slot index).
+     */
+    static final int LAST_RESULT = Integer.MIN_VALUE;
+
+    /**
+     * Template, that plan is compiled from.
+     */
+    private final String template;
+
+    /**
+     * Kinds of steps.
+     */
+    final Step[] steps;
+
+    /**
+     * Operations of steps, that set operation, null for other steps.
+     */
+    final Operation[] operations;
+
+    /**
+     * Operand codes of steps.
+     */
+    final int[] operands;
+
+    /**
+     * Constant operands of template.
+     */
+    final BigDecimal[] constants;
+
+    /**
+     * Count of operand slots.
+     */
+    private final int slotCount;
+
+    /**
+     * Creates plan from first steps and constants of given arrays.
+     *
+     * @param template      - template, that plan is compiled from.
+     * @param steps         - kinds of steps.
+     * @param operations    - operations of steps.
+     * @param operands      - operand codes of steps.
+     * @param stepCount     - count of steps.
+     * @param constants     - constant operands.
+     * @param constantCount - count of constants.
+     * @param slotCount     - count of operand slots.
+     */
+    ExpressionPlan(String template, Step[] steps, Operation[] operations, int[] operands, int stepCount,
+                   BigDecimal[] constants, int constantCount, int slotCount) {
+        this.template = template;
+        this.steps = Arrays.copyOf(steps, stepCount);
+        this.operations = Arrays.copyOf(operations, stepCount);
+        this.operands = Arrays.copyOf(operands, stepCount);
+        this.constants = Arrays.copyOf(constants, constantCount);
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Returns template, that plan is compiled from.
+     *
+     * @return expression template.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns count of operands, that should be given for evaluation.
+     *
+     * @return count of operand slots.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,190 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Splits expression string, like "3+5*-2.5=", to numbers, operations
+ * and equal signs. Question marks are operand slots of expression templates.
+ * Reads characters directly from given sequence and
+ * can be reused for any count of expressions, so no objects are created
+ * per character. Numbers are read by DecimalParser directly from the sequence,
+ * numbers of up to 18 digits are built from long without intermediate strings.
+ * Minus sign is a sign of number, when number is expected, and
+ * operation otherwise. Whitespaces between tokens are skipped.
+ *
+ * @author Zavizionov Andrii
+ */
+final class ExpressionTokenizer {
+
+    /**
+     * Kinds of expression tokens.
+     */
+    enum Token {
+        NUMBER, SLOT, OPERATION, EQUAL, END
+    }
+
+    /**
+     * Parser of numbers.
+     */
+    private final DecimalParser parser = new DecimalParser();
+
+    /**
+     * Expression, that is tokenized.
+     */
+    private CharSequence expression;
+
+    /**
+     * Index of next character to read.
+     */
+    private int position;
+
+    /**
+     * Index of first character of last token.
+     */
+    private int tokenStart;
+
+    /**
+     * Value of last number token.
+     */
+    private BigDecimal number;
+
+    /**
+     * Operation of last operation token.
+     */
+    private Operation operation;
+
+    /**
+     * Starts tokenizing of given expression.
+     *
+     * @param expression - expression to tokenize.
+     * @throws IllegalArgumentException - if expression is null
+     */
+    void reset(CharSequence expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Expected: expression, actual: null");
+        }
+        this.expression = expression;
+        position = 0;
+        tokenStart = 0;
+        number = null;
+        operation = null;
+    }
+
+    /**
+     * Reads next token.
+     *
+     * @param numberExpected - if true, minus is read as sign of number.
+     * @return kind of read token.
+     * @throws IllegalArgumentException - if unexpected character or malformed number is met
+     */
+    Token next(boolean numberExpected) {
+        skipWhitespaces();
+        tokenStart = position;
+        if (position == expression.length()) {
+            return Token.END;
+        }
+        char symbol = expression.charAt(position);
+        if (numberExpected && symbol == '-' || isDigit(symbol) || symbol == '.') {
+            number = readNumber();
+            return Token.NUMBER;
+        }
+        if (symbol == '=') {
+            position++;
+            return Token.EQUAL;
+        }
+        if (symbol == '?') {
+            position++;
+            return Token.SLOT;
+        }
+        operation = getOperation(symbol);
+        if (operation == null) {
+            throw unexpected("character '" + symbol + "'");
+        }
+        position++;
+        return Token.OPERATION;
+    }
+
+    /**
+     * Returns value of last number token.
+     *
+     * @return number.
+     */
+    BigDecimal getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns operation of last operation token.
+     *
+     * @return two-operand operation.
+     */
+    Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Creates exception for unexpected part of expression at start of last token.
+     *
+     * @param actual - description of unexpected part.
+     * @return exception to throw.
+     */
+    IllegalArgumentException unexpected(String actual) {
+        return new IllegalArgumentException("Malformed expression \"" + expression + "\" at position "
+                + tokenStart + ", actual: " + actual);
+    }
+
+    /**
+     * Reads number in format [-]digits[.digits][(e|E)[+|-]digits]
+     * Integer or fractional part can be omitted, but not both.
+     *
+     * @return read number.
+     */
+    private BigDecimal readNumber() {
+        try {
+            position = parser.parsePrefix(expression, position, expression.length());
+        } catch (NumberFormatException e) {
+            throw unexpected("malformed number");
+        }
+        return parser.toBigDecimal();
+    }
+
+    /**
+     * Skips whitespaces from current position.
+     */
+    private void skipWhitespaces() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    /**
+     * Returns two-operand operation for its sign.
+     *
+     * @param symbol - sign of operation.
+     * @return operation, null if symbol is not sign of two-operand operation.
+     */
+    private static Operation getOperation(char symbol) {
+        switch (symbol) {
+            case '+':
+                return Operation.PLUS;
+            case '-':
+                return Operation.MINUS;
+            case '*':
+                return Operation.MULTIPLY;
+            case '/':
+                return Operation.DIVIDE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Check if given character is decimal digit.
+     *
+     * @param symbol - character.
+     * @return true if character is from 0 to 9.
+     */
+    private static boolean isDigit(char symbol) {
+        return symbol >= '0' && symbol <= '9';
+    }
+}
@@ -0,0 +1,106 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Emits flight recorder events of calculator. Events are implemented by FlightRecorderEvents
+ * in separate jfr source folder, it's loaded by name only if it's on class path and runtime
+ * has flight recorder, so calculator classes don't depend on jdk.jfr and compile for Java 8.
+ * Events are created only if their types are enabled by running recording, so operations
+ * create no events when recording is off.
+ * <p>
+ * Usage: java -XX:StartFlightRecording=filename=calculator.jfr ..., then
+ * jfr print --events com.implemica.calculator.Operation calculator.jfr
+ *
+ * @author Zavizionov Andrii
+ */
+final class FlightEvents {
+
+    /**
+     * Name of class, that records events with flight recorder.
+     */
+    private static final String RECORDER_CLASS = "com.implemica.zavizionov.calculator.FlightRecorderEvents";
+
+    /**
+     * Recorder of events, null if it's absent or runtime has no flight recorder.
+     */
+    private static final EventRecorder RECORDER = loadRecorder();
+
+    /**
+     * Class has only static methods.
+     */
+    private FlightEvents() {
+
+    }
+
+    /**
+     * Checks if events can be recorded.
+     *
+     * @return true if recorder is loaded.
+     */
+    static boolean isAvailable() {
+        return RECORDER != null;
+    }
+
+    /**
+     * Starts event of operation.
+     *
+     * @return started event, null if operation events are not recorded.
+     */
+    static Object beginOperation() {
+        return RECORDER == null ? null : RECORDER.beginOperation();
+    }
+
+    /**
+     * Ends event of operation and commits it, if it's recorded.
+     *
+     * @param event     - started event, null if it's not recorded.
+     * @param operation - performed operation.
+     * @param left      - left operand, or the only operand of unary operation.
+     * @param right     - right operand, null for unary operation.
+     * @param result    - result, null if operation failed.
+     * @param status    - status of result.
+     */
+    static void commitOperation(Object event, Operation operation, BigDecimal left, BigDecimal right,
+                                BigDecimal result, ResultStatus status) {
+        if (event != null) {
+            RECORDER.commitOperation(event, operation, left, right, result, status);
+        }
+    }
+
+    /**
+     * Starts event of formatting number for first screen.
+     *
+     * @return started event, null if format events are not recorded.
+     */
+    static Object beginFormat() {
+        return RECORDER == null ? null : RECORDER.beginFormat();
+    }
+
+    /**
+     * Ends event of formatting and commits it, if it's recorded.
+     *
+     * @param event      - started event, null if it's not recorded.
+     * @param value      - formatted number.
+     * @param textLength - length of text of number.
+     */
+    static void commitFormat(Object event, BigDecimal value, int textLength) {
+        if (event != null) {
+            RECORDER.commitFormat(event, value, textLength);
+        }
+    }
+
+    /**
+     * Loads recorder of events.
+     *
+     * @return recorder, null if its class is absent or runtime has no flight recorder.
+     */
+    private static EventRecorder loadRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (EventRecorder) Class.forName(RECORDER_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
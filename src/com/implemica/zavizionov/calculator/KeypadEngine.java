@@ -0,0 +1,987 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Headless state machine of calculator keypad. Consumes pressed keys
+ * and keeps text of first screen, second screen (history of operations)
+ * and memory indicator, exactly like calculator window shows them.
+ * Doesn't need JavaFX, so recorded key sequences can be replayed without GUI.
+ * Screens are kept in reusable buffers, so entering of digits creates no objects.
+ * Engine is used by one thread.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class KeypadEngine {
+
+    /**
+     * Keys of calculator keypad.
+     */
+    public enum Key {
+        ZERO(0), ONE(1), TWO(2), THREE(3), FOUR(4), FIVE(5), SIX(6), SEVEN(7), EIGHT(8), NINE(9),
+        DOT, EQUAL, BACKSPACE, CLEAR_ENTRY, CLEAR,
+        PLUS(Operation.PLUS), MINUS(Operation.MINUS), DIVIDE(Operation.DIVIDE), MULTIPLY(Operation.MULTIPLY),
+        INVERT(Operation.INVERT), SQRT(Operation.SQRT), PERCENT(Operation.PERCENT), REVERSE(Operation.REVERSE),
+        MC(Operation.MC), MR(Operation.MR), MS(Operation.MS), MPLUS(Operation.MPLUS), MMINUS(Operation.MMINUS);
+
+        /**
+         * Digit of key, -1 if key is not a digit.
+         */
+        private final int digit;
+
+        /**
+         * Operation of key, NOOP if key is not an operation.
+         */
+        private final Operation operation;
+
+        /**
+         * Creates digit key.
+         *
+         * @param digit - digit of key.
+         */
+        Key(int digit) {
+            this.digit = digit;
+            this.operation = Operation.NOOP;
+        }
+
+        /**
+         * Creates operation key.
+         *
+         * @param operation - operation of key.
+         */
+        Key(Operation operation) {
+            this.digit = -1;
+            this.operation = operation;
+        }
+
+        /**
+         * Creates key, that is neither digit nor operation.
+         */
+        Key() {
+            this(Operation.NOOP);
+        }
+
+        /**
+         * Returns digit of key.
+         *
+         * @return digit, -1 if key is not a digit.
+         */
+        public int getDigit() {
+            return digit;
+        }
+
+        /**
+         * Returns operation of key.
+         *
+         * @return operation, NOOP if key is not an operation.
+         */
+        public Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Returns key of given digit.
+         *
+         * @param digit - digit from 0 to 9.
+         * @return digit key.
+         * @throws IllegalArgumentException - if digit is out of range
+         */
+        public static Key ofDigit(int digit) {
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Expected: digit from 0 to 9, actual: " + digit);
+            }
+            return values()[digit];
+        }
+    }
+
+    /**
+     * Font sizes of first screen, depend on length of its text.
+     */
+    public enum FontSize {
+        BIG(22), MEDIUM(18), SMALL(12);
+
+        /**
+         * Size of font in points.
+         */
+        private final int size;
+
+        /**
+         * Creates font size.
+         *
+         * @param size - size of font in points.
+         */
+        FontSize(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Returns size of font.
+         *
+         * @return size in points.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns font size for text of given length.
+         *
+         * @param length - length of first screen text.
+         * @return font size, that lets text fit the screen.
+         */
+        static FontSize ofLength(int length) {
+            if (length <= BIG_FONT_SYMBOLS_COUNT) {
+                return BIG;
+            } else if (length < MEDIUM_FONT_SYMBOLS_COUNT) {
+                return MEDIUM;
+            } else {
+                return SMALL;
+            }
+        }
+    }
+
+    /**
+     * Default first screen text,
+     * displays on start and after clear operation is performed.
+     */
+    static final String DEFAULT_FIRST_SCREEN_TEXT = "0";
+
+    /**
+     * Symbol that is used when second screen text can't
+     * fit the screen size and is trimmed.
+     */
+    static final String SCREEN_OVERFLOW_SYMBOL = "‹‹";
+
+    /**
+     * Message to be shown when resulting number overflows
+     * max number scale.
+     */
+    static final String OVERFLOW_MESSAGE = "Переполнение";
+
+    /**
+     * Message to be shown when divide by zero operation is performed.
+     */
+    static final String DIVIDE_BY_ZERO_MESSAGE = "Деление на ноль невозможно";
+
+    /**
+     * Message to be shown after invalid input.
+     */
+    static final String INVALID_INPUT_MESSAGE = "Недопустимый ввод";
+
+    /**
+     * Count of digits, that first screen can fit.
+     */
+    private static final int FIRST_DISPLAY_SIZE = DisplayFormatter.DISPLAY_SIZE;
+
+    /**
+     * Count of symbols, that second screen can fit.
+     */
+    private static final int SECOND_DISPLAY_SIZE = 30;
+
+    /**
+     * Count of symbols of big size that first screen can fit.
+     */
+    private static final int BIG_FONT_SYMBOLS_COUNT = 12;
+
+    /**
+     * Count of symbols of medium size that first screen can fit.
+     */
+    private static final int MEDIUM_FONT_SYMBOLS_COUNT = 17;
+
+    /**
+     * Formatter of numbers for first screen.
+     */
+    private static final DisplayFormatter FORMATTER = DisplayFormatter.getInstance();
+
+    /**
+     * Decimal dot symbol.
+     */
+    private static final char DOT_SYMBOL = '.';
+
+    /**
+     * Zero with decimal dot.
+     */
+    private static final String ZERO_WITH_DOT = "0.";
+
+    /**
+     * Square root function name.
+     */
+    private static final String SQRT_TEXT = "sqrt";
+
+    /**
+     * Reverse function name.
+     */
+    private static final String REVERSE_TEXT = "reciproc";
+
+    /**
+     * Precision of square roots on screen: one digit more than screen shows.
+     * Root keeps its scale not bigger than display max scale, so roots, that differ
+     * from integer less than screen can show, like sqrt(9999999999999999), are shown as integers.
+     */
+    private static final MathContext SQRT_CONTEXT = new MathContext(DisplayFormatter.DISPLAY_SIZE + 1,
+            RoundingMode.HALF_UP);
+
+    /**
+     * Exponent sign
+     */
+    private static final String EXPONENT_SIGN = "e";
+
+    /**
+     * Space symbol between elements of second screen.
+     */
+    private static final char SPACE_SYMBOL = ' ';
+
+    /**
+     * Instance of calculator controller.
+     */
+    private final CalculatorController controller;
+
+    /**
+     * Text of first screen.
+     */
+    private final StringBuilder display = new StringBuilder(MEDIUM_FONT_SYMBOLS_COUNT * 2);
+
+    /**
+     * Text of second screen.
+     */
+    private final StringBuilder history = new StringBuilder(SECOND_DISPLAY_SIZE + SCREEN_OVERFLOW_SYMBOL.length() * 2);
+
+    /**
+     * Parser of first screen text, doesn't create strings.
+     */
+    private final DecimalParser parser = new DecimalParser();
+
+    /**
+     * Is true when memory indicator is shown.
+     */
+    private boolean memoryIndicated = false;
+
+    /**
+     * BigDecimal that stores value, which representation is
+     * currently shown on the screen.
+     */
+    private BigDecimal currentScreenValue = BigDecimal.ZERO;
+
+    /**
+     * Tells if the number currently shown on the first screen
+     * must be replaced with any performed input instead of appending.
+     */
+    private boolean isWeakNumber = false;
+
+    /**
+     * Tells if the number currently shown on the first screen
+     * is a result of some operation. In this case calculator
+     * behaviour should be slightly different.
+     */
+    private boolean isResult = false;
+
+    /**
+     * Tells if some uncompleted sequence of operations
+     * is happening.
+     */
+    private boolean isSequence = false;
+
+    /**
+     * Tells if the current result of calculators work
+     * is a result of square root operation or reverse operation.
+     * In this case calculator behaviour should be slightly different.
+     */
+    private boolean isSqrtOrReverseResult = false;
+
+    /**
+     * Tells if the current result of calculators work
+     * is a result of percent operation. In this case calculator
+     * behaviour should be slightly different.
+     */
+    private boolean isPercentResult = false;
+
+    /**
+     * Shows if calculators screens are currently locked.
+     * Screens can be locked after some error.
+     * It can be unlocked only after clear operation is performed.
+     */
+    private boolean isLocked = false;
+
+    /**
+     * Cache of texts of numbers, null if numbers are formatted every time.
+     */
+    private final DisplayCache displayCache;
+
+    /**
+     * Constructor. Class instances can't be created directly.
+     *
+     * @param controller   - controller of calculator.
+     * @param displayCache - cache of texts of numbers, can be null.
+     */
+    private KeypadEngine(CalculatorController controller, DisplayCache displayCache) {
+        this.controller = controller;
+        this.displayCache = displayCache;
+        display.append(DEFAULT_FIRST_SCREEN_TEXT);
+    }
+
+    /**
+     * Creates an instance of KeypadEngine with new calculator.
+     *
+     * @return instance of KeypadEngine
+     */
+    public static KeypadEngine getInstance() {
+        return new KeypadEngine(CalculatorController.getInstance(), null);
+    }
+
+    /**
+     * Creates an instance of KeypadEngine with given controller.
+     *
+     * @param controller - controller of calculator.
+     * @return instance of KeypadEngine
+     * @throws IllegalArgumentException - if controller is null
+     */
+    public static KeypadEngine getInstance(CalculatorController controller) {
+        return getInstance(controller, null);
+    }
+
+    /**
+     * Creates an instance of KeypadEngine with given controller, that takes
+     * texts of numbers from given cache. Cache can be shared by many engines.
+     *
+     * @param controller   - controller of calculator.
+     * @param displayCache - cache of texts of numbers, null if numbers are formatted every time.
+     * @return instance of KeypadEngine
+     * @throws IllegalArgumentException - if controller is null
+     */
+    public static KeypadEngine getInstance(CalculatorController controller, DisplayCache displayCache) {
+        if (controller == null) {
+            throw new IllegalArgumentException("Expected: controller, actual: null");
+        }
+        return new KeypadEngine(controller, displayCache);
+    }
+
+    /**
+     * Returns controller of calculator.
+     *
+     * @return controller.
+     */
+    public CalculatorController getController() {
+        return controller;
+    }
+
+    /**
+     * Returns text of first screen. Is a view, that is changed by next pressed key.
+     *
+     * @return first screen text.
+     */
+    public CharSequence getDisplay() {
+        return display;
+    }
+
+    /**
+     * Returns text of first screen.
+     *
+     * @return copy of first screen text.
+     */
+    public String getDisplayText() {
+        return display.toString();
+    }
+
+    /**
+     * Returns text of second screen. Is a view, that is changed by next pressed key.
+     *
+     * @return second screen text.
+     */
+    public CharSequence getHistory() {
+        return history;
+    }
+
+    /**
+     * Returns text of second screen.
+     *
+     * @return copy of second screen text.
+     */
+    public String getHistoryText() {
+        return history.toString();
+    }
+
+    /**
+     * Tells if memory indicator is shown.
+     *
+     * @return true after memory store, plus or minus, until memory clear.
+     */
+    public boolean isMemoryIndicated() {
+        return memoryIndicated;
+    }
+
+    /**
+     * Returns font size, that fits text of first screen.
+     *
+     * @return font size of first screen.
+     */
+    public FontSize getFontSize() {
+        return FontSize.ofLength(display.length());
+    }
+
+    /**
+     * Tells if screens are locked after error.
+     *
+     * @return true until clear.
+     */
+    public boolean isLocked() {
+        return isLocked;
+    }
+
+    /**
+     * Performs pressed key.
+     *
+     * @param key - pressed key.
+     */
+    public void press(Key key) {
+        switch (key) {
+            case DOT:
+                pressDotButton();
+                break;
+            case EQUAL:
+                pressEqualButton();
+                break;
+            case BACKSPACE:
+                pressBackSpaceButton();
+                break;
+            case CLEAR_ENTRY:
+                pressClearEntryButton();
+                break;
+            case CLEAR:
+                pressClearButton();
+                break;
+            default:
+                if (key.getDigit() >= 0) {
+                    pressDigitButton(key.getDigit());
+                } else {
+                    pressOperationButton(key.getOperation());
+                }
+        }
+    }
+
+    /**
+     * Returns a current screen value.
+     *
+     * @return number, currently shown on the screen
+     */
+    private BigDecimal getCurrentScreenValue() {
+        if (currentScreenValue.equals(BigDecimal.ZERO)) {
+            parser.parse(display);
+            return parser.toBigDecimal();
+        } else {
+            return currentScreenValue;
+        }
+    }
+
+    /**
+     * Sets first screen text.
+     *
+     * @param text - text to set.
+     */
+    private void setFirstScreenText(CharSequence text) {
+        if (isLocked) {
+            return;
+        }
+        display.setLength(0);
+        display.append(text);
+    }
+
+    /**
+     * Sets given number as first screen text. Number is shown as is if it fits
+     * first screen, it is rounded and formatted otherwise.
+     *
+     * @param value - give number.
+     */
+    private void setFirstScreenText(BigDecimal value) {
+        value = value.stripTrailingZeros();
+        currentScreenValue = value;
+        if (isLocked) {
+            return;
+        }
+        display.setLength(0);
+        if (displayCache == null) {
+            FORMATTER.appendStripped(value, display);
+        } else {
+            display.append(displayCache.get(value).getText());
+        }
+    }
+
+    /**
+     * Appends given symbol to first screen text.
+     *
+     * @param symbol - symbol to append.
+     */
+    private void appendFirstScreenText(char symbol) {
+        if (isLocked) {
+            return;
+        }
+        display.append(symbol);
+    }
+
+    /**
+     * Tells if first screen shows default text.
+     *
+     * @return true if first screen shows 0.
+     */
+    private boolean isDefaultFirstScreenText() {
+        return display.length() == 1 && display.charAt(0) == '0';
+    }
+
+    /**
+     * Sets second screen text
+     *
+     * @param text - text to set.
+     */
+    private void setSecondScreenText(CharSequence text) {
+        history.setLength(0);
+        appendSecondScreenText(text);
+    }
+
+    /**
+     * Appends text to second screen text. Trims beginning of text,
+     * if it can't fit the screen.
+     *
+     * @param text - text to append.
+     */
+    private void appendSecondScreenText(CharSequence text) {
+        history.append(text);
+        trimSecondScreenText();
+    }
+
+    /**
+     * Trims beginning of second screen text, if it can't fit the screen.
+     */
+    private void trimSecondScreenText() {
+        if (history.length() > SECOND_DISPLAY_SIZE) {
+            history.delete(0, history.length() - SECOND_DISPLAY_SIZE);
+            history.insert(0, SCREEN_OVERFLOW_SYMBOL);
+        }
+    }
+
+    /**
+     * Replaces last element on the second string with
+     * given element string.
+     *
+     * @param newString - string of element to place.
+     */
+    private void replaceLast(String newString) {
+        int lastSpace = history.lastIndexOf(" ");
+        history.setLength(lastSpace == -1 ? 0 : lastSpace);
+        appendSecondScreenText(newString);
+    }
+
+    /**
+     * Replaces last sign on the second string
+     * with given sign string.
+     *
+     * @param sign - sign to set.
+     */
+    private void replaceLastSign(String sign) {
+        int lastSpace = history.lastIndexOf(" ");
+        history.setLength(lastSpace == -1 ? 0 : lastSpace);
+        history.append(SPACE_SYMBOL).append(sign);
+        trimSecondScreenText();
+    }
+
+    /**
+     * Surrounds given text with given function: function(text).
+     *
+     * @param function - function name.
+     * @param text     - text.
+     * @return text, surrounded with function.
+     */
+    private static String surroundWithFunction(String function, CharSequence text) {
+        return function + "(" + text + ")";
+    }
+
+    /**
+     * Surrounds last element of second screen with function.
+     * Example: 3 + function(5)
+     *
+     * @param function - function name.
+     */
+    private void surroundLastWithFunction(String function) {
+        if (history.indexOf(" ") >= 0) {
+            replaceLast(SPACE_SYMBOL + surroundWithFunction(function, getLast()));
+        } else {
+            replaceLast(surroundWithFunction(function, getLast()));
+        }
+
+    }
+
+    /**
+     * Returns last element text from second screen.
+     *
+     * @return last second screen element.
+     */
+    private String getLast() {
+        int start = history.lastIndexOf(" ");
+        return history.substring(start + 1, history.length());
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing digit buttons.
+     *
+     * @param digit - digit of pressed button.
+     */
+    public void pressDigitButton(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Expected: digit from 0 to 9, actual: " + digit);
+        }
+        if (display.length() == FIRST_DISPLAY_SIZE && !isWeakNumber) {
+            return;
+        }
+
+        char symbol = (char) ('0' + digit);
+        if (isDefaultFirstScreenText() || isWeakNumber) {
+            if (isSqrtOrReverseResult || isPercentResult) {
+                replaceLast("");
+            }
+            currentScreenValue = BigDecimal.ZERO;
+            if (!isLocked) {
+                display.setLength(0);
+                display.append(symbol);
+            }
+            isWeakNumber = false;
+        } else {
+            appendFirstScreenText(symbol);
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing equal button.
+     */
+    public void pressEqualButton() {
+        if (isLocked) {
+            return;
+        }
+        //for single sqrt result
+        if (isSqrtOrReverseResult && !isSequence) {
+            controller.clear();
+            history.setLength(0);
+            isSqrtOrReverseResult = false;
+            return;
+        }
+
+        if (controller.getOperation().equals(Operation.NOOP)) {
+            return;
+        }
+
+        try {
+
+            if (isResult) {
+                setFirstScreenText(controller.getResultAfterEqual(getCurrentScreenValue()));
+            } else {
+                setFirstScreenText(controller.getResult(getCurrentScreenValue()));
+                history.setLength(0);
+            }
+
+            isResult = true;
+            isSequence = false;
+            isWeakNumber = true;
+
+        } catch (DivideByZeroException e) {
+            setFirstScreenText(DIVIDE_BY_ZERO_MESSAGE);
+            isLocked = true;
+        } catch (NumberOverflowException e) {
+            setFirstScreenText(OVERFLOW_MESSAGE);
+            isLocked = true;
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing dot (decimal) button.
+     */
+    public void pressDotButton() {
+
+        if (display.indexOf(".") < 0) {
+            appendFirstScreenText(DOT_SYMBOL);
+        }
+
+        if (isWeakNumber || isResult) {
+            isWeakNumber = false;
+            isResult = false;
+            setFirstScreenText(ZERO_WITH_DOT);
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing operation button.
+     *
+     * @param operation - operation of pressed button.
+     */
+    public void pressOperationButton(Operation operation) {
+        if (isLocked) {
+            return;
+        }
+        try {
+            switch (operation) {
+                case PLUS:
+                case MINUS:
+                case DIVIDE:
+                case MULTIPLY:
+                    pressTwoOperandOperationButton(operation);
+                    break;
+                case INVERT:
+                    pressInvertButton();
+                    break;
+                case SQRT:
+                    pressSqrtButton();
+                    break;
+                case PERCENT:
+                    pressPercentButton();
+                    break;
+                case REVERSE:
+                    pressReverseButton();
+                    break;
+                case MC:
+                    pressMemoryClearButton();
+                    break;
+                case MR:
+                    pressMemoryRecallButton();
+                    break;
+                case MS:
+                    pressMemoryStoreButton();
+                    break;
+                case MPLUS:
+                    pressMemoryPlusButton();
+                    break;
+                case MMINUS:
+                    pressMemoryMinusButton();
+                    break;
+            }
+        } catch (DivideByZeroException e) {
+            setFirstScreenText(DIVIDE_BY_ZERO_MESSAGE);
+        } catch (NumberOverflowException e) {
+            setFirstScreenText(OVERFLOW_MESSAGE);
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing invert button.
+     */
+    private void pressInvertButton() {
+        setFirstScreenText(controller.getInverted(getCurrentScreenValue()));
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing memory minus button.
+     */
+    private void pressMemoryMinusButton() {
+        if (!isDefaultFirstScreenText()) {
+            memoryIndicated = true;
+            controller.memorySubtract(getCurrentScreenValue());
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing memory plus button.
+     */
+    private void pressMemoryPlusButton() {
+        if (!isDefaultFirstScreenText()) {
+            memoryIndicated = true;
+            controller.memoryAdd(getCurrentScreenValue());
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing memory store button.
+     */
+    private void pressMemoryStoreButton() {
+        if (!isDefaultFirstScreenText()) {
+            memoryIndicated = true;
+            controller.memoryStore(getCurrentScreenValue());
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing memory recall button.
+     */
+    private void pressMemoryRecallButton() {
+        setFirstScreenText(controller.memoryRecall());
+        isWeakNumber = true;
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing square root operation button.
+     */
+    private void pressSqrtButton() {
+        pressFunctionButton(SQRT_TEXT);
+        try {
+            setFirstScreenText(controller.getSqrt(getCurrentScreenValue()).round(SQRT_CONTEXT));
+        } catch (IllegalArgumentException e) {
+            setFirstScreenText(INVALID_INPUT_MESSAGE);
+        }
+
+
+        isSqrtOrReverseResult = true;
+        isWeakNumber = true;
+    }
+
+    /**
+     * Shows function of first screen value on second screen.
+     *
+     * @param function - function name.
+     */
+    private void pressFunctionButton(String function) {
+        if (history.length() == 0) {
+            setSecondScreenText(surroundWithFunction(function, display));
+        } else {
+
+            if (isSqrtOrReverseResult) {
+                surroundLastWithFunction(function);
+            } else {
+                appendSecondScreenText(SPACE_SYMBOL + surroundWithFunction(function, display));
+            }
+
+        }
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing operation button, which operation uses two operands.
+     *
+     * @param operation - operation of pressed button.
+     */
+    private void pressTwoOperandOperationButton(Operation operation) throws NumberOverflowException, DivideByZeroException {
+        if (isSequence) {
+            if (isWeakNumber) {
+                replaceLastSign(operation.getSign());
+                controller.setOperation(getCurrentScreenValue(), operation);
+            } else {
+                history.append(SPACE_SYMBOL).append(display).append(SPACE_SYMBOL).append(operation.getSign());
+                trimSecondScreenText();
+                setFirstScreenText(controller.getResultOnGo(getCurrentScreenValue()));
+                controller.setOperation(getCurrentScreenValue(), operation);
+            }
+        } else {
+            controller.setOperation(getCurrentScreenValue(), operation);
+
+            if (isSqrtOrReverseResult) {
+                history.append(SPACE_SYMBOL).append(operation.getSign());
+            } else {
+                history.setLength(0);
+                history.append(display).append(SPACE_SYMBOL).append(operation.getSign());
+            }
+            trimSecondScreenText();
+
+        }
+        isSequence = true;
+        isWeakNumber = true;
+        isResult = false;
+        isSqrtOrReverseResult = false;
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing percent operation button.
+     */
+    private void pressPercentButton() throws NumberOverflowException {
+        if (!isSequence) {
+            setFirstScreenText(DEFAULT_FIRST_SCREEN_TEXT);
+            setSecondScreenText("0");
+        } else {
+            setFirstScreenText(controller.getPercent(getCurrentScreenValue()));
+            if (isWeakNumber) {
+                //replaces last element without trimming, like text field does
+                int start = history.lastIndexOf(" ");
+                history.replace(start, history.length(), " ");
+                history.append(display);
+            } else {
+                history.append(SPACE_SYMBOL).append(display);
+                trimSecondScreenText();
+            }
+
+        }
+        isWeakNumber = true;
+        isPercentResult = true;
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing reverse operation button.
+     */
+    private void pressReverseButton() throws NumberOverflowException, DivideByZeroException {
+        pressFunctionButton(REVERSE_TEXT);
+        setFirstScreenText(controller.getReversed(getCurrentScreenValue()));
+
+        isWeakNumber = true;
+        isSqrtOrReverseResult = true;
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing clear entry button.
+     */
+    public void pressClearEntryButton() {
+        setFirstScreenText(DEFAULT_FIRST_SCREEN_TEXT);
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing clear button.
+     */
+    public void pressClearButton() {
+        isResult = false;
+        isWeakNumber = false;
+        isSqrtOrReverseResult = false;
+        isSequence = false;
+        isPercentResult = false;
+        isLocked = false;
+        currentScreenValue = BigDecimal.ZERO;
+
+        controller.clear();
+        setFirstScreenText(DEFAULT_FIRST_SCREEN_TEXT);
+        history.setLength(0);
+
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing memory clear button.
+     */
+    private void pressMemoryClearButton() {
+        memoryIndicated = false;
+        controller.memoryClear();
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pressing backspace button.
+     */
+    public void pressBackSpaceButton() {
+        if (display.length() < 2) {
+            setFirstScreenText(DEFAULT_FIRST_SCREEN_TEXT);
+        } else {
+            display.setLength(display.length() - 1);
+        }
+
+    }
+
+    /**
+     * Describes behavior of calculator after
+     * pasting text from clipboard. Exponent of pasted number is dropped.
+     *
+     * @param clip - text from clipboard.
+     * @throws NumberFormatException - if text is not a number
+     */
+    public void paste(String clip) {
+        int exponent = clip.lastIndexOf(EXPONENT_SIGN);
+        parser.parse(clip, 0, exponent < 0 ? clip.length() : exponent);
+        setFirstScreenText(parser.toBigDecimal());
+    }
+}
@@ -0,0 +1,162 @@
+package com.implemica.zavizionov.calculator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds with fixed memory.
+ * Values below 16 are counted exactly, bigger values are counted in buckets,
+ * 16 buckets for every power of two, so error of percentiles is below 7%.
+ * Thread-safe, recording is lock-free and creates no objects.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Bits of sub-bucket index inside power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Count of sub-buckets inside power of two.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Count of buckets, that fit any non-negative long.
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * Counts of values in buckets.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Returns index of bucket for value.
+     *
+     * @param value - non-negative value.
+     * @return index of bucket.
+     */
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns biggest value, that is counted in bucket.
+     *
+     * @param bucket - index of bucket.
+     * @return upper bound of bucket.
+     */
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long subBucket = bucket % SUB_BUCKET_COUNT;
+        long lowerBound = (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Records value.
+     *
+     * @param nanos - latency in nanoseconds, negative values are counted as zero.
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(getBucket(Math.max(0, nanos)));
+    }
+
+    /**
+     * Returns count of recorded values.
+     *
+     * @return count of values.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns value, that is not less than given percent of recorded values.
+     *
+     * @param percentile - percentile from 0 to 100, like 50 or 99.
+     * @return upper bound of bucket with percentile, 0 if histogram is empty.
+     * @throws IllegalArgumentException - if percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Expected: percentile from 0 to 100, actual: " + percentile);
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return getUpperBound(i);
+            }
+        }
+        return getUpperBound(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Returns biggest recorded value.
+     *
+     * @return upper bound of last non-empty bucket, 0 if histogram is empty.
+     */
+    public long getMax() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (counts.get(i) != 0) {
+                return getUpperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds values of other histogram to this one.
+     *
+     * @param other - other histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{count=" + getCount() + ", p50=" + getValueAtPercentile(50)
+                + ", p99=" + getValueAtPercentile(99) + ", max=" + getMax() + "}";
+    }
+}
@@ -0,0 +1,158 @@
+package com.implemica.zavizionov.calculator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe cache with bounded size, that evicts least recently used entries.
+ * Counts hits, misses and evictions, so its size can be tuned.
+ *
+ * @param <K> - type of keys.
+ * @param <V> - type of values.
+ * @author Zavizionov Andrii
+ */
+public final class LruCache<K, V> {
+
+    /**
+     * Max count of entries.
+     */
+    private final int capacity;
+
+    /**
+     * Entries in access order, eldest entry is removed, when capacity is exceeded.
+     */
+    private final Map<K, V> entries;
+
+    /**
+     * Count of found values.
+     */
+    private long hitCount;
+
+    /**
+     * Count of not found values.
+     */
+    private long missCount;
+
+    /**
+     * Count of evicted entries.
+     */
+    private long evictionCount;
+
+    /**
+     * Creates cache with given capacity.
+     *
+     * @param capacity - max count of entries.
+     * @throws IllegalArgumentException - if capacity is not positive
+     */
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Expected: positive capacity, actual: " + capacity);
+        }
+        this.capacity = capacity;
+        entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > LruCache.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns value for given key and marks it as recently used.
+     *
+     * @param key - key of value.
+     * @return value, null if there is no value for key.
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * Puts value for given key, least recently used entry is evicted,
+     * if capacity is exceeded.
+     *
+     * @param key   - key of value.
+     * @param value - value.
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Removes all entries, statistics is kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns max count of entries.
+     *
+     * @return capacity of cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns current count of entries.
+     *
+     * @return count of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns count of found values.
+     *
+     * @return count of hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns count of not found values.
+     *
+     * @return count of misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns count of evicted entries.
+     *
+     * @return count of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns part of requests, that found values.
+     *
+     * @return hit rate from 0 to 1, 0 if there were no requests.
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LruCache{size=" + entries.size() + ", capacity=" + capacity + ", hits=" + hitCount
+                + ", misses=" + missCount + ", evictions=" + evictionCount + "}";
+    }
+}
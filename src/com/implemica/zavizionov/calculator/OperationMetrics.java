@@ -0,0 +1,184 @@
+package com.implemica.zavizionov.calculator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts, latencies and errors of calculator operations, kept for every Operation.
+ * One metrics can be shared by many calculators of many threads: recording is lock-free
+ * and creates no objects, it costs one atomic increment of histogram bucket, one more
+ * for errors, and two reads of nano time by calculator.
+ * Snapshot is plain text, one metric per line, like
+ * calculator_operations_total{operation="DIVIDE"} 42
+ *
+ * @author Zavizionov Andrii
+ */
+public final class OperationMetrics {
+
+    /**
+     * All operations.
+     */
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * All statuses of results.
+     */
+    private static final ResultStatus[] STATUSES = ResultStatus.values();
+
+    /**
+     * Percentiles of latencies in snapshot.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Labels of percentiles in snapshot.
+     */
+    private static final String[] QUANTILE_LABELS = {"quantile=\"0.5\"", "quantile=\"0.9\"",
+            "quantile=\"0.99\"", "quantile=\"0.999\""};
+
+    /**
+     * Counts of results by operation and status, index is operation ordinal * status count + status ordinal.
+     */
+    private final AtomicLongArray statusCounts = new AtomicLongArray(OPERATIONS.length * STATUSES.length);
+
+    /**
+     * Latencies of operations by ordinal of operation, their counts are counts of operations.
+     */
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+
+    /**
+     * Creates empty metrics.
+     */
+    public OperationMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records performed operation.
+     *
+     * @param operation - performed operation.
+     * @param nanos     - latency of operation in nanoseconds.
+     * @param status    - status of result.
+     */
+    public void record(Operation operation, long nanos, ResultStatus status) {
+        int index = operation.ordinal();
+        if (status != ResultStatus.OK) {
+            statusCounts.incrementAndGet(index * STATUSES.length + status.ordinal());
+        }
+        latencies[index].record(nanos);
+    }
+
+    /**
+     * Returns count of operations.
+     *
+     * @param operation - operation.
+     * @return count of recorded operations, errors are included.
+     */
+    public long getCount(Operation operation) {
+        return latencies[operation.ordinal()].getCount();
+    }
+
+    /**
+     * Returns count of operations, that failed with given status.
+     *
+     * @param operation - operation.
+     * @param status    - error status.
+     * @return count of errors, 0 for OK status.
+     */
+    public long getErrorCount(Operation operation, ResultStatus status) {
+        return statusCounts.get(operation.ordinal() * STATUSES.length + status.ordinal());
+    }
+
+    /**
+     * Returns part of operations, that failed.
+     *
+     * @param operation - operation.
+     * @return error rate from 0 to 1, 0 if there were no operations.
+     */
+    public double getErrorRate(Operation operation) {
+        long count = getCount(operation);
+        if (count == 0) {
+            return 0;
+        }
+        long errors = 0;
+        for (ResultStatus status : STATUSES) {
+            errors += getErrorCount(operation, status);
+        }
+        return (double) errors / count;
+    }
+
+    /**
+     * Returns latencies of operation.
+     *
+     * @param operation - operation.
+     * @return histogram of latencies in nanoseconds.
+     */
+    public LatencyHistogram getLatencies(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Resets all metrics. Operations, that are recorded at the same time, can be partly counted.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : latencies) {
+            histogram.reset();
+        }
+        for (int i = 0; i < statusCounts.length(); i++) {
+            statusCounts.set(i, 0);
+        }
+    }
+
+    /**
+     * Returns plain text snapshot of metrics of performed operations: counts, errors
+     * by status and latency percentiles in nanoseconds, one metric per line.
+     *
+     * @return text of metrics.
+     */
+    public String snapshot() {
+        StringBuilder text = new StringBuilder();
+        for (Operation operation : OPERATIONS) {
+            long count = getCount(operation);
+            if (count == 0) {
+                continue;
+            }
+            appendMetric(text, "calculator_operations_total", operation, null, count);
+            for (ResultStatus status : STATUSES) {
+                if (status != ResultStatus.OK) {
+                    appendMetric(text, "calculator_errors_total", operation, "status=\"" + status + "\"",
+                            getErrorCount(operation, status));
+                }
+            }
+            LatencyHistogram histogram = getLatencies(operation);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                appendMetric(text, "calculator_latency_nanos", operation, QUANTILE_LABELS[i],
+                        histogram.getValueAtPercentile(PERCENTILES[i]));
+            }
+            appendMetric(text, "calculator_latency_nanos_max", operation, null, histogram.getMax());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends one metric line.
+     *
+     * @param text      - text of snapshot.
+     * @param name      - name of metric.
+     * @param operation - operation.
+     * @param label     - other label, null if there is no one.
+     * @param value     - value of metric.
+     */
+    private static void appendMetric(StringBuilder text, String name, Operation operation, String label, long value) {
+        text.append(name).append("{operation=\"").append(operation).append('"');
+        if (label != null) {
+            text.append(',').append(label);
+        }
+        text.append("} ").append(value).append('\n');
+    }
+
+    @Override
+    public String toString() {
+        return snapshot();
+    }
+}
@@ -0,0 +1,153 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Predicts scale of operation result from scales and precisions of operands,
+ * so operations, that will surely overflow max scale, are not performed at all.
+ * Example: multiplying of 1E-6000 by 1E-6000 needs scale 12000 and
+ * is rejected before BigInteger of unscaled product is built.
+ *
+ * @author Zavizionov Andrii
+ */
+final class OverflowEstimator {
+
+    /**
+     * Class has only static methods.
+     */
+    private OverflowEstimator() {
+
+    }
+
+    /**
+     * Check if result of operation will surely overflow given max scale.
+     *
+     * @param operation       - two-operand operation or percent.
+     * @param leftOperand     - left operand.
+     * @param rightOperand    - right operand, percent for percent operation.
+     * @param maxScale        - max absolute scale of result.
+     * @param precisionPolicy - precision policy for divide and percent operations.
+     * @return true if result scale will be bigger than max scale, false if it will
+     * fit or can't be predicted.
+     */
+    static boolean isOverflow(Operation operation, BigDecimal leftOperand, BigDecimal rightOperand, int maxScale,
+                              PrecisionPolicy precisionPolicy) {
+        switch (operation) {
+            case PLUS:
+            case MINUS:
+                return isSumOverflow(leftOperand, rightOperand, maxScale);
+            case MULTIPLY:
+                return isOverflow((long) leftOperand.scale() + rightOperand.scale(), maxScale);
+            case DIVIDE:
+                return isDivideOverflow(leftOperand, rightOperand, maxScale, precisionPolicy);
+            case PERCENT:
+                return isPercentOverflow(leftOperand, rightOperand, maxScale, precisionPolicy);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Check if sum or difference will surely overflow given max scale, or is too long to be built.
+     * Sum has scale of operand with bigger scale, so operand out of max scale overflows it.
+     * Operands with exponent gap, that is bigger than max scale, are rejected too, because
+     * unscaled sum gets a digit for every unit of gap. Example: 1E+20000000 + 1 needs
+     * 20000001 digits, so it's rejected before BigInteger of sum is built.
+     *
+     * @param leftOperand  - left operand.
+     * @param rightOperand - right operand.
+     * @param maxScale     - max absolute scale of result.
+     * @return true if some operand is out of max scale or gap of scales is bigger than max scale.
+     */
+    private static boolean isSumOverflow(BigDecimal leftOperand, BigDecimal rightOperand, int maxScale) {
+        return isOverflow(leftOperand.scale(), maxScale) || isOverflow(rightOperand.scale(), maxScale)
+                || isOverflow((long) leftOperand.scale() - rightOperand.scale(), maxScale);
+    }
+
+    /**
+     * Check if stripped quotient will surely overflow given max scale.
+     * Exact quotient has adjusted exponent e or e-1, where e is difference of operand exponents,
+     * rounding can make it 10^(e+1), so stripped quotient has scale not less than -(e+1).
+     * Example: 1E-9000 / 1E2000 is 1E-11000, 7E-9000 / 3E2000 is 2.33...E-11000.
+     * Policy with fixed scale, like fixedScale(10000), rounds such quotients to zero, so they fit.
+     *
+     * @param dividend        - number to be divided.
+     * @param divisor         - number to divide by.
+     * @param maxScale        - max absolute scale of result.
+     * @param precisionPolicy - precision policy for division.
+     * @return true if result scale will be bigger than max scale, false if it will
+     * fit or can't be predicted.
+     */
+    private static boolean isDivideOverflow(BigDecimal dividend, BigDecimal divisor, int maxScale,
+                                            PrecisionPolicy precisionPolicy) {
+        if (dividend.signum() == 0 || divisor.signum() == 0) {
+            return false;
+        }
+        long exponent = getExponent(dividend) - getExponent(divisor);
+        return isSmallOverflow(exponent - 1, exponent + 1, maxScale, precisionPolicy);
+    }
+
+    /**
+     * Check if stripped percent of number will surely overflow given max scale.
+     * Percent is divided by 100 with policy, quotient has adjusted exponent p-2 and
+     * is less than 10^(p-1), where p is exponent of percent. Product of number with exponent v
+     * and quotient is less than 10^(v+p), so it has scale not less than -(v+p-1).
+     * Example: 1E-6000 percent of 1E-6000 is 1E-12002.
+     *
+     * @param value           - number to calculate percent from.
+     * @param percent         - percent to be calculated.
+     * @param maxScale        - max absolute scale of result.
+     * @param precisionPolicy - precision policy for dividing percent by 100.
+     * @return true if result scale will be bigger than max scale, false if it will
+     * fit or can't be predicted.
+     */
+    private static boolean isPercentOverflow(BigDecimal value, BigDecimal percent, int maxScale,
+                                             PrecisionPolicy precisionPolicy) {
+        if (value.signum() == 0 || percent.signum() == 0) {
+            return false;
+        }
+        long percentExponent = getExponent(percent);
+        return isSmallOverflow(percentExponent - 2, getExponent(value) + percentExponent - 1, maxScale,
+                precisionPolicy);
+    }
+
+    /**
+     * Check if small non-zero result, that is built from rounded quotient,
+     * will surely overflow max scale. Quotient can be rounded to zero, if it's smaller
+     * than max quotient scale of policy, so overflow is not predicted then.
+     *
+     * @param quotientExponent - min adjusted exponent of exact quotient.
+     * @param resultExponent   - max adjusted exponent of result.
+     * @param maxScale         - max absolute scale of result.
+     * @param precisionPolicy  - precision policy for division.
+     * @return true if result scale will be bigger than max scale.
+     */
+    private static boolean isSmallOverflow(long quotientExponent, long resultExponent, int maxScale,
+                                           PrecisionPolicy precisionPolicy) {
+        if (quotientExponent < -precisionPolicy.getMaxQuotientScale()) {
+            return false;
+        }
+        return -resultExponent > maxScale;
+    }
+
+    /**
+     * Returns adjusted exponent of number, 2 for 123.45
+     *
+     * @param value - non-zero number.
+     * @return adjusted exponent.
+     */
+    private static long getExponent(BigDecimal value) {
+        return (long) value.precision() - value.scale() - 1;
+    }
+
+    /**
+     * Check if scale overflows max scale.
+     *
+     * @param scale    - scale of result.
+     * @param maxScale - max absolute scale.
+     * @return true if absolute scale is bigger than max scale.
+     */
+    private static boolean isOverflow(long scale, int maxScale) {
+        return Math.abs(scale) > maxScale;
+    }
+}
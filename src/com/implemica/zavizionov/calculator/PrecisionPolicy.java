@@ -0,0 +1,244 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Describes how precise results of operations, that can produce
+ * non-terminating decimal expansions (like 1/3), should be.
+ * Policy is used by divide, reverse, percent and square root operations of Calculator.
+ *
+ * @author Zavizionov Andrii
+ */
+public abstract class PrecisionPolicy {
+
+    /**
+     * Count of significant digits, kept by default policy for non-terminating results.
+     * Is much bigger, than display can fit, so rounding on the screen stays correct.
+     */
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 64;
+
+    /**
+     * Rounding mode, used by all policies.
+     */
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    /**
+     * BigInteger value of 5.
+     */
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+    /**
+     * Default policy: exact result, if it terminates, and
+     * DEFAULT_SIGNIFICANT_DIGITS significant digits otherwise.
+     */
+    public static final PrecisionPolicy DEFAULT = exactOrSignificant(DEFAULT_SIGNIFICANT_DIGITS);
+
+    /**
+     * Policy can be created only with factory methods.
+     */
+    private PrecisionPolicy() {
+
+    }
+
+    /**
+     * Divides one number by another according to policy.
+     *
+     * @param dividend - number to be divided.
+     * @param divisor  - non-zero number to divide by.
+     * @return result of division, possibly rounded.
+     */
+    public abstract BigDecimal divide(BigDecimal dividend, BigDecimal divisor);
+
+    /**
+     * Returns count of significant digits, that should be kept
+     * in non-terminating result of given magnitude, like square root.
+     *
+     * @param exponent - adjusted exponent of result, 2 for 123.45
+     * @return count of significant digits, at least one.
+     */
+    abstract int getSignificantDigits(int exponent);
+
+    /**
+     * Returns max scale of quotients. Quotients, that are smaller than half
+     * of one unit of this scale, are rounded to zero.
+     *
+     * @return max scale of quotients, Long.MAX_VALUE if quotients are never rounded to zero.
+     */
+    abstract long getMaxQuotientScale();
+
+    /**
+     * Creates policy, that rounds every quotient to given scale.
+     * Example: fixedScale(10000) keeps 10000 digits after decimal dot.
+     *
+     * @param scale - scale of quotients.
+     * @return fixed scale policy.
+     */
+    public static PrecisionPolicy fixedScale(final int scale) {
+        return new PrecisionPolicy() {
+            @Override
+            public BigDecimal divide(BigDecimal dividend, BigDecimal divisor) {
+                return dividend.divide(divisor, scale, ROUNDING_MODE);
+            }
+
+            @Override
+            int getSignificantDigits(int exponent) {
+                return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) scale + exponent + 1));
+            }
+
+            @Override
+            long getMaxQuotientScale() {
+                return scale;
+            }
+
+            @Override
+            public String toString() {
+                return "fixedScale(" + scale + ")";
+            }
+        };
+    }
+
+    /**
+     * Creates policy, that rounds every quotient with given math context.
+     *
+     * @param mathContext - math context with non-zero precision.
+     * @return math context policy.
+     * @throws IllegalArgumentException - if precision of math context is unlimited.
+     */
+    public static PrecisionPolicy of(final MathContext mathContext) {
+        if (mathContext.getPrecision() == 0) {
+            throw new IllegalArgumentException("Expected: limited precision, actual: " + mathContext);
+        }
+        return new PrecisionPolicy() {
+            @Override
+            public BigDecimal divide(BigDecimal dividend, BigDecimal divisor) {
+                return dividend.divide(divisor, mathContext);
+            }
+
+            @Override
+            int getSignificantDigits(int exponent) {
+                return mathContext.getPrecision();
+            }
+
+            @Override
+            long getMaxQuotientScale() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public String toString() {
+                return "of(" + mathContext + ")";
+            }
+        };
+    }
+
+    /**
+     * Creates policy, that keeps quotient exact if its decimal expansion
+     * terminates, and rounds it to given count of significant digits otherwise.
+     * Example: 1/8 is 0.125, 1/3 is 0.333...3 with given count of digits.
+     *
+     * @param digits - count of significant digits for non-terminating quotients.
+     * @return exact or significant digits policy.
+     * @throws IllegalArgumentException - if count of digits is not positive.
+     */
+    public static PrecisionPolicy exactOrSignificant(final int digits) {
+        if (digits <= 0) {
+            throw new IllegalArgumentException("Expected: positive, actual: " + digits);
+        }
+        final MathContext mathContext = new MathContext(digits, ROUNDING_MODE);
+        return new PrecisionPolicy() {
+            @Override
+            public BigDecimal divide(BigDecimal dividend, BigDecimal divisor) {
+                int exactScale = getExactScale(dividend, divisor);
+                if (exactScale == CompactArithmetic.NON_TERMINATING) {
+                    return dividend.divide(divisor, mathContext);
+                }
+                return dividend.divide(divisor, exactScale, RoundingMode.UNNECESSARY);
+            }
+
+            @Override
+            int getSignificantDigits(int exponent) {
+                return digits;
+            }
+
+            @Override
+            long getMaxQuotientScale() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public String toString() {
+                return "exactOrSignificant(" + digits + ")";
+            }
+        };
+    }
+
+    /**
+     * Creates policy from its text, like fixedScale(10000), exactOrSignificant(64)
+     * or of(precision=34 roundingMode=HALF_EVEN). Text of every policy is its toString.
+     *
+     * @param text - text of policy.
+     * @return policy, that has given text.
+     * @throws IllegalArgumentException - if text is not text of policy.
+     */
+    public static PrecisionPolicy valueOf(String text) {
+        if (text != null && text.endsWith(")")) {
+            int open = text.indexOf('(');
+            String name = open < 0 ? "" : text.substring(0, open);
+            String argument = open < 0 ? "" : text.substring(open + 1, text.length() - 1);
+            try {
+                switch (name) {
+                    case "fixedScale":
+                        return fixedScale(Integer.parseInt(argument));
+                    case "exactOrSignificant":
+                        return exactOrSignificant(Integer.parseInt(argument));
+                    case "of":
+                        return of(new MathContext(argument));
+                    default:
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                //bad argument of policy, is reported below
+            }
+        }
+        throw new IllegalArgumentException("Expected: text of precision policy, actual: " + text);
+    }
+
+    /**
+     * Returns a scale, that is enough to represent quotient exactly.
+     * Long arithmetic is tried first, BigInteger one is used only for big operands.
+     * Quotient terminates only if its reduced denominator has
+     * no prime factors, except 2 and 5.
+     *
+     * @param dividend - number to be divided.
+     * @param divisor  - non-zero number to divide by.
+     * @return scale of exact quotient, CompactArithmetic.NON_TERMINATING if quotient doesn't terminate.
+     */
+    private static int getExactScale(BigDecimal dividend, BigDecimal divisor) {
+        int scale = CompactArithmetic.getExactScale(dividend, divisor);
+        if (scale != CompactArithmetic.UNKNOWN) {
+            return scale;
+        }
+
+        BigInteger denominator = divisor.unscaledValue().abs();
+        denominator = denominator.divide(denominator.gcd(dividend.unscaledValue()));
+
+        int twos = denominator.getLowestSetBit();
+        denominator = denominator.shiftRight(twos);
+
+        int fives = 0;
+        BigInteger[] quotientAndRemainder = denominator.divideAndRemainder(FIVE);
+        while (quotientAndRemainder[1].signum() == 0) {
+            denominator = quotientAndRemainder[0];
+            fives++;
+            quotientAndRemainder = denominator.divideAndRemainder(FIVE);
+        }
+
+        if (!denominator.equals(BigInteger.ONE)) {
+            return CompactArithmetic.NON_TERMINATING;
+        }
+        return CompactArithmetic.toScale((long) dividend.scale() - divisor.scale() + Math.max(twos, fives));
+    }
+}
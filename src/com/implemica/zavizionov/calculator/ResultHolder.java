@@ -0,0 +1,75 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable holder of calculator operation result. Is filled by calculator
+ * methods, that don't throw exceptions, and can be reused for any
+ * count of operations, so no result objects are created.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class ResultHolder {
+
+    /**
+     * Resulting number, null if error occurred.
+     */
+    private BigDecimal value = BigDecimal.ZERO;
+
+    /**
+     * Status of result.
+     */
+    private ResultStatus status = ResultStatus.OK;
+
+    /**
+     * Sets result of operation.
+     *
+     * @param value  - resulting number, null if error occurred.
+     * @param status - status of result.
+     */
+    void set(BigDecimal value, ResultStatus status) {
+        this.value = value;
+        this.status = status;
+    }
+
+    /**
+     * Returns resulting number.
+     *
+     * @return resulting number, null if error occurred.
+     */
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    /**
+     * Returns status of result.
+     *
+     * @return status of result.
+     */
+    public ResultStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Tells if error occurred instead of result.
+     *
+     * @return true if status is not OK.
+     */
+    public boolean isError() {
+        return status != ResultStatus.OK;
+    }
+
+    /**
+     * Returns immutable copy of held result.
+     *
+     * @return immutable result.
+     */
+    public CalculationResult toResult() {
+        return isError() ? CalculationResult.error(status) : CalculationResult.of(value);
+    }
+
+    @Override
+    public String toString() {
+        return isError() ? status.toString() : value.toString();
+    }
+}
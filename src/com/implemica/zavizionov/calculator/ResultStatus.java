@@ -0,0 +1,10 @@
+package com.implemica.zavizionov.calculator;
+
+/**
+ * Enumeration holds possible statuses of calculator operation result.
+ *
+ * @author Zavizionov Andrii
+ */
+public enum ResultStatus {
+    OK, DIVIDE_BY_ZERO, OVERFLOW
+}
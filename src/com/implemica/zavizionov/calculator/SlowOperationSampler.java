@@ -0,0 +1,403 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures operations, that are slower than threshold, with their operands, so pathological
+ * operands, like quotients with scale 10000 or numbers near max scale, can be replayed later.
+ * Samples are kept in preallocated ring buffer, when it's full, oldest samples are overwritten.
+ * Fast operations are only compared with threshold, so sampler can be shared by many
+ * calculators of many threads, only slow operations take lock.
+ * <p>
+ * Samples are dumped as text, one sample per line:
+ * <pre>
+ * # comment
+ * DIVIDE 1 3 1534000 OK fixedScale(10000)  - operation, left, right, nanoseconds, status, policy
+ * SQRT 2 - 2210000 OK exactOrSignificant(64) - unary operation has no right operand
+ * </pre>
+ *
+ * @author Zavizionov Andrii
+ */
+public final class SlowOperationSampler {
+
+    /**
+     * Default threshold of slow operation in nanoseconds, 1 millisecond.
+     */
+    public static final long DEFAULT_THRESHOLD_NANOS = 1000000;
+
+    /**
+     * Default count of kept samples.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Text of absent right operand of unary operation.
+     */
+    private static final String NO_OPERAND = "-";
+
+    /**
+     * Count of fields in sample line, policy is the rest of line.
+     */
+    private static final int FIELD_COUNT = 6;
+
+    /**
+     * Min duration of captured operation in nanoseconds.
+     */
+    private final long thresholdNanos;
+
+    /**
+     * Ring buffer of samples.
+     */
+    private final Sample[] samples;
+
+    /**
+     * Count of captured samples, index of next sample is this count modulo capacity.
+     */
+    private long capturedCount;
+
+    /**
+     * Creates sampler with default threshold and capacity.
+     */
+    public SlowOperationSampler() {
+        this(DEFAULT_THRESHOLD_NANOS, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates sampler.
+     *
+     * @param thresholdNanos - min duration of captured operation in nanoseconds.
+     * @param capacity       - count of kept samples.
+     * @throws IllegalArgumentException - if threshold is negative or capacity is not positive
+     */
+    public SlowOperationSampler(long thresholdNanos, int capacity) {
+        if (thresholdNanos < 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Expected: non-negative threshold and positive capacity, actual: "
+                    + thresholdNanos + ", " + capacity);
+        }
+        this.thresholdNanos = thresholdNanos;
+        this.samples = new Sample[capacity];
+    }
+
+    /**
+     * Returns min duration of captured operation.
+     *
+     * @return threshold in nanoseconds.
+     */
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * Returns count of kept samples.
+     *
+     * @return capacity of ring buffer.
+     */
+    public int getCapacity() {
+        return samples.length;
+    }
+
+    /**
+     * Captures operation, if it's slower than threshold.
+     *
+     * @param operation       - performed operation.
+     * @param left            - left operand, or the only operand of unary operation.
+     * @param right           - right operand, null for unary operation.
+     * @param nanos           - duration of operation in nanoseconds.
+     * @param status          - status of result.
+     * @param precisionPolicy - precision policy of calculator.
+     */
+    public void record(Operation operation, BigDecimal left, BigDecimal right, long nanos, ResultStatus status,
+                       PrecisionPolicy precisionPolicy) {
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        Sample sample = new Sample(operation, left, right, nanos, status, precisionPolicy);
+        synchronized (this) {
+            samples[(int) (capturedCount % samples.length)] = sample;
+            capturedCount++;
+        }
+    }
+
+    /**
+     * Returns count of all captured samples, overwritten ones are included.
+     *
+     * @return count of samples.
+     */
+    public synchronized long getCapturedCount() {
+        return capturedCount;
+    }
+
+    /**
+     * Returns kept samples.
+     *
+     * @return samples from oldest to newest.
+     */
+    public synchronized List<Sample> getSamples() {
+        int count = (int) Math.min(capturedCount, samples.length);
+        List<Sample> result = new ArrayList<>(count);
+        for (long i = capturedCount - count; i < capturedCount; i++) {
+            result.add(samples[(int) (i % samples.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = null;
+        }
+        capturedCount = 0;
+    }
+
+    /**
+     * Writes kept samples to file in UTF-8, file is replaced.
+     *
+     * @param file - path of file.
+     * @throws IOException - if file can't be written
+     */
+    public void dump(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            dump(writer);
+        }
+    }
+
+    /**
+     * Writes kept samples, one sample per line.
+     *
+     * @param out - writer of samples.
+     * @throws IOException - if samples can't be written
+     */
+    public void dump(Writer out) throws IOException {
+        List<Sample> kept = getSamples();
+        Writer writer = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        writer.write("# operation left right nanos status policy, threshold " + thresholdNanos + " ns\n");
+        for (Sample sample : kept) {
+            writer.write(sample.toString());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads samples from file in UTF-8.
+     *
+     * @param file - path of dumped samples.
+     * @return samples in order of file.
+     * @throws IOException              - if file can't be read
+     * @throws IllegalArgumentException - if some line is malformed
+     */
+    public static List<Sample> read(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads dumped samples.
+     *
+     * @param in - reader of dumped samples.
+     * @return samples in order of reader.
+     * @throws IOException              - if samples can't be read
+     * @throws IllegalArgumentException - if some line is malformed
+     */
+    public static List<Sample> read(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        List<Sample> result = new ArrayList<>();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                result.add(parse(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses one sample line.
+     *
+     * @param line - line of sample.
+     * @return sample.
+     * @throws IllegalArgumentException - if line is malformed
+     */
+    private static Sample parse(String line) {
+        String[] fields = line.split(" ", FIELD_COUNT);
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected: operation left right nanos status policy, actual: " + line);
+        }
+        BigDecimal right = NO_OPERAND.equals(fields[2]) ? null : new BigDecimal(fields[2]);
+        return new Sample(Operation.valueOf(fields[0]), new BigDecimal(fields[1]), right, Long.parseLong(fields[3]),
+                ResultStatus.valueOf(fields[4]), PrecisionPolicy.valueOf(fields[5]));
+    }
+
+    /**
+     * Captured operation.
+     */
+    public static final class Sample {
+
+        /**
+         * Performed operation.
+         */
+        private final Operation operation;
+
+        /**
+         * Left operand, or the only operand of unary operation.
+         */
+        private final BigDecimal left;
+
+        /**
+         * Right operand, null for unary operation.
+         */
+        private final BigDecimal right;
+
+        /**
+         * Duration of operation in nanoseconds.
+         */
+        private final long nanos;
+
+        /**
+         * Status of result.
+         */
+        private final ResultStatus status;
+
+        /**
+         * Precision policy of calculator.
+         */
+        private final PrecisionPolicy precisionPolicy;
+
+        /**
+         * Creates sample.
+         *
+         * @param operation       - performed operation.
+         * @param left            - left operand, or the only operand of unary operation.
+         * @param right           - right operand, null for unary operation.
+         * @param nanos           - duration of operation in nanoseconds.
+         * @param status          - status of result.
+         * @param precisionPolicy - precision policy of calculator.
+         */
+        Sample(Operation operation, BigDecimal left, BigDecimal right, long nanos, ResultStatus status,
+               PrecisionPolicy precisionPolicy) {
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+            this.nanos = nanos;
+            this.status = status;
+            this.precisionPolicy = precisionPolicy;
+        }
+
+        /**
+         * Returns performed operation.
+         *
+         * @return operation.
+         */
+        public Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Returns left operand, or the only operand of unary operation.
+         *
+         * @return left operand.
+         */
+        public BigDecimal getLeft() {
+            return left;
+        }
+
+        /**
+         * Returns right operand.
+         *
+         * @return right operand, null for unary operation.
+         */
+        public BigDecimal getRight() {
+            return right;
+        }
+
+        /**
+         * Returns duration of operation.
+         *
+         * @return nanoseconds.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns status of result.
+         *
+         * @return status.
+         */
+        public ResultStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Returns precision policy of calculator, that performed operation.
+         *
+         * @return precision policy.
+         */
+        public PrecisionPolicy getPrecisionPolicy() {
+            return precisionPolicy;
+        }
+
+        /**
+         * Performs operation again on given calculator with same operands.
+         * Precision policy of calculator is set to policy of sample.
+         *
+         * @param calculator - calculator, its operands are replaced.
+         * @return result of operation, null if operation failed.
+         */
+        public BigDecimal replay(Calculator calculator) {
+            calculator.setPrecisionPolicy(precisionPolicy);
+            switch (operation) {
+                case PERCENT:
+                    calculator.setOperation(left, Operation.PLUS);
+                    try {
+                        return calculator.getPercent(right);
+                    } catch (NumberOverflowException e) {
+                        return null;
+                    }
+                case INVERT:
+                    return calculator.getInverted(left);
+                case SQRT:
+                    return calculator.getSqrt(left);
+                case REVERSE:
+                    try {
+                        return calculator.getReversed(left);
+                    } catch (DivideByZeroException | NumberOverflowException e) {
+                        return null;
+                    }
+                default:
+                    calculator.setOperation(left, operation);
+                    return calculator.tryGetResult(right).getValue();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return operation + " " + left + " " + (right == null ? NO_OPERAND : right.toString()) + " "
+                    + nanos + " " + status + " " + precisionPolicy;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.implemica.zavizionov.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Square root of BigDecimal numbers with any magnitude and precision.
+ * Small exact roots are found with Math.sqrt. Other roots are found
+ * as integer square roots with Newton iterations, seeded with Math.sqrt.
+ * Integer root with one extra digit is enough for correct rounding.
+ *
+ * @author Zavizionov Andrii
+ */
+final class SquareRoot {
+
+    /**
+     * Max count of digits of number, that can be converted to double without rounding.
+     */
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+
+    /**
+     * Max count of bits of number, that is used for Math.sqrt seed.
+     * Its root fits long.
+     */
+    private static final int SEED_BITS = 104;
+
+    /**
+     * Cached powers of ten, enough for roots with default precision.
+     */
+    private static final BigInteger[] POWERS_OF_TEN = new BigInteger[4 * PrecisionPolicy.DEFAULT_SIGNIFICANT_DIGITS];
+
+    static {
+        POWERS_OF_TEN[0] = BigInteger.ONE;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1].multiply(BigInteger.TEN);
+        }
+    }
+
+    /**
+     * Class has only static methods.
+     */
+    private SquareRoot() {
+
+    }
+
+    /**
+     * Extracts the square root of given non-negative number.
+     *
+     * @param value  - non-negative number.
+     * @param policy - policy, that gives count of significant digits of result.
+     * @return square root, exact if it has enough digits, rounded half up otherwise.
+     */
+    static BigDecimal sqrt(BigDecimal value, PrecisionPolicy policy) {
+        if (value.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        int exponent = Math.floorDiv(value.precision() - value.scale() - 1, 2);
+        MathContext resultContext = new MathContext(policy.getSignificantDigits(exponent), RoundingMode.HALF_UP);
+
+        BigDecimal root = getExactDoubleRoot(value);
+        if (root != null) {
+            return root.round(resultContext);
+        }
+
+        //root of unscaled * 10^shift has at least one digit more, than result needs,
+        //so rounding of its integer part is the same as rounding of exact root
+        long shift = 2L * (resultContext.getPrecision() + 1) - value.precision();
+        if (((value.scale() + shift) & 1) != 0) {
+            shift++;
+        }
+        BigInteger radicand = value.unscaledValue();
+        if (shift >= 0) {
+            radicand = radicand.multiply(getPowerOfTen((int) shift));
+        } else {
+            radicand = radicand.divide(getPowerOfTen((int) -shift));
+        }
+        long scale = (value.scale() + shift) / 2;
+        return new BigDecimal(getIntegerRoot(radicand), (int) scale).round(resultContext);
+    }
+
+    /**
+     * Returns square root, calculated with Math.sqrt, if it is exact.
+     * Example: 6.25 has exact root 2.5, 2 has none.
+     *
+     * @param value - positive number.
+     * @return exact square root or null, if it can't be found with double.
+     */
+    private static BigDecimal getExactDoubleRoot(BigDecimal value) {
+        if (value.precision() > MAX_EXACT_DOUBLE_DIGITS) {
+            return null;
+        }
+        double doubleValue = value.doubleValue();
+        if (doubleValue < Double.MIN_NORMAL || Double.isInfinite(doubleValue)) {
+            return null;
+        }
+        BigDecimal root = BigDecimal.valueOf(Math.sqrt(doubleValue));
+        if (root.multiply(root).compareTo(value) != 0) {
+            return null;
+        }
+        return root;
+    }
+
+    /**
+     * Returns integer part of square root of given positive number.
+     * Root of upper half of number bits is found recursively and
+     * doubled in precision with one Newton iteration.
+     *
+     * @param value - positive number.
+     * @return max integer, which square is not bigger than given number.
+     */
+    private static BigInteger getIntegerRoot(BigInteger value) {
+        BigInteger root;
+        if (value.bitLength() <= SEED_BITS) {
+            root = BigInteger.valueOf((long) Math.sqrt(value.doubleValue()));
+        } else {
+            int halfShift = value.bitLength() / 4;
+            root = getIntegerRoot(value.shiftRight(2 * halfShift)).shiftLeft(halfShift);
+            root = root.add(value.divide(root)).shiftRight(1);
+        }
+
+        while (root.multiply(root).compareTo(value) > 0) {
+            root = root.subtract(BigInteger.ONE);
+        }
+        BigInteger nextRoot = root.add(BigInteger.ONE);
+        while (nextRoot.multiply(nextRoot).compareTo(value) <= 0) {
+            root = nextRoot;
+            nextRoot = root.add(BigInteger.ONE);
+        }
+        return root;
+    }
+
+    /**
+     * Returns power of ten, small powers are cached.
+     *
+     * @param exponent - non-negative exponent.
+     * @return 10^exponent
+     */
+    private static BigInteger getPowerOfTen(int exponent) {
+        if (exponent < POWERS_OF_TEN.length) {
+            return POWERS_OF_TEN[exponent];
+        }
+        return BigInteger.TEN.pow(exponent);
+    }
+}
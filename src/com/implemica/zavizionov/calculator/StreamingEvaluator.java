@@ -0,0 +1,415 @@
+package com.implemica.zavizionov.calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Evaluates files of expressions, one expression per line, and writes
+ * one result per line. Input is read through memory-mapped windows of fixed size,
+ * expressions are parsed directly from mapped bytes without strings, results
+ * are written through direct buffer of fixed size. So memory doesn't depend
+ * on size of file and files of many gigabytes can be evaluated.
+ * Output line is a result, like 3.875, "ERROR DIVIDE_BY_ZERO", "ERROR OVERFLOW"
+ * or "ERROR MALFORMED" for malformed expression. Empty lines stay empty.
+ * Input is ASCII, lines are ended with \n or \r\n.
+ * <p>
+ * Usage: StreamingEvaluator input output
+ *
+ * @author Zavizionov Andrii
+ */
+public final class StreamingEvaluator {
+
+    /**
+     * Default size of mapped input window in bytes.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    /**
+     * Default size of output buffer in bytes.
+     */
+    public static final int DEFAULT_OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Prefix of error result.
+     */
+    private static final byte[] ERROR_PREFIX = "ERROR ".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Reason of error for malformed expression.
+     */
+    private static final String MALFORMED = "MALFORMED";
+
+    /**
+     * Evaluator of expressions.
+     */
+    private final ExpressionEvaluator evaluator;
+
+    /**
+     * Result of current expression.
+     */
+    private final ResultHolder holder = new ResultHolder();
+
+    /**
+     * Size of mapped input window in bytes, limits length of line.
+     */
+    private final int windowSize;
+
+    /**
+     * Output buffer.
+     */
+    private final ByteBuffer output;
+
+    /**
+     * View of current line as chars.
+     */
+    private final AsciiSequence line = new AsciiSequence();
+
+    /**
+     * Count of error results of current evaluation.
+     */
+    private long errors;
+
+    /**
+     * Count of malformed expressions of current evaluation.
+     */
+    private long malformed;
+
+    /**
+     * Count of written bytes of current evaluation.
+     */
+    private long written;
+
+    /**
+     * Creates evaluator with default settings.
+     */
+    public StreamingEvaluator() {
+        this(PrecisionPolicy.DEFAULT, DEFAULT_WINDOW_SIZE, DEFAULT_OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates evaluator.
+     *
+     * @param precisionPolicy  - precision policy for divide operations.
+     * @param windowSize       - size of mapped input window in bytes, max length of line.
+     * @param outputBufferSize - size of output buffer in bytes.
+     * @throws IllegalArgumentException - if policy is null or sizes are not positive
+     */
+    public StreamingEvaluator(PrecisionPolicy precisionPolicy, int windowSize, int outputBufferSize) {
+        if (windowSize <= 0 || outputBufferSize <= 0) {
+            throw new IllegalArgumentException("Expected: positive sizes, actual: " + windowSize + ", " + outputBufferSize);
+        }
+        this.evaluator = new ExpressionEvaluator(precisionPolicy);
+        this.windowSize = windowSize;
+        this.output = ByteBuffer.allocateDirect(outputBufferSize);
+    }
+
+    /**
+     * Evaluates file of expressions and writes results to other file.
+     * Output file is created or truncated.
+     *
+     * @param input  - path of file with expressions.
+     * @param output - path of file for results.
+     * @return summary of evaluation.
+     * @throws IOException - if files can't be read or written, or line is longer than window
+     */
+    public Summary evaluate(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            return evaluate(in, out);
+        }
+    }
+
+    /**
+     * Evaluates expressions from file channel and writes results to output channel.
+     *
+     * @param in  - channel of file with expressions, is read from start to end.
+     * @param out - channel for results.
+     * @return summary of evaluation.
+     * @throws IOException - if channels can't be read or written, or line is longer than window
+     */
+    public Summary evaluate(FileChannel in, WritableByteChannel out) throws IOException {
+        long start = System.nanoTime();
+        long size = in.size();
+        long lines = 0;
+        errors = 0;
+        malformed = 0;
+        written = 0;
+        output.clear();
+
+        try {
+            long windowStart = 0;
+            while (windowStart < size) {
+                long windowLength = Math.min(windowSize, size - windowStart);
+                boolean last = windowStart + windowLength == size;
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+
+                int lineStart = 0;
+                int limit = window.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (window.get(i) != '\n') {
+                        continue;
+                    }
+                    evaluateLine(window, lineStart, i, out);
+                    lines++;
+                    lineStart = i + 1;
+                }
+                if (last) {
+                    if (lineStart < limit) {
+                        evaluateLine(window, lineStart, limit, out);
+                        lines++;
+                    }
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line at byte " + windowStart + " is longer than window of "
+                            + windowSize + " bytes");
+                }
+                //next window starts with incomplete line
+                windowStart += lineStart;
+            }
+        } finally {
+            //results of lines before failure are written too
+            flush(out);
+        }
+        return new Summary(lines, errors, malformed, size, written, System.nanoTime() - start);
+    }
+
+    /**
+     * Evaluates one line and writes its result.
+     *
+     * @param window - mapped window with line.
+     * @param from   - index of first byte of line.
+     * @param to     - index of line end.
+     * @param out    - channel for full output buffer.
+     * @throws IOException - if output can't be written
+     */
+    private void evaluateLine(ByteBuffer window, int from, int to, WritableByteChannel out) throws IOException {
+        if (to > from && window.get(to - 1) == '\r') {
+            to--;
+        }
+        if (to > from) {
+            line.reset(window, from, to);
+            String reason = null;
+            try {
+                evaluator.evaluate(line, holder);
+                if (holder.isError()) {
+                    reason = holder.getStatus().name();
+                }
+            } catch (IllegalArgumentException e) {
+                reason = MALFORMED;
+                malformed++;
+            } catch (ArithmeticException e) {
+                reason = ResultStatus.OVERFLOW.name();
+            }
+            if (reason == null) {
+                write(holder.getValue().stripTrailingZeros().toPlainString(), out);
+            } else {
+                errors++;
+                write(ERROR_PREFIX, out);
+                write(reason, out);
+            }
+        }
+        write((byte) '\n', out);
+    }
+
+    /**
+     * Writes ASCII text to output buffer.
+     *
+     * @param text - text.
+     * @param out  - channel for full buffer.
+     * @throws IOException - if output can't be written
+     */
+    private void write(String text, WritableByteChannel out) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            write((byte) text.charAt(i), out);
+        }
+    }
+
+    /**
+     * Writes bytes to output buffer.
+     *
+     * @param bytes - bytes.
+     * @param out   - channel for full buffer.
+     * @throws IOException - if output can't be written
+     */
+    private void write(byte[] bytes, WritableByteChannel out) throws IOException {
+        for (byte b : bytes) {
+            write(b, out);
+        }
+    }
+
+    /**
+     * Writes byte to output buffer, flushes buffer if it is full.
+     *
+     * @param b   - byte.
+     * @param out - channel for full buffer.
+     * @throws IOException - if output can't be written
+     */
+    private void write(byte b, WritableByteChannel out) throws IOException {
+        if (!output.hasRemaining()) {
+            flush(out);
+        }
+        output.put(b);
+    }
+
+    /**
+     * Writes output buffer to channel.
+     *
+     * @param out - channel for results.
+     * @throws IOException - if output can't be written
+     */
+    private void flush(WritableByteChannel out) throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            written += out.write(output);
+        }
+        output.clear();
+    }
+
+    /**
+     * Counts and throughput of evaluation.
+     */
+    public static final class Summary {
+
+        /**
+         * Count of lines.
+         */
+        private final long lines;
+
+        /**
+         * Count of error results.
+         */
+        private final long errors;
+
+        /**
+         * Count of malformed expressions.
+         */
+        private final long malformed;
+
+        /**
+         * Count of read bytes.
+         */
+        private final long bytesRead;
+
+        /**
+         * Count of written bytes.
+         */
+        private final long bytesWritten;
+
+        /**
+         * Time of evaluation in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        /**
+         * Creates summary.
+         *
+         * @param lines        - count of lines.
+         * @param errors       - count of error results.
+         * @param malformed    - count of malformed expressions.
+         * @param bytesRead    - count of read bytes.
+         * @param bytesWritten - count of written bytes.
+         * @param elapsedNanos - time of evaluation in nanoseconds.
+         */
+        Summary(long lines, long errors, long malformed, long bytesRead, long bytesWritten, long elapsedNanos) {
+            this.lines = lines;
+            this.errors = errors;
+            this.malformed = malformed;
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns count of lines.
+         *
+         * @return count of lines.
+         */
+        public long getLines() {
+            return lines;
+        }
+
+        /**
+         * Returns count of error results, malformed expressions are included.
+         *
+         * @return count of errors.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns count of malformed expressions.
+         *
+         * @return count of malformed lines.
+         */
+        public long getMalformed() {
+            return malformed;
+        }
+
+        /**
+         * Returns count of read bytes.
+         *
+         * @return size of input.
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Returns count of written bytes.
+         *
+         * @return size of output.
+         */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        /**
+         * Returns throughput of evaluation.
+         *
+         * @return input megabytes per second.
+         */
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesRead * 1e9 / elapsedNanos / (1 << 20);
+        }
+
+        /**
+         * Returns throughput of evaluation.
+         *
+         * @return lines per second.
+         */
+        public double getLinesPerSecond() {
+            return elapsedNanos == 0 ? 0 : lines * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("lines: %d, errors: %d, malformed: %d, read: %d bytes, written: %d bytes, "
+                            + "time: %.2f s, throughput: %.1f MB/s, %.0f lines/s", lines, errors, malformed,
+                    bytesRead, bytesWritten, elapsedNanos / 1e9, getMegabytesPerSecond(), getLinesPerSecond());
+        }
+    }
+
+    /**
+     * Evaluates file of expressions.
+     *
+     * @param args - input and output paths.
+     * @throws IOException - if files can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: StreamingEvaluator input output");
+            return;
+        }
+        System.out.println(new StreamingEvaluator().evaluate(Paths.get(args[0]), Paths.get(args[1])));
+    }
+}
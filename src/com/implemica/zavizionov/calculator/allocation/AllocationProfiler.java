@@ -0,0 +1,186 @@
+package com.implemica.zavizionov.calculator.allocation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures bytes, that are allocated by one call of operation. Operation is called
+ * many times to let JIT compile it, then bytes allocated by current thread during
+ * measured calls are read from ThreadMXBean and divided by count of calls.
+ * Measured calls are repeated in several rounds and the least round is taken, so
+ * allocations of JIT deoptimization or lazy class loading in one round don't break the budget.
+ * Operations are added with allocation budgets, so report tells which of them allocate too much.
+ * Profiler is used by one thread.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class AllocationProfiler {
+
+    /**
+     * Default count of calls before measurement.
+     */
+    public static final int DEFAULT_WARMUP_CALLS = 20000;
+
+    /**
+     * Default count of measured calls.
+     */
+    public static final int DEFAULT_MEASURED_CALLS = 10000;
+
+    /**
+     * Count of rounds of measured calls for every operation.
+     */
+    static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * Operation, that is profiled.
+     */
+    public interface Call {
+
+        /**
+         * Calls operation once.
+         *
+         * @throws Exception - if operation fails
+         */
+        void call() throws Exception;
+    }
+
+    /**
+     * Bean, that counts allocated bytes of threads.
+     */
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Count of calls before measurement.
+     */
+    private final int warmupCalls;
+
+    /**
+     * Count of measured calls.
+     */
+    private final int measuredCalls;
+
+    /**
+     * Names of added operations.
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Budgets of added operations in bytes per call.
+     */
+    private final List<Long> budgets = new ArrayList<>();
+
+    /**
+     * Added operations.
+     */
+    private final List<Call> calls = new ArrayList<>();
+
+    /**
+     * Creates profiler with default counts of calls.
+     *
+     * @throws IllegalStateException - if JVM can't count allocated bytes
+     */
+    public AllocationProfiler() {
+        this(DEFAULT_WARMUP_CALLS, DEFAULT_MEASURED_CALLS);
+    }
+
+    /**
+     * Creates profiler.
+     *
+     * @param warmupCalls   - count of calls before measurement.
+     * @param measuredCalls - count of measured calls.
+     * @throws IllegalArgumentException - if warmup calls are negative or measured calls are not positive
+     * @throws IllegalStateException    - if JVM can't count allocated bytes
+     */
+    public AllocationProfiler(int warmupCalls, int measuredCalls) {
+        if (warmupCalls < 0 || measuredCalls <= 0) {
+            throw new IllegalArgumentException("Expected: non-negative warmup and positive measured calls, actual: "
+                    + warmupCalls + ", " + measuredCalls);
+        }
+        if (!isSupported()) {
+            throw new IllegalStateException("Expected: JVM, that counts allocated bytes of threads");
+        }
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.threads.setThreadAllocatedMemoryEnabled(true);
+        this.warmupCalls = warmupCalls;
+        this.measuredCalls = measuredCalls;
+    }
+
+    /**
+     * Tells if JVM can count allocated bytes of threads.
+     *
+     * @return true if profiler can be used.
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Adds operation to profile.
+     *
+     * @param name   - name of operation in report.
+     * @param budget - max bytes per call, that operation can allocate.
+     * @param call   - operation.
+     * @return this profiler.
+     * @throws IllegalArgumentException - if name or call is null or budget is negative
+     */
+    public AllocationProfiler add(String name, long budget, Call call) {
+        if (name == null || call == null || budget < 0) {
+            throw new IllegalArgumentException("Expected: name, non-negative budget and call, actual: "
+                    + name + ", " + budget + ", " + call);
+        }
+        names.add(name);
+        budgets.add(budget);
+        calls.add(call);
+        return this;
+    }
+
+    /**
+     * Measures all added operations in order of adding.
+     *
+     * @return report with bytes per call of every operation.
+     * @throws IllegalStateException - if some operation fails
+     */
+    public AllocationReport run() {
+        long overhead = measure(new Call() {
+            @Override
+            public void call() {
+            }
+        });
+        List<AllocationReport.Row> rows = new ArrayList<>(calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            long bytes = Math.max(0, measure(calls.get(i)) - overhead);
+            rows.add(new AllocationReport.Row(names.get(i), bytes, budgets.get(i)));
+        }
+        return new AllocationReport(rows);
+    }
+
+    /**
+     * Measures one operation.
+     *
+     * @param call - operation.
+     * @return bytes per call, allocated in the least round of measured calls.
+     * @throws IllegalStateException - if operation fails
+     */
+    private long measure(Call call) {
+        long threadId = Thread.currentThread().getId();
+        try {
+            for (int i = 0; i < warmupCalls; i++) {
+                call.call();
+            }
+            long minBytes = Long.MAX_VALUE;
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                long start = threads.getThreadAllocatedBytes(threadId);
+                for (int i = 0; i < measuredCalls; i++) {
+                    call.call();
+                }
+                minBytes = Math.min(minBytes, threads.getThreadAllocatedBytes(threadId) - start);
+            }
+            return (minBytes + measuredCalls / 2) / measuredCalls;
+        } catch (Exception e) {
+            throw new IllegalStateException("Expected: operation, that doesn't fail, actual: " + e, e);
+        }
+    }
+}
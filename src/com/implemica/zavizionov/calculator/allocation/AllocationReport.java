@@ -0,0 +1,151 @@
+package com.implemica.zavizionov.calculator.allocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table of bytes, allocated by one call of every profiled operation,
+ * with allocation budgets of operations.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class AllocationReport {
+
+    /**
+     * Rows in order of profiling.
+     */
+    private final List<Row> rows;
+
+    /**
+     * Creates report.
+     *
+     * @param rows - rows in order of profiling.
+     */
+    AllocationReport(List<Row> rows) {
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Returns all rows.
+     *
+     * @return rows in order of profiling.
+     */
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns rows of operations, that allocate more than their budgets.
+     *
+     * @return rows over budget, empty list if all operations fit budgets.
+     */
+    public List<Row> getOverBudget() {
+        List<Row> over = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.isOverBudget()) {
+                over.add(row);
+            }
+        }
+        return over;
+    }
+
+    /**
+     * Tells if all operations fit their budgets.
+     *
+     * @return true if no operation allocates more than its budget.
+     */
+    public boolean isWithinBudgets() {
+        return getOverBudget().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        int nameWidth = "operation".length();
+        for (Row row : rows) {
+            nameWidth = Math.max(nameWidth, row.getName().length());
+        }
+        String format = "%-" + nameWidth + "s %12s %12s  %s%n";
+        StringBuilder text = new StringBuilder(String.format(format, "operation", "bytes/call", "budget", ""));
+        for (Row row : rows) {
+            text.append(String.format(format, row.getName(), row.getBytesPerCall(), row.getBudget(),
+                    row.isOverBudget() ? "OVER" : "ok"));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Allocation of one operation.
+     */
+    public static final class Row {
+
+        /**
+         * Name of operation.
+         */
+        private final String name;
+
+        /**
+         * Bytes, allocated by one call.
+         */
+        private final long bytesPerCall;
+
+        /**
+         * Max bytes per call, that operation can allocate.
+         */
+        private final long budget;
+
+        /**
+         * Creates row.
+         *
+         * @param name         - name of operation.
+         * @param bytesPerCall - bytes, allocated by one call.
+         * @param budget       - max bytes per call.
+         */
+        Row(String name, long bytesPerCall, long budget) {
+            this.name = name;
+            this.bytesPerCall = bytesPerCall;
+            this.budget = budget;
+        }
+
+        /**
+         * Returns name of operation.
+         *
+         * @return name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns bytes, allocated by one call.
+         *
+         * @return bytes per call.
+         */
+        public long getBytesPerCall() {
+            return bytesPerCall;
+        }
+
+        /**
+         * Returns max bytes per call, that operation can allocate.
+         *
+         * @return budget in bytes.
+         */
+        public long getBudget() {
+            return budget;
+        }
+
+        /**
+         * Tells if operation allocates more than its budget.
+         *
+         * @return true if bytes per call are bigger than budget.
+         */
+        public boolean isOverBudget() {
+            return bytesPerCall > budget;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + bytesPerCall + " bytes/call, budget " + budget;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.implemica.zavizionov.calculator.allocation;
+
+import com.implemica.zavizionov.calculator.CalculationResult;
+import com.implemica.zavizionov.calculator.CalculatorController;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.PrecisionPolicy;
+import com.implemica.zavizionov.calculator.ResultHolder;
+
+import java.math.BigDecimal;
+
+/**
+ * Allocation budgets of public operations of CalculatorController. Every operation
+ * is called with operands, that screen usually shows, binary operations are
+ * called after setOperation, that allocates nothing. Budgets are measured bytes per call
+ * with a margin of about a half for other JVMs, operations, that allocate nothing,
+ * have zero budgets. Report is failed, if some operation allocates more, so new
+ * allocations are noticed.
+ * <p>
+ * Usage: ControllerAllocations, exits with code 1 if some operation is over budget.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class ControllerAllocations {
+
+    /**
+     * Operand 12.5.
+     */
+    private static final BigDecimal LEFT = new BigDecimal("12.5");
+
+    /**
+     * Operand 4.
+     */
+    private static final BigDecimal RIGHT = new BigDecimal("4");
+
+    /**
+     * Operand 3, that makes non-terminating quotients.
+     */
+    private static final BigDecimal THREE = new BigDecimal("3");
+
+    /**
+     * Operand 2, that has irrational square root.
+     */
+    private static final BigDecimal TWO = new BigDecimal("2");
+
+    /**
+     * Scale of quotients, that was used before precision policies.
+     */
+    private static final int LEGACY_SCALE = 10000;
+
+    /**
+     * Controller with default precision policy.
+     */
+    private final CalculatorController controller = CalculatorController.getInstance();
+
+    /**
+     * Controller with legacy fixed scale of quotients.
+     */
+    private final CalculatorController legacy =
+            CalculatorController.getInstance(PrecisionPolicy.fixedScale(LEGACY_SCALE));
+
+    /**
+     * Holder for results of operations, that don't create results.
+     */
+    private final ResultHolder holder = new ResultHolder();
+
+    /**
+     * Last number result, is kept, so JIT doesn't remove operations.
+     */
+    private BigDecimal lastValue;
+
+    /**
+     * Last result object, is kept, so JIT doesn't remove operations.
+     */
+    private CalculationResult lastResult;
+
+    /**
+     * Profile can be created only by profile method.
+     */
+    private ControllerAllocations() {
+    }
+
+    /**
+     * Adds all public operations of controller with their budgets to profiler.
+     *
+     * @param profiler - profiler.
+     * @return given profiler.
+     */
+    public static AllocationProfiler profile(AllocationProfiler profiler) {
+        return new ControllerAllocations().addOperations(profiler);
+    }
+
+    /**
+     * Adds all public operations of controller with their budgets to profiler.
+     *
+     * @param profiler - profiler.
+     * @return given profiler.
+     */
+    private AllocationProfiler addOperations(AllocationProfiler profiler) {
+        return profiler
+                .add("setOperation", 0, () -> controller.setOperation(LEFT, Operation.PLUS))
+                .add("getOperation", 0, () -> controller.getOperation())
+                .add("getResult PLUS", 64, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    lastValue = controller.getResult(RIGHT);
+                })
+                .add("getResult MINUS", 64, () -> {
+                    controller.setOperation(LEFT, Operation.MINUS);
+                    lastValue = controller.getResult(RIGHT);
+                })
+                .add("getResult MULTIPLY", 64, () -> {
+                    controller.setOperation(LEFT, Operation.MULTIPLY);
+                    lastValue = controller.getResult(RIGHT);
+                })
+                .add("getResult DIVIDE 12.5/4", 192, () -> {
+                    controller.setOperation(LEFT, Operation.DIVIDE);
+                    lastValue = controller.getResult(RIGHT);
+                })
+                .add("getResult DIVIDE 12.5/3", 640, () -> {
+                    controller.setOperation(LEFT, Operation.DIVIDE);
+                    lastValue = controller.getResult(THREE);
+                })
+                .add("getResult DIVIDE 12.5/3 scale 10000", 262144, () -> {
+                    legacy.setOperation(LEFT, Operation.DIVIDE);
+                    lastValue = legacy.getResult(THREE);
+                })
+                .add("getResultAfterEqual", 128, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    controller.getResult(RIGHT);
+                    lastValue = controller.getResultAfterEqual(LEFT);
+                })
+                .add("getResultOnGo", 64, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    lastValue = controller.getResultOnGo(RIGHT);
+                })
+                .add("tryGetResult", 96, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    lastResult = controller.tryGetResult(RIGHT);
+                })
+                .add("tryGetResult to holder", 64, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    controller.tryGetResult(RIGHT, holder);
+                })
+                .add("tryGetResult DIVIDE 0", 0, () -> {
+                    controller.setOperation(LEFT, Operation.DIVIDE);
+                    controller.tryGetResult(BigDecimal.ZERO, holder);
+                })
+                .add("tryGetResultAfterEqual", 160, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    controller.getResult(RIGHT);
+                    lastResult = controller.tryGetResultAfterEqual(LEFT);
+                })
+                .add("tryGetResultOnGo", 96, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    lastResult = controller.tryGetResultOnGo(RIGHT);
+                })
+                .add("getPercent", 192, () -> {
+                    controller.setOperation(LEFT, Operation.PLUS);
+                    lastValue = controller.getPercent(RIGHT);
+                })
+                .add("getInverted", 64, () -> lastValue = controller.getInverted(LEFT))
+                .add("getSqrt", 6144, () -> lastValue = controller.getSqrt(TWO))
+                .add("getReversed", 576, () -> lastValue = controller.getReversed(THREE))
+                .add("memoryStore", 0, () -> controller.memoryStore(LEFT))
+                .add("memoryAdd", 64, () -> controller.memoryAdd(LEFT))
+                .add("memorySubtract", 128, () -> controller.memorySubtract(LEFT))
+                .add("memoryRecall", 0, () -> lastValue = controller.memoryRecall())
+                .add("memoryClear", 0, () -> controller.memoryClear())
+                .add("clear", 0, () -> controller.clear());
+    }
+
+    /**
+     * Prints allocation table of controller operations.
+     *
+     * @param args - not used.
+     */
+    public static void main(String[] args) {
+        AllocationReport report = profile(new AllocationProfiler()).run();
+        System.out.print(report);
+        if (!report.isWithinBudgets()) {
+            System.out.println("Over budget: " + report.getOverBudget());
+            System.exit(1);
+        }
+    }
+}
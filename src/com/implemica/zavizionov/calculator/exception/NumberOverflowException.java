@@ -6,6 +6,14 @@ package com.implemica.zavizionov.calculator.exception;
  * @author Zavizionov Andrii
  */
 public class NumberOverflowException extends Exception {
+
+    /**
+     * Shared instance without stack trace.
+     * Is thrown by calculators in lightweight exceptions mode,
+     * so frequent overflow errors cost no more than successful operations.
+     */
+    private static final NumberOverflowException LIGHTWEIGHT = new NumberOverflowException("Overflow", false);
+
     public NumberOverflowException(String message) {
         super(message);
     }
@@ -13,4 +21,23 @@ public class NumberOverflowException extends Exception {
     public NumberOverflowException() {
         super();
     }
+
+    /**
+     * Creates exception, which stack trace is not filled.
+     *
+     * @param message            - message of exception.
+     * @param writableStackTrace - if false, stack trace is not filled and can't be set.
+     */
+    protected NumberOverflowException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Returns shared instance without stack trace.
+     *
+     * @return preallocated exception.
+     */
+    public static NumberOverflowException getLightweight() {
+        return LIGHTWEIGHT;
+    }
 }
@@ -0,0 +1,102 @@
+package com.implemica.zavizionov.calculator.replay;
+
+/**
+ * Difference between expected and replayed screen text.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class Divergence {
+
+    /**
+     * Number of log line with expectation, from 1.
+     */
+    private final long line;
+
+    /**
+     * Id of session.
+     */
+    private final String session;
+
+    /**
+     * Name of screen: display or history.
+     */
+    private final String screen;
+
+    /**
+     * Expected screen text.
+     */
+    private final String expected;
+
+    /**
+     * Replayed screen text.
+     */
+    private final String actual;
+
+    /**
+     * Creates divergence.
+     *
+     * @param line     - number of log line with expectation.
+     * @param session  - id of session.
+     * @param screen   - name of screen.
+     * @param expected - expected screen text.
+     * @param actual   - replayed screen text.
+     */
+    Divergence(long line, String session, String screen, String expected, String actual) {
+        this.line = line;
+        this.session = session;
+        this.screen = screen;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Returns number of log line with expectation.
+     *
+     * @return line number from 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Returns id of session.
+     *
+     * @return session id.
+     */
+    public String getSession() {
+        return session;
+    }
+
+    /**
+     * Returns name of screen.
+     *
+     * @return display or history.
+     */
+    public String getScreen() {
+        return screen;
+    }
+
+    /**
+     * Returns expected screen text.
+     *
+     * @return expected text.
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * Returns replayed screen text.
+     *
+     * @return actual text.
+     */
+    public String getActual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        return "line " + line + ", session " + session + ", " + screen
+                + ": expected [" + expected + "], actual [" + actual + "]";
+    }
+}
@@ -0,0 +1,177 @@
+package com.implemica.zavizionov.calculator.replay;
+
+import com.implemica.zavizionov.calculator.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of session log replay: counts, throughput,
+ * latency of keys and divergences from expected screens.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class ReplayReport {
+
+    /**
+     * Count of replayed sessions.
+     */
+    private final long sessions;
+
+    /**
+     * Count of replayed keys and pastes.
+     */
+    private final long keys;
+
+    /**
+     * Count of checked expectations.
+     */
+    private final long checks;
+
+    /**
+     * Count of all divergences.
+     */
+    private final long divergenceCount;
+
+    /**
+     * First divergences, count of them is limited.
+     */
+    private final List<Divergence> divergences;
+
+    /**
+     * Time of replay in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Latencies of keys.
+     */
+    private final LatencyHistogram latencies;
+
+    /**
+     * Creates report.
+     *
+     * @param sessions        - count of replayed sessions.
+     * @param keys            - count of replayed keys and pastes.
+     * @param checks          - count of checked expectations.
+     * @param divergenceCount - count of all divergences.
+     * @param divergences     - first divergences.
+     * @param elapsedNanos    - time of replay in nanoseconds.
+     * @param latencies       - latencies of keys.
+     */
+    ReplayReport(long sessions, long keys, long checks, long divergenceCount, List<Divergence> divergences,
+                 long elapsedNanos, LatencyHistogram latencies) {
+        this.sessions = sessions;
+        this.keys = keys;
+        this.checks = checks;
+        this.divergenceCount = divergenceCount;
+        this.divergences = Collections.unmodifiableList(divergences);
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Returns count of replayed sessions.
+     *
+     * @return count of sessions.
+     */
+    public long getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns count of replayed keys and pastes.
+     *
+     * @return count of keys.
+     */
+    public long getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns count of checked expectations.
+     *
+     * @return count of checks.
+     */
+    public long getChecks() {
+        return checks;
+    }
+
+    /**
+     * Returns count of all divergences.
+     *
+     * @return count of divergences.
+     */
+    public long getDivergenceCount() {
+        return divergenceCount;
+    }
+
+    /**
+     * Returns first divergences.
+     *
+     * @return unmodifiable list of divergences in order of log.
+     */
+    public List<Divergence> getDivergences() {
+        return divergences;
+    }
+
+    /**
+     * Tells if all expectations are met.
+     *
+     * @return true if there is no divergence.
+     */
+    public boolean isPassed() {
+        return divergenceCount == 0;
+    }
+
+    /**
+     * Returns throughput of replay.
+     *
+     * @return keys per second.
+     */
+    public double getKeysPerSecond() {
+        return elapsedNanos == 0 ? 0 : keys * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns median latency of key.
+     *
+     * @return latency in nanoseconds.
+     */
+    public long getP50Nanos() {
+        return latencies.getValueAtPercentile(50);
+    }
+
+    /**
+     * Returns 99th percentile of key latency.
+     *
+     * @return latency in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return latencies.getValueAtPercentile(99);
+    }
+
+    /**
+     * Returns time of replay.
+     *
+     * @return time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("sessions: %d, keys: %d, checks: %d, time: %.2f s, "
+                        + "throughput: %.0f keys/s, p50: %d ns, p99: %d ns, divergences: %d",
+                sessions, keys, checks, elapsedNanos / 1e9, getKeysPerSecond(), getP50Nanos(), getP99Nanos(),
+                divergenceCount));
+        for (Divergence divergence : divergences) {
+            text.append(System.lineSeparator()).append(divergence);
+        }
+        if (divergenceCount > divergences.size()) {
+            text.append(System.lineSeparator()).append("...");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,220 @@
+package com.implemica.zavizionov.calculator.replay;
+
+import com.implemica.zavizionov.calculator.CalculatorController;
+import com.implemica.zavizionov.calculator.KeypadEngine;
+import com.implemica.zavizionov.calculator.LatencyHistogram;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.PrecisionPolicy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays recorded keypad sessions through KeypadEngine without GUI
+ * and checks screens after keys. Log is read line by line, so logs
+ * of any size can be replayed. Log lines:
+ * <pre>
+ * # comment
+ * session 42          - starts new session, calculator and memory are cleared
+ * key ONE             - presses key, name of KeypadEngine.Key
+ * paste 12.5          - pastes text from clipboard
+ * display 12.5        - expected text of first screen, rest of line after space
+ * history 3 + 5 -     - expected text of second screen, may be empty
+ * </pre>
+ * Report has throughput, latency of keys and divergences from expected screens.
+ * <p>
+ * Usage: SessionReplayer log... Exit code is 1 if some screen diverges.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class SessionReplayer {
+
+    /**
+     * Default max count of divergences, that are kept in report.
+     */
+    public static final int DEFAULT_MAX_DIVERGENCES = 100;
+
+    /**
+     * Session id before first session line.
+     */
+    private static final String DEFAULT_SESSION = "-";
+
+    /**
+     * Engine, that replays sessions.
+     */
+    private final KeypadEngine engine;
+
+    /**
+     * Max count of divergences, that are kept in report.
+     */
+    private final int maxDivergences;
+
+    /**
+     * Creates replayer with default precision policy.
+     */
+    public SessionReplayer() {
+        this(PrecisionPolicy.DEFAULT, DEFAULT_MAX_DIVERGENCES);
+    }
+
+    /**
+     * Creates replayer.
+     *
+     * @param precisionPolicy - precision policy of calculator.
+     * @param maxDivergences  - max count of divergences, that are kept in report.
+     * @throws IllegalArgumentException - if policy is null or max count is negative
+     */
+    public SessionReplayer(PrecisionPolicy precisionPolicy, int maxDivergences) {
+        if (precisionPolicy == null) {
+            throw new IllegalArgumentException("Expected: precision policy, actual: null");
+        }
+        if (maxDivergences < 0) {
+            throw new IllegalArgumentException("Expected: non-negative max divergences, actual: " + maxDivergences);
+        }
+        this.engine = KeypadEngine.getInstance(CalculatorController.getInstance(precisionPolicy));
+        this.maxDivergences = maxDivergences;
+    }
+
+    /**
+     * Replays log file in UTF-8.
+     *
+     * @param log - path of log.
+     * @return report of replay.
+     * @throws IOException              - if log can't be read
+     * @throws IllegalArgumentException - if some line is malformed
+     */
+    public ReplayReport replay(Path log) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            return replay(reader);
+        }
+    }
+
+    /**
+     * Replays log.
+     *
+     * @param log - reader of log.
+     * @return report of replay.
+     * @throws IOException              - if log can't be read
+     * @throws IllegalArgumentException - if some line is malformed
+     */
+    public ReplayReport replay(Reader log) throws IOException {
+        BufferedReader reader = log instanceof BufferedReader ? (BufferedReader) log : new BufferedReader(log);
+        LatencyHistogram latencies = new LatencyHistogram();
+        List<Divergence> divergences = new ArrayList<>();
+        long sessions = 0;
+        long keys = 0;
+        long checks = 0;
+        long divergenceCount = 0;
+        String session = DEFAULT_SESSION;
+        long lineNumber = 0;
+
+        clear();
+        long start = System.nanoTime();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            String command = space < 0 ? line : line.substring(0, space);
+            String argument = space < 0 ? "" : line.substring(space + 1);
+            switch (command) {
+                case "session":
+                    clear();
+                    session = argument;
+                    sessions++;
+                    break;
+                case "key": {
+                    KeypadEngine.Key key = getKey(argument, lineNumber);
+                    long keyStart = System.nanoTime();
+                    engine.press(key);
+                    latencies.record(System.nanoTime() - keyStart);
+                    keys++;
+                    break;
+                }
+                case "paste": {
+                    long keyStart = System.nanoTime();
+                    try {
+                        engine.paste(argument);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected: number at line " + lineNumber
+                                + ", actual: " + argument);
+                    }
+                    latencies.record(System.nanoTime() - keyStart);
+                    keys++;
+                    break;
+                }
+                case "display":
+                case "history": {
+                    CharSequence actual = command.equals("display") ? engine.getDisplay() : engine.getHistory();
+                    checks++;
+                    if (!argument.contentEquals(actual)) {
+                        divergenceCount++;
+                        if (divergences.size() < maxDivergences) {
+                            divergences.add(new Divergence(lineNumber, session, command, argument, actual.toString()));
+                        }
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Expected: session, key, paste, display or history "
+                            + "at line " + lineNumber + ", actual: " + line);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new ReplayReport(sessions, keys, checks, divergenceCount, divergences, elapsed, latencies);
+    }
+
+    /**
+     * Clears calculator, its memory and memory indicator.
+     */
+    private void clear() {
+        engine.pressClearButton();
+        engine.pressOperationButton(Operation.MC);
+    }
+
+    /**
+     * Returns key for its name.
+     *
+     * @param name       - name of key.
+     * @param lineNumber - number of log line.
+     * @return key.
+     * @throws IllegalArgumentException - if key is unknown
+     */
+    private static KeypadEngine.Key getKey(String name, long lineNumber) {
+        try {
+            return KeypadEngine.Key.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Expected: key at line " + lineNumber + ", actual: " + name);
+        }
+    }
+
+    /**
+     * Replays given logs and prints their reports.
+     *
+     * @param args - paths of logs.
+     * @throws IOException - if log can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: SessionReplayer log...");
+            return;
+        }
+        boolean passed = true;
+        for (String path : args) {
+            ReplayReport report = new SessionReplayer().replay(Paths.get(path));
+            System.out.println(path + ": " + report);
+            passed &= report.isPassed();
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.implemica.zavizionov.calculator.server;
+
+import com.implemica.zavizionov.calculator.CalculatorController;
+import com.implemica.zavizionov.calculator.CalculatorSessionPool;
+import com.implemica.zavizionov.calculator.OperationMetrics;
+import com.implemica.zavizionov.calculator.SlowOperationSampler;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Line-protocol calculator server. Every connection is a session,
+ * that is served by its own thread and owns its own calculator controller.
+ * Controllers are taken from pool and are returned to it, when session ends.
+ * On Java 21+ sessions are served by virtual threads, so one server
+ * can keep tens of thousands of sessions. Protocol is described
+ * in CalculatorSession.
+ * Example: java com.implemica.zavizionov.calculator.server.CalculatorServer 7070
+ *
+ * @author Zavizionov Andrii
+ */
+public final class CalculatorServer implements Closeable {
+
+    /**
+     * Max count of connections, that wait for accepting.
+     */
+    private static final int BACKLOG = 4096;
+
+    /**
+     * Max length of request line, longer requests get error reply.
+     */
+    public static final int MAX_LINE_LENGTH = 4096;
+
+    /**
+     * Reply for request, that is longer than max length.
+     */
+    private static final String TOO_LONG_REPLY = "ERROR request is longer than " + MAX_LINE_LENGTH + " symbols";
+
+    /**
+     * Socket, that accepts connections.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * Executor, that serves sessions.
+     */
+    private final ExecutorService sessionExecutor = SessionExecutors.newPerSessionExecutor();
+
+    /**
+     * Pool of session controllers.
+     */
+    private final CalculatorSessionPool controllerPool = new CalculatorSessionPool();
+
+    /**
+     * Metrics of operations of all sessions.
+     */
+    private final OperationMetrics operationMetrics = new OperationMetrics();
+
+    /**
+     * Sampler of slow operations of all sessions.
+     */
+    private final SlowOperationSampler slowOperations = new SlowOperationSampler();
+
+    /**
+     * Sockets of open sessions, are closed with server.
+     */
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Count of open sessions.
+     */
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    /**
+     * Max count of sessions, that were open at once.
+     */
+    private final AtomicInteger peakSessions = new AtomicInteger();
+
+    /**
+     * Count of handled requests.
+     */
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Thread, that accepts connections.
+     */
+    private final Thread acceptor;
+
+    /**
+     * Creates server and starts accepting connections.
+     *
+     * @param port - port to listen, 0 for any free port.
+     * @throws IOException - if port can't be bound
+     */
+    public CalculatorServer(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), BACKLOG);
+        acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                accept();
+            }
+        }, "calculator-server-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Accepts connections until server is closed.
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                //server socket is closed
+                return;
+            }
+            sockets.add(socket);
+            try {
+                sessionExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                //server is closed meanwhile
+                sockets.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Serves session of given connection until client quits or disconnects.
+     *
+     * @param socket - socket of connection.
+     */
+    private void serve(Socket socket) {
+        int active = activeSessions.incrementAndGet();
+        int peak;
+        do {
+            peak = peakSessions.get();
+        } while (active > peak && !peakSessions.compareAndSet(peak, active));
+
+        CalculatorController controller = controllerPool.acquire();
+        controller.setMetrics(operationMetrics);
+        controller.setSampler(slowOperations);
+        CalculatorSession session = new CalculatorSession(controller);
+        try (Socket connection = socket;
+             Reader input = new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(),
+                     StandardCharsets.US_ASCII))) {
+            connection.setTcpNoDelay(true);
+            RequestReader reader = new RequestReader(input, MAX_LINE_LENGTH);
+            String line;
+            while (!session.isClosed() && (line = reader.readLine()) != null) {
+                writer.write(reader.isTruncated() ? TOO_LONG_REPLY : session.handle(line));
+                writer.write('\n');
+                writer.flush();
+                requestCount.incrementAndGet();
+            }
+        } catch (SocketException e) {
+            //client or server has closed connection
+        } catch (IOException e) {
+            //connection is broken, session ends
+        } finally {
+            controllerPool.release(session.getController());
+            sockets.remove(socket);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns port, that server listens.
+     *
+     * @return local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns count of open sessions.
+     *
+     * @return count of sessions.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Returns max count of sessions, that were open at once.
+     *
+     * @return peak count of sessions.
+     */
+    public int getPeakSessions() {
+        return peakSessions.get();
+    }
+
+    /**
+     * Returns count of handled requests.
+     *
+     * @return count of requests.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Returns pool of session controllers with its metrics.
+     *
+     * @return controller pool.
+     */
+    public CalculatorSessionPool getControllerPool() {
+        return controllerPool;
+    }
+
+    /**
+     * Returns metrics of operations of all sessions.
+     *
+     * @return operation metrics.
+     */
+    public OperationMetrics getOperationMetrics() {
+        return operationMetrics;
+    }
+
+    /**
+     * Returns sampler of slow operations of all sessions, its samples can be dumped to file.
+     *
+     * @return slow operation sampler.
+     */
+    public SlowOperationSampler getSlowOperations() {
+        return slowOperations;
+    }
+
+    /**
+     * Tells if sessions are served by virtual threads.
+     *
+     * @return true on Java 21+.
+     */
+    public boolean isVirtualThreads() {
+        return SessionExecutors.isVirtual();
+    }
+
+    /**
+     * Stops accepting connections and closes all sessions.
+     *
+     * @throws IOException - if server socket can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Socket socket : sockets) {
+            closeQuietly(socket);
+        }
+        sessionExecutor.shutdown();
+        try {
+            sessionExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes socket, errors are ignored.
+     *
+     * @param socket - socket to close.
+     */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //socket is closed anyway
+        }
+    }
+
+    /**
+     * Starts server on given port, 7070 by default.
+     *
+     * @param args - port.
+     * @throws IOException - if port can't be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        CalculatorServer server = new CalculatorServer(port);
+        System.out.println("Calculator server is listening on port " + server.getPort()
+                + (server.isVirtualThreads() ? " with virtual threads" : " with platform threads"));
+    }
+}
@@ -0,0 +1,274 @@
+package com.implemica.zavizionov.calculator.server;
+
+import com.implemica.zavizionov.calculator.CalculationResult;
+import com.implemica.zavizionov.calculator.Calculator;
+import com.implemica.zavizionov.calculator.CalculatorController;
+import com.implemica.zavizionov.calculator.DecimalParser;
+import com.implemica.zavizionov.calculator.ExpressionEvaluator;
+import com.implemica.zavizionov.calculator.Operation;
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+
+import java.math.BigDecimal;
+
+/**
+ * State of one client of calculator server. Owns its calculator controller
+ * and turns protocol lines to calls of controller.
+ * Every request is one line: command and its argument, separated by space.
+ * Every reply is one line: "OK" with optional number, or "ERROR" with reason.
+ * <pre>
+ * SET 3 +     - sets left operand and operation          OK
+ * RESULT 5    - result of operation                      OK 8
+ * ONGO 2      - result of next operation in sequence     OK 10
+ * AGAIN 1     - result of operation for new left operand OK 3
+ * PERCENT 50  - percent from left operand                OK 5
+ * SQRT 2, NEGATE 2, REVERSE 2                            OK 1.41...
+ * MSTORE 1, MADD 1, MSUB 1, MR, MC                       OK [memory]
+ * CLEAR       - resets operands and operation            OK
+ * EVAL 3+5*2= - evaluates expression                     OK 16
+ * QUIT        - closes connection                        BYE
+ * </pre>
+ * Session is used by one thread of its connection.
+ *
+ * @author Zavizionov Andrii
+ */
+public final class CalculatorSession {
+
+    /**
+     * Reply for successful command without value.
+     */
+    static final String OK = "OK";
+
+    /**
+     * Prefix of reply with value.
+     */
+    private static final String OK_PREFIX = "OK ";
+
+    /**
+     * Prefix of error reply.
+     */
+    private static final String ERROR_PREFIX = "ERROR ";
+
+    /**
+     * Reply for quit command.
+     */
+    static final String BYE = "BYE";
+
+    /**
+     * Controller of session calculator.
+     */
+    private final CalculatorController controller;
+
+    /**
+     * Parser of number arguments.
+     */
+    private final DecimalParser parser = new DecimalParser();
+
+    /**
+     * Evaluator of expressions, created on first EVAL command.
+     */
+    private ExpressionEvaluator evaluator;
+
+    /**
+     * Is true after quit command.
+     */
+    private boolean closed;
+
+    /**
+     * Creates session with new controller.
+     */
+    public CalculatorSession() {
+        this(CalculatorController.getInstance());
+    }
+
+    /**
+     * Creates session with given controller, for example, controller from pool.
+     *
+     * @param controller - controller of session calculator.
+     */
+    public CalculatorSession(CalculatorController controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Returns controller of session calculator.
+     *
+     * @return controller.
+     */
+    public CalculatorController getController() {
+        return controller;
+    }
+
+    /**
+     * Handles one request line.
+     *
+     * @param line - request line.
+     * @return reply line.
+     */
+    public String handle(String line) {
+        String command = line.trim();
+        String argument = "";
+        int space = command.indexOf(' ');
+        if (space >= 0) {
+            argument = command.substring(space + 1).trim();
+            command = command.substring(0, space);
+        }
+        try {
+            return handle(command.toUpperCase(), argument);
+        } catch (IllegalArgumentException e) {
+            return ERROR_PREFIX + e.getMessage();
+        } catch (DivideByZeroException e) {
+            return ERROR_PREFIX + "DIVIDE_BY_ZERO";
+        } catch (NumberOverflowException | ArithmeticException e) {
+            //arithmetic exception: exponent of result overflows int, like reverse of 1E-2147483647
+            return ERROR_PREFIX + "OVERFLOW";
+        } catch (RuntimeException e) {
+            //session is kept alive, client gets reason instead of dropped connection
+            return ERROR_PREFIX + e;
+        }
+    }
+
+    /**
+     * Performs command.
+     *
+     * @param command  - command in upper case.
+     * @param argument - argument of command, empty if there is no argument.
+     * @return reply line.
+     * @throws IllegalArgumentException - if command or argument is wrong
+     * @throws DivideByZeroException    - if zero is reversed
+     * @throws NumberOverflowException  - if percent overflows max scale
+     */
+    private String handle(String command, String argument) throws DivideByZeroException, NumberOverflowException {
+        switch (command) {
+            case "SET":
+                return set(argument);
+            case "RESULT":
+                return reply(controller.tryGetResult(parse(argument)));
+            case "ONGO":
+                return reply(controller.tryGetResultOnGo(parse(argument)));
+            case "AGAIN":
+                return reply(controller.tryGetResultAfterEqual(parse(argument)));
+            case "PERCENT":
+                return reply(controller.getPercent(parse(argument)));
+            case "SQRT":
+                return reply(controller.getSqrt(parse(argument)));
+            case "NEGATE":
+                return reply(controller.getInverted(parse(argument)));
+            case "REVERSE":
+                return reply(controller.getReversed(parse(argument)));
+            case "MSTORE":
+                controller.memoryStore(parse(argument));
+                return OK;
+            case "MADD":
+                controller.memoryAdd(parse(argument));
+                return OK;
+            case "MSUB":
+                controller.memorySubtract(parse(argument));
+                return OK;
+            case "MR":
+                return reply(controller.memoryRecall());
+            case "MC":
+                controller.memoryClear();
+                return OK;
+            case "CLEAR":
+                controller.clear();
+                return OK;
+            case "EVAL":
+                if (evaluator == null) {
+                    evaluator = new ExpressionEvaluator();
+                }
+                return reply(evaluator.tryEvaluate(argument));
+            case "QUIT":
+                closed = true;
+                return BYE;
+            default:
+                throw new IllegalArgumentException("Expected: command, actual: " + command);
+        }
+    }
+
+    /**
+     * Performs SET command with argument, like "3 +"
+     *
+     * @param argument - left operand and sign of operation.
+     * @return reply line.
+     */
+    private String set(String argument) {
+        int space = argument.lastIndexOf(' ');
+        if (space < 0) {
+            throw new IllegalArgumentException("Expected: number and operation, actual: " + argument);
+        }
+        controller.setOperation(parse(argument.substring(0, space).trim()), getOperation(argument.substring(space + 1)));
+        return OK;
+    }
+
+    /**
+     * Returns true after quit command.
+     *
+     * @return true if connection of session should be closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns two-operand operation for its sign.
+     *
+     * @param sign - sign of operation.
+     * @return operation.
+     * @throws IllegalArgumentException - if sign is unknown
+     */
+    private static Operation getOperation(String sign) {
+        for (Operation operation : Operation.values()) {
+            if (!operation.getSign().isEmpty() && operation.getSign().equals(sign)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Expected: +, -, * or /, actual: " + sign);
+    }
+
+    /**
+     * Parses number argument.
+     *
+     * @param argument - number.
+     * @return parsed number.
+     * @throws IllegalArgumentException - if argument is not a number or its scale is out of calculator range
+     */
+    private BigDecimal parse(String argument) {
+        BigDecimal number;
+        try {
+            parser.parse(argument);
+            number = parser.toBigDecimal();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected: number, actual: " + argument);
+        }
+        //client can't make session build numbers of millions of digits, like 1E+20000000
+        if (Math.abs((long) number.scale()) > Calculator.MAX_SCALE) {
+            throw new IllegalArgumentException("Expected: number with absolute scale up to "
+                    + Calculator.MAX_SCALE + ", actual: " + argument);
+        }
+        return number;
+    }
+
+    /**
+     * Returns reply with result or its error status.
+     *
+     * @param result - result of operation.
+     * @return reply line.
+     */
+    private static String reply(CalculationResult result) {
+        if (result.isError()) {
+            return ERROR_PREFIX + result.getStatus();
+        }
+        return reply(result.getValue());
+    }
+
+    /**
+     * Returns reply with number.
+     *
+     * @param value - number.
+     * @return reply line.
+     */
+    private static String reply(BigDecimal value) {
+        return OK_PREFIX + value.stripTrailingZeros().toString();
+    }
+}
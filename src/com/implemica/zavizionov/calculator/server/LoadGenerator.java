@@ -0,0 +1,265 @@
+package com.implemica.zavizionov.calculator.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local load generator for calculator server. Opens given count of sessions,
+ * waits until all of them are connected, so they are served at once,
+ * then every session sends given count of requests and checks replies.
+ * Prints throughput, latency percentiles and peak count of sessions.
+ * <p>
+ * Usage: LoadGenerator [sessions] [requests per session] [host port]
+ * Without host and port local server is started in the same JVM.
+ * Many sessions need big limit of open files (ulimit -n).
+ *
+ * @author Zavizionov Andrii
+ */
+public final class LoadGenerator {
+
+    /**
+     * Request, that is sent by sessions.
+     */
+    private static final String REQUEST = "EVAL 3+5*2-0.5/4=";
+
+    /**
+     * Expected reply for request.
+     */
+    private static final String EXPECTED_REPLY = "OK 3.875";
+
+    /**
+     * Count of sessions.
+     */
+    private final int sessions;
+
+    /**
+     * Count of requests of every session.
+     */
+    private final int requests;
+
+    /**
+     * Host of server.
+     */
+    private final String host;
+
+    /**
+     * Port of server.
+     */
+    private final int port;
+
+    /**
+     * Creates load generator.
+     *
+     * @param sessions - count of sessions.
+     * @param requests - count of requests of every session.
+     * @param host     - host of server.
+     * @param port     - port of server.
+     */
+    public LoadGenerator(int sessions, int requests, String host, int port) {
+        if (sessions <= 0 || requests <= 0) {
+            throw new IllegalArgumentException("Expected: positive counts, actual: " + sessions + ", " + requests);
+        }
+        this.sessions = sessions;
+        this.requests = requests;
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Runs all sessions and waits for them.
+     *
+     * @return report of run.
+     * @throws Exception - if some session has failed
+     */
+    public Report run() throws Exception {
+        final CountDownLatch connected = new CountDownLatch(sessions);
+        final long[][] latencies = new long[sessions][];
+        ExecutorService executor = SessionExecutors.newPerSessionExecutor();
+        List<Future<?>> futures = new ArrayList<>(sessions);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                final int session = i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        latencies[session] = runSession(connected);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = new long[sessions * requests];
+        for (int i = 0; i < sessions; i++) {
+            System.arraycopy(latencies[i], 0, all, i * requests, requests);
+        }
+        Arrays.sort(all);
+        return new Report(sessions, all.length, elapsed, all[all.length / 2], all[(int) (all.length * 0.99)]);
+    }
+
+    /**
+     * Connects, waits for other sessions and sends requests.
+     *
+     * @param connected - latch of connected sessions.
+     * @return latencies of requests in nanoseconds.
+     * @throws IOException - if connection is broken or reply is wrong
+     */
+    private long[] runSession(CountDownLatch connected) throws IOException, InterruptedException {
+        long[] latencies = new long[requests];
+        try (Socket socket = new Socket(host, port);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.US_ASCII));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                     StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            //first request makes sure, that session is served
+            request(reader, writer, "CLEAR", CalculatorSession.OK);
+            connected.countDown();
+            if (!connected.await(5, TimeUnit.MINUTES)) {
+                throw new IOException("Not all sessions are connected");
+            }
+            for (int i = 0; i < requests; i++) {
+                long start = System.nanoTime();
+                request(reader, writer, REQUEST, EXPECTED_REPLY);
+                latencies[i] = System.nanoTime() - start;
+            }
+            request(reader, writer, "QUIT", CalculatorSession.BYE);
+        }
+        return latencies;
+    }
+
+    /**
+     * Sends request and checks its reply.
+     *
+     * @param reader   - reader of replies.
+     * @param writer   - writer of requests.
+     * @param request  - request line.
+     * @param expected - expected reply.
+     * @throws IOException - if connection is broken or reply is wrong
+     */
+    private static void request(BufferedReader reader, Writer writer, String request, String expected) throws IOException {
+        writer.write(request);
+        writer.write('\n');
+        writer.flush();
+        String reply = reader.readLine();
+        if (!expected.equals(reply)) {
+            throw new IOException("Expected: " + expected + ", actual: " + reply);
+        }
+    }
+
+    /**
+     * Results of load generator run.
+     */
+    public static final class Report {
+
+        /**
+         * Count of sessions.
+         */
+        private final int sessions;
+
+        /**
+         * Count of all requests.
+         */
+        private final long requests;
+
+        /**
+         * Time of run in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        /**
+         * Median latency in nanoseconds.
+         */
+        private final long p50Nanos;
+
+        /**
+         * 99th percentile of latency in nanoseconds.
+         */
+        private final long p99Nanos;
+
+        /**
+         * Creates report.
+         *
+         * @param sessions     - count of sessions.
+         * @param requests     - count of all requests.
+         * @param elapsedNanos - time of run in nanoseconds.
+         * @param p50Nanos     - median latency in nanoseconds.
+         * @param p99Nanos     - 99th percentile of latency in nanoseconds.
+         */
+        Report(int sessions, long requests, long elapsedNanos, long p50Nanos, long p99Nanos) {
+            this.sessions = sessions;
+            this.requests = requests;
+            this.elapsedNanos = elapsedNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        /**
+         * Returns count of all requests.
+         *
+         * @return count of requests.
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * Returns throughput of run.
+         *
+         * @return requests per second.
+         */
+        public double getRequestsPerSecond() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sessions: %d, requests: %d, time: %.2f s, throughput: %.0f req/s, "
+                            + "p50: %.1f us, p99: %.1f us", sessions, requests, elapsedNanos / 1e9,
+                    getRequestsPerSecond(), p50Nanos / 1e3, p99Nanos / 1e3);
+        }
+    }
+
+    /**
+     * Runs load generator.
+     *
+     * @param args - [sessions] [requests per session] [host port]
+     * @throws Exception - if some session has failed
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        if (args.length > 3) {
+            System.out.println(new LoadGenerator(sessions, requests, args[2], Integer.parseInt(args[3])).run());
+            return;
+        }
+        try (CalculatorServer server = new CalculatorServer(0)) {
+            System.out.println("Local server with " + (server.isVirtualThreads() ? "virtual" : "platform")
+                    + " threads on port " + server.getPort());
+            Report report = new LoadGenerator(sessions, requests, "localhost", server.getPort()).run();
+            System.out.println(report);
+            System.out.println("peak sessions: " + server.getPeakSessions());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.implemica.zavizionov.calculator.server;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads request lines of one connection with bounded length. Line ends with '\n',
+ * '\r' is skipped. If line is longer than max length, its first max length symbols
+ * are kept, the rest is skipped up to end of line, so client, that never sends
+ * end of line, can't grow memory of session.
+ * Reader is used by one thread of its connection.
+ *
+ * @author Zavizionov Andrii
+ */
+final class RequestReader {
+
+    /**
+     * Size of read buffer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Source of requests.
+     */
+    private final Reader in;
+
+    /**
+     * Max count of kept symbols of line.
+     */
+    private final int maxLineLength;
+
+    /**
+     * Read buffer.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Kept symbols of current line.
+     */
+    private final StringBuilder line;
+
+    /**
+     * Index of next unread symbol in buffer.
+     */
+    private int position;
+
+    /**
+     * Count of read symbols in buffer.
+     */
+    private int limit;
+
+    /**
+     * Is true, if last line was longer than max length.
+     */
+    private boolean truncated;
+
+    /**
+     * Creates reader.
+     *
+     * @param in            - source of requests.
+     * @param maxLineLength - max count of kept symbols of line.
+     * @throws IllegalArgumentException - if source is null or max length is not positive
+     */
+    RequestReader(Reader in, int maxLineLength) {
+        if (in == null || maxLineLength <= 0) {
+            throw new IllegalArgumentException("Expected: reader and positive max line length, actual: "
+                    + in + ", " + maxLineLength);
+        }
+        this.in = in;
+        this.maxLineLength = maxLineLength;
+        this.line = new StringBuilder(Math.min(maxLineLength, BUFFER_SIZE));
+    }
+
+    /**
+     * Reads next line.
+     *
+     * @return line without end of line, truncated to max length, null at end of stream.
+     * @throws IOException - if source can't be read
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        truncated = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer, 0, BUFFER_SIZE);
+                position = 0;
+                if (limit < 0) {
+                    limit = 0;
+                    return read ? line.toString() : null;
+                }
+            }
+            read = true;
+            char symbol = buffer[position++];
+            if (symbol == '\n') {
+                return line.toString();
+            }
+            if (symbol == '\r') {
+                continue;
+            }
+            if (line.length() < maxLineLength) {
+                line.append(symbol);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    /**
+     * Tells if last read line was longer than max length.
+     *
+     * @return true if end of last line was skipped.
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+}
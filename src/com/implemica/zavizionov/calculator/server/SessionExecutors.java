@@ -0,0 +1,66 @@
+package com.implemica.zavizionov.calculator.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors, that run every session in its own thread.
+ * Virtual threads are used when Java runtime has them (Java 21+),
+ * so blocked sessions cost only a few kilobytes of heap. Older runtimes
+ * get cached pool of platform threads.
+ *
+ * @author Zavizionov Andrii
+ */
+final class SessionExecutors {
+
+    /**
+     * Factory method of virtual thread executor, null if runtime has no virtual threads.
+     */
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = getVirtualExecutorFactory();
+
+    /**
+     * Class has only static methods.
+     */
+    private SessionExecutors() {
+
+    }
+
+    /**
+     * Creates executor with new thread for every task.
+     *
+     * @return virtual thread per task executor or cached thread pool.
+     */
+    static ExecutorService newPerSessionExecutor() {
+        if (VIRTUAL_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                //virtual threads are not available, platform threads are used
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Tells if executors run sessions in virtual threads.
+     *
+     * @return true if runtime has virtual threads.
+     */
+    static boolean isVirtual() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Finds Executors.newVirtualThreadPerTaskExecutor method.
+     *
+     * @return method, null if runtime has no virtual threads.
+     */
+    private static Method getVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for batch evaluator class
+ *
+ * @author Zavizionov Andrii
+ */
+public class BatchEvaluatorTest {
+
+    private static List<KeypadEngine.Key> keys(long number, KeypadEngine.Key... next) {
+        List<KeypadEngine.Key> keys = new ArrayList<>();
+        for (char digit : String.valueOf(number).toCharArray()) {
+            keys.add(KeypadEngine.Key.ofDigit(digit - '0'));
+        }
+        keys.addAll(Arrays.asList(next));
+        return keys;
+    }
+
+    @Test
+    public void testOrderIsPreserved() {
+        List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            expressions.add(i + "*2+1=");
+        }
+        List<CalculationResult> results = CalculatorController.evaluateBatch(expressions, PrecisionPolicy.DEFAULT, 4);
+        assertEquals(expressions.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(CalculationResult.of(BigDecimal.valueOf(i * 2 + 1)), results.get(i));
+        }
+    }
+
+    @Test
+    public void testErrors() {
+        List<CalculationResult> results = CalculatorController.evaluateBatch(Arrays.asList("1/0", "1E-6000*1E-6000", "1/4"));
+        assertEquals(ResultStatus.DIVIDE_BY_ZERO, results.get(0).getStatus());
+        assertEquals(ResultStatus.OVERFLOW, results.get(1).getStatus());
+        assertEquals(CalculationResult.of(new BigDecimal("0.25")), results.get(2));
+        assertTrue(new BatchEvaluator().evaluate(Collections.<String>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testMalformed() {
+        try {
+            CalculatorController.evaluateBatch(Arrays.asList("1+1", "1+"));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("index 1"));
+        }
+    }
+
+    @Test
+    public void testKeystrokeBatch() {
+        List<List<KeypadEngine.Key>> sequences = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            sequences.add(keys(i, KeypadEngine.Key.MULTIPLY, KeypadEngine.Key.TWO, KeypadEngine.Key.PLUS,
+                    KeypadEngine.Key.ONE, KeypadEngine.Key.EQUAL));
+        }
+        List<String> displays = CalculatorController.pressBatch(sequences, PrecisionPolicy.DEFAULT, 4);
+        assertEquals(sequences.size(), displays.size());
+        for (int i = 0; i < displays.size(); i++) {
+            assertEquals(String.valueOf(i * 2 + 1), displays.get(i));
+        }
+    }
+
+    @Test
+    public void testKeystrokeSequencesAreIndependent() {
+        List<String> displays = CalculatorController.pressBatch(Arrays.asList(
+                keys(5, KeypadEngine.Key.MS, KeypadEngine.Key.PLUS),
+                keys(1, KeypadEngine.Key.DIVIDE, KeypadEngine.Key.ZERO, KeypadEngine.Key.EQUAL),
+                Arrays.asList(KeypadEngine.Key.MR),
+                keys(7, KeypadEngine.Key.EQUAL)));
+        assertEquals("5", displays.get(0));
+        assertEquals(KeypadEngine.DIVIDE_BY_ZERO_MESSAGE, displays.get(1));
+        assertEquals("0", displays.get(2));
+        assertEquals("7", displays.get(3));
+        assertTrue(new BatchEvaluator().press(Collections.<List<KeypadEngine.Key>>emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for calculator session pool class
+ *
+ * @author Zavizionov Andrii
+ */
+public class CalculatorSessionPoolTest {
+
+    /**
+     * Clock, that is moved by tests.
+     */
+    private long now;
+
+    private CalculatorSessionPool createPool(int maxIdle) {
+        return new CalculatorSessionPool(maxIdle, 1000, PrecisionPolicy.DEFAULT, new CalculatorSessionPool.Clock() {
+            @Override
+            public long nanoTime() {
+                return now;
+            }
+        });
+    }
+
+    @Test
+    public void testReuseAndReset() throws Exception {
+        CalculatorSessionPool pool = createPool(2);
+        CalculatorController controller = pool.acquire();
+        controller.setOperation(BigDecimal.ONE, Operation.PLUS);
+        controller.getResult(BigDecimal.TEN);
+        controller.memoryStore(BigDecimal.TEN);
+        controller.setPrecisionPolicy(PrecisionPolicy.fixedScale(2));
+        controller.setLightweightExceptions(true);
+        pool.release(controller);
+
+        assertSame(controller, pool.acquire());
+        assertEquals(Operation.NOOP, controller.getOperation());
+        assertEquals(BigDecimal.ZERO, controller.memoryRecall());
+        assertSame(PrecisionPolicy.DEFAULT, controller.getPrecisionPolicy());
+        assertFalse(controller.isLightweightExceptions());
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+        assertEquals(1, pool.getActiveCount());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        CalculatorSessionPool pool = createPool(2);
+        CalculatorController first = pool.acquire();
+        CalculatorController second = pool.acquire();
+        CalculatorController third = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(1, pool.getDiscardedCount());
+        assertEquals(0, pool.getActiveCount());
+        //last released is handed out first
+        assertSame(second, pool.acquire());
+    }
+
+    @Test
+    public void testIdleEviction() {
+        CalculatorSessionPool pool = createPool(4);
+        CalculatorController old = pool.acquire();
+        CalculatorController recent = pool.acquire();
+        pool.release(old);
+        now += TimeUnit.MILLISECONDS.toNanos(600);
+        pool.release(recent);
+        now += TimeUnit.MILLISECONDS.toNanos(600);
+
+        pool.evictIdle();
+        assertEquals(1, pool.getEvictedCount());
+        assertEquals(1, pool.getIdleCount());
+        assertSame(recent, pool.acquire());
+        assertNotSame(old, pool.acquire());
+        assertEquals(3, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testDoubleRelease() {
+        CalculatorSessionPool pool = createPool(1);
+        CalculatorController first = pool.acquire();
+        CalculatorController second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+        assertRejected(pool, first);
+        assertRejected(pool, second);
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, pool.getDiscardedCount());
+        assertEquals(0, pool.getActiveCount());
+
+        CalculatorController reused = pool.acquire();
+        assertSame(first, reused);
+        pool.release(reused);
+        assertRejected(pool, reused);
+        assertSame(reused, pool.acquire());
+        assertNotSame(reused, pool.acquire());
+        //controller, that was not handed out by pool
+        assertRejected(pool, CalculatorController.getInstance(PrecisionPolicy.DEFAULT));
+    }
+
+    private static void assertRejected(CalculatorSessionPool pool, CalculatorController controller) {
+        try {
+            pool.release(controller);
+            fail("Expected IllegalArgumentException for second release");
+        } catch (IllegalArgumentException e) {
+            //correct for released controller
+        }
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.Test;
 
 import java.math.BigDecimal;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.Assert.fail;
 
@@ -156,6 +159,19 @@ public class CalculatorTest {
         assertOperation("99999999999999999999", "99999999999999999999", Operation.DIVIDE, "1");
     }
 
+    @Test
+    public void testDividePrecisionPolicy() throws Exception {
+        Calculator calc = new Calculator(PrecisionPolicy.fixedScale(2));
+        calc.setOperation(asBD("1"), Operation.DIVIDE);
+        assertEqualsBD(asBD("0.33"), calc.getResult(asBD("3")));
+        assertEqualsBD(asBD("0.5"), calc.getReversed(asBD("2")));
+
+        calc.setPrecisionPolicy(PrecisionPolicy.exactOrSignificant(3));
+        calc.setOperation(asBD("2"), Operation.DIVIDE);
+        assertEqualsBD(asBD("0.667"), calc.getResult(asBD("3")));
+        assertEqualsBD(asBD("0.0009765625"), calc.getReversed(asBD("1024")));
+    }
+
     @Test
     public void testDivideBadArguments() throws Exception {
         assertDivideByZero("5", "0", Operation.DIVIDE);
@@ -188,18 +204,35 @@ public class CalculatorTest {
         assertOperation("9", Operation.SQRT, "3");
         assertOperation("0.01", Operation.SQRT, "0.1");
         assertOperation("0.00000001", Operation.SQRT, "0.0001");
-        assertOperation("999999999999", Operation.SQRT, "999999.9999995");
-        assertOperation("123456789123", Operation.SQRT, "351364.18303947826");
+        assertOperation("999999999999", Operation.SQRT,
+                "999999.9999994999999999998749999999999374999999999609374999999727");
+        assertOperation("123456789123", Operation.SQRT,
+                "351364.1830394782854097019117357077302882777249581794055762834635");
+        assertOperation("2", Operation.SQRT,
+                "1.414213562373095048801688724209698078569671875376948073176679738");
         assertOperation("100000000000000000000", Operation.SQRT, "10000000000");
+        assertOperation("99999999999999999980000000000000000001", Operation.SQRT, "9999999999999999999");
+        assertOperation("1E400", Operation.SQRT, "1E200");
+        assertOperation("4E-9998", Operation.SQRT, "2E-4999");
+        assertOperation("1E9999", Operation.SQRT, "3.162277660168379331998893544432718533719555139325216826857504853E4999");
+    }
+
+    @Test
+    public void testSqrtPrecisionPolicy() throws Exception {
+        Calculator calc = new Calculator(PrecisionPolicy.exactOrSignificant(5));
+        assertEqualsBD(asBD("1.4142"), calc.getSqrt(asBD("2")));
+        assertEqualsBD(asBD("3.9040E+7"), calc.getSqrt(asBD("1524157875323883")));
+        assertEqualsBD(asBD("1.5"), calc.getSqrt(asBD("2.25")));
+
+        calc.setPrecisionPolicy(PrecisionPolicy.fixedScale(3));
+        assertEqualsBD(asBD("1.414"), calc.getSqrt(asBD("2")));
+        assertEqualsBD(asBD("141.421"), calc.getSqrt(asBD("20000")));
     }
 
     @Test
     public void testSqrtBadArguments() throws NumberOverflowException, DivideByZeroException {
         assertSqrtBadArguments("-1");
         assertSqrtBadArguments("-123456789");
-        assertSqrtBadArguments(new BigDecimal(Double.toString(Double.MAX_VALUE))
-                .add(BigDecimal.valueOf(Double.MAX_VALUE))
-                .toString());
         assertSqrtBadArguments(new BigDecimal(Double.toString(Double.MIN_VALUE))
                 .subtract(BigDecimal.valueOf(Double.MAX_VALUE))
                 .toString());
@@ -321,4 +354,187 @@ public class CalculatorTest {
             //correct for this value
         }
     }
-}
\ No newline at end of file
+
+    private void assertOverflow(String leftOperand, String rightOperand, Operation op) throws DivideByZeroException {
+        Calculator calc = new Calculator();
+        calc.setOperation(asBD(leftOperand), op);
+        try {
+            BigDecimal result = calc.getResult(asBD(rightOperand));
+            fail("NumberOverflowException expected for resulting value: " + result);
+        } catch (NumberOverflowException e) {
+            //correct for this value
+        }
+    }
+
+    @Test
+    public void testNumberOverflowBeforeOperation() throws Exception {
+        assertOverflow("1E-6000", "1E-6000", Operation.MULTIPLY);
+        assertOverflow("1E-10001", "1", Operation.PLUS);
+        assertOverflow("1E10001", "1E10001", Operation.MINUS);
+        assertOverflow("7E-9000", "3E2000", Operation.DIVIDE);
+        assertOverflow("1E-10001", "1", Operation.DIVIDE);
+        assertOverflow("1E+20000000", "1", Operation.PLUS);
+        assertOverflow("1", "1E+2147483647", Operation.PLUS);
+        assertOverflow("1E+2147483647", "1", Operation.MINUS);
+        assertOverflow("1E+10000", "1E-1", Operation.MINUS);
+        assertOverflow("1E-5001", "1E+5000", Operation.PLUS);
+
+        assertOperation("1E-5000", "1E-5000", Operation.MULTIPLY, "1E-10000");
+        assertOperation(asBD("1E-10000"), asBD("1"), Operation.PLUS, asBD("1E-10000").add(BigDecimal.ONE));
+        assertOperation("1E-9000", "1E1000", Operation.DIVIDE, "1E-10000");
+        assertOperation(asBD("1E+10000"), asBD("1"), Operation.PLUS, asBD("1E+10000").add(BigDecimal.ONE));
+        assertOperation(asBD("1E-5000"), asBD("1E+5000"), Operation.MINUS, asBD("1E-5000").subtract(asBD("1E+5000")));
+    }
+
+    @Test
+    public void testDivideOverflowWithPrecisionPolicy() throws Exception {
+        Calculator calc = new Calculator(PrecisionPolicy.fixedScale(10000));
+        calc.setOperation(asBD("1E-9000"), Operation.DIVIDE);
+        assertEqualsBD(BigDecimal.ZERO, calc.getResult(asBD("1E2000")));
+        calc.setOperation(asBD("7E-9000"), Operation.DIVIDE);
+        assertEqualsBD(BigDecimal.ZERO, calc.getResult(asBD("3E2000")));
+
+        calc.setPrecisionPolicy(PrecisionPolicy.fixedScale(20000));
+        calc.setOperation(asBD("1E-15000"), Operation.DIVIDE);
+        assertEqualsBD(BigDecimal.ZERO, calc.getResult(asBD("1E10000")));
+        calc.setOperation(asBD("1E-9000"), Operation.DIVIDE);
+        try {
+            BigDecimal result = calc.getResult(asBD("1E2000"));
+            fail("NumberOverflowException expected for resulting value: " + result);
+        } catch (NumberOverflowException e) {
+            //correct for this value
+        }
+
+        calc.setPrecisionPolicy(PrecisionPolicy.of(new java.math.MathContext(2)));
+        calc.setOperation(asBD("9.99E-10001"), Operation.DIVIDE);
+        assertEqualsBD(asBD("1E-10000"), calc.getResult(BigDecimal.ONE));
+    }
+
+    @Test
+    public void testPercentOverflow() throws Exception {
+        assertTrue(OverflowEstimator.isOverflow(Operation.PERCENT, asBD("1E-6000"), asBD("1E-6000"),
+                Arithmetic.MAX_SCALE, PrecisionPolicy.DEFAULT));
+        assertTrue(!OverflowEstimator.isOverflow(Operation.PERCENT, asBD("1E-5000"), asBD("1E-4998"),
+                Arithmetic.MAX_SCALE, PrecisionPolicy.DEFAULT));
+
+        Calculator calc = new Calculator();
+        calc.setOperation(asBD("1E-6000"), Operation.PLUS);
+        assertPercentOverflow(calc, "1E-6000");
+        calc.setOperation(asBD("1E+2147483647"), Operation.PLUS);
+        assertPercentOverflow(calc, "1E-2147483647");
+        calc.setOperation(asBD("1E-5000"), Operation.PLUS);
+        assertEqualsBD(asBD("1E-10000"), calc.getPercent(asBD("1E-4998")));
+
+        calc.setOperation(BigDecimal.ONE, Operation.PLUS);
+        assertPercentOverflow(calc, "1E-10000");
+        calc.setPrecisionPolicy(PrecisionPolicy.fixedScale(10000));
+        assertEqualsBD(BigDecimal.ZERO, calc.getPercent(asBD("1E-10000")));
+    }
+
+    private void assertPercentOverflow(Calculator calc, String percent) {
+        try {
+            BigDecimal result = calc.getPercent(asBD(percent));
+            fail("NumberOverflowException expected for resulting value: " + result);
+        } catch (NumberOverflowException e) {
+            //correct for this value
+        }
+    }
+
+    @Test
+    public void testReverseOverflow() throws Exception {
+        Calculator calc = new Calculator();
+        assertReverseOverflow(calc, "3E+9999");
+        assertReverseOverflow(calc, "1E+10001");
+        assertReverseOverflow(calc, "1E+2147483647");
+        assertReverseOverflow(calc, "-7E+9990");
+        assertEqualsBD(asBD("1E-10000"), calc.getReversed(asBD("1E+10000")));
+        assertEqualsBD(asBD("1E+10000"), calc.getReversed(asBD("1E-10000")));
+
+        calc.setPrecisionPolicy(PrecisionPolicy.fixedScale(10000));
+        assertEqualsBD(BigDecimal.ZERO, calc.getReversed(asBD("3E+10000")));
+    }
+
+    private void assertReverseOverflow(Calculator calc, String value) throws DivideByZeroException {
+        try {
+            BigDecimal result = calc.getReversed(asBD(value));
+            fail("NumberOverflowException expected for resulting value: " + result);
+        } catch (NumberOverflowException e) {
+            //correct for this value
+        }
+    }
+
+    @Test
+    public void testLightweightExceptions() throws Exception {
+        Calculator calc = new Calculator();
+        calc.setLightweightExceptions(true);
+
+        calc.setOperation(asBD("5"), Operation.DIVIDE);
+        try {
+            calc.getResult(BigDecimal.ZERO);
+            fail("Expected DivideByZeroException");
+        } catch (DivideByZeroException e) {
+            assertSame(DivideByZeroException.getLightweight(), e);
+            assertEquals(0, e.getStackTrace().length);
+        }
+
+        calc.setOperation(asBD("1E-6000"), Operation.MULTIPLY);
+        try {
+            calc.getResult(asBD("1E-6000"));
+            fail("Expected NumberOverflowException");
+        } catch (NumberOverflowException e) {
+            assertSame(NumberOverflowException.getLightweight(), e);
+            assertEquals(0, e.getStackTrace().length);
+        }
+
+        calc.setLightweightExceptions(false);
+        try {
+            calc.getReversed(BigDecimal.ZERO);
+            fail("Expected DivideByZeroException");
+        } catch (DivideByZeroException e) {
+            assertNotSame(DivideByZeroException.getLightweight(), e);
+        }
+    }
+
+    @Test
+    public void testTryGetResult() {
+        Calculator calc = new Calculator();
+        calc.setOperation(asBD("3"), Operation.MULTIPLY);
+
+        assertEquals(CalculationResult.of(asBD("6")), calc.tryGetResult(asBD("2")));
+        assertEquals(CalculationResult.of(asBD("12")), calc.tryGetResult(asBD("5")));
+        assertEquals(CalculationResult.of(asBD("36")), calc.tryGetResultOnGo(asBD("3")));
+        assertEquals(CalculationResult.of(asBD("12")), calc.tryGetResultAfterEqual(asBD("4")));
+
+        calc.setOperation(asBD("5"), Operation.DIVIDE);
+        CalculationResult result = calc.tryGetResult(BigDecimal.ZERO);
+        assertTrue(result.isError());
+        assertEquals(ResultStatus.DIVIDE_BY_ZERO, result.getStatus());
+        assertSame(CalculationResult.error(ResultStatus.DIVIDE_BY_ZERO), result);
+
+        calc.setOperation(asBD("1E-6000"), Operation.MULTIPLY);
+        assertEquals(ResultStatus.OVERFLOW, calc.tryGetResultOnGo(asBD("1E-6000")).getStatus());
+    }
+
+    @Test
+    public void testTryGetResultWithHolder() {
+        Calculator calc = new Calculator();
+        ResultHolder holder = new ResultHolder();
+        calc.setOperation(asBD("10"), Operation.MINUS);
+
+        calc.tryGetResult(asBD("4"), holder);
+        assertEqualsBD(asBD("6"), holder.getValue());
+        assertEquals(ResultStatus.OK, holder.getStatus());
+
+        calc.tryGetResultAfterEqual(asBD("1"), holder);
+        assertEqualsBD(asBD("-3"), holder.getValue());
+
+        calc.setOperation(asBD("1"), Operation.DIVIDE);
+        calc.tryGetResultOnGo(BigDecimal.ZERO, holder);
+        assertTrue(holder.isError());
+        assertEquals(ResultStatus.DIVIDE_BY_ZERO, holder.getStatus());
+
+        calc.tryGetResultOnGo(asBD("4"), holder);
+        assertEqualsBD(asBD("0.25"), holder.getValue());
+        assertEquals(CalculationResult.of(holder.getValue()), holder.toResult());
+    }
+}
@@ -584,7 +584,7 @@ public class CalculatorViewTestNative {
 
         assertExpression("9999999999999999s=100000000");
         assertExpression("9999999999999999ss=10000");
-        assertExpression("9999999999999999sssss=3.16227766016838");
+        assertExpression("9999999999999999sssss=3.162277660168379");
 
 
         //for second screen
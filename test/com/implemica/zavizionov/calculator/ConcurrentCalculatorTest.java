@@ -0,0 +1,149 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for concurrent calculator class
+ *
+ * @author Zavizionov Andrii
+ */
+public class ConcurrentCalculatorTest {
+
+    private static final int THREADS = 8;
+
+    private static final int ITERATIONS = 10000;
+
+    /**
+     * Asserts if two big decs are really equal.
+     *
+     * @param expectedResult expected result
+     * @param result         actual result
+     */
+    private void assertEqualsBD(BigDecimal expectedResult, BigDecimal result) {
+        if (expectedResult.compareTo(result) != 0) {
+            fail("\nExpected :" + expectedResult + "\nActual   :" + result);
+        }
+    }
+
+    private BigDecimal asBD(String value) {
+        return new BigDecimal(value);
+    }
+
+    /**
+     * Runs given task in many threads at once and waits for all of them.
+     *
+     * @param task - task to run.
+     */
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSameSemanticsAsCalculator() throws Exception {
+        ConcurrentCalculator calc = new ConcurrentCalculator();
+        calc.setOperation(asBD("3"), Operation.PLUS);
+        assertEqualsBD(asBD("8"), calc.getResult(asBD("5")));
+        assertEqualsBD(asBD("13"), calc.getResult(asBD("100")));
+        assertEqualsBD(asBD("6"), calc.getResultAfterEqual(asBD("1")));
+
+        calc.setOperation(asBD("2"), Operation.MULTIPLY);
+        assertEqualsBD(asBD("6"), calc.getResultOnGo(asBD("3")));
+        assertEqualsBD(asBD("24"), calc.getResultOnGo(asBD("4")));
+        assertEqualsBD(asBD("6"), calc.getPercent(asBD("25")));
+
+        calc.setOperation(asBD("1"), Operation.DIVIDE);
+        assertEqualsBD(asBD("0.25"), calc.getResult(asBD("4")));
+        assertEquals(Operation.DIVIDE, calc.getOperation());
+
+        calc.clear();
+        assertEquals(Operation.NOOP, calc.getOperation());
+        assertEqualsBD(BigDecimal.ZERO, calc.getResult(asBD("7")));
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        ConcurrentCalculator calc = new ConcurrentCalculator();
+        calc.setOperation(asBD("5"), Operation.DIVIDE);
+        try {
+            calc.getResult(BigDecimal.ZERO);
+            fail("Expected: DivideByZeroException");
+        } catch (DivideByZeroException e) {
+            //expected
+        }
+        assertEquals(ResultStatus.DIVIDE_BY_ZERO, calc.tryGetResultOnGo(BigDecimal.ZERO).getStatus());
+        assertEquals(CalculationResult.of(asBD("2.5")), calc.tryGetResultOnGo(asBD("2")));
+
+        calc.setOperation(asBD("1E-6000"), Operation.MULTIPLY);
+        assertEquals(ResultStatus.OVERFLOW, calc.tryGetResult(asBD("1E-6000")).getStatus());
+        assertEquals(CalculationResult.of(asBD("1E-6000")), calc.tryGetResultAfterEqual(asBD("1")));
+    }
+
+    @Test
+    public void testMemory() {
+        ConcurrentCalculator calc = new ConcurrentCalculator();
+        calc.memoryStore(asBD("10"));
+        calc.memoryAdd(asBD("5"));
+        calc.memorySubtract(asBD("3"));
+        calc.clear();
+        assertEqualsBD(asBD("12"), calc.memoryRecall());
+        calc.memoryClear();
+        assertEqualsBD(BigDecimal.ZERO, calc.memoryRecall());
+    }
+
+    @Test
+    public void testConcurrentMemoryAdd() throws Exception {
+        final ConcurrentCalculator calc = new ConcurrentCalculator();
+        runConcurrently(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    calc.memoryAdd(BigDecimal.ONE);
+                    calc.memorySubtract(asBD("0.5"));
+                }
+                return null;
+            }
+        });
+        assertEqualsBD(BigDecimal.valueOf(THREADS * ITERATIONS / 2), calc.memoryRecall());
+    }
+
+    @Test
+    public void testConcurrentRepeatedResult() throws Exception {
+        final ConcurrentCalculator calc = new ConcurrentCalculator();
+        calc.setOperation(BigDecimal.ZERO, Operation.PLUS);
+        calc.getResult(BigDecimal.ONE);
+        runConcurrently(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    calc.getResult(asBD("100"));
+                }
+                return null;
+            }
+        });
+        //right operand of repeated result is still 1, so no addition is lost
+        assertEqualsBD(BigDecimal.valueOf(THREADS * ITERATIONS + 2), calc.getResult(BigDecimal.ONE));
+    }
+}
@@ -0,0 +1,67 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Tests for decimal adder class
+ *
+ * @author Zavizionov Andrii
+ */
+public class DecimalAdderTest {
+
+    private static final int THREADS = 8;
+
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void testSum() {
+        DecimalAdder adder = new DecimalAdder();
+        assertEquals(BigDecimal.ZERO, adder.sum());
+        adder.add(new BigDecimal("0.1"));
+        adder.add(new BigDecimal("0.2"));
+        assertEquals(new BigDecimal("0.3"), adder.sum());
+        adder.add(new BigDecimal("-1E-30"));
+        assertEquals(new BigDecimal("0.299999999999999999999999999999"), adder.sum());
+    }
+
+    @Test
+    public void testReset() {
+        DecimalAdder adder = new DecimalAdder(new BigDecimal("5"));
+        adder.add(BigDecimal.ONE);
+        adder.reset(new BigDecimal("1E+3"));
+        assertEquals(new BigDecimal("1E+3"), adder.sum());
+        adder.add(BigDecimal.ONE);
+        assertEquals(new BigDecimal("1001"), adder.sum());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final DecimalAdder adder = new DecimalAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    BigDecimal value = new BigDecimal("0.001");
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        adder.add(value);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, new BigDecimal("0.001").multiply(BigDecimal.valueOf(THREADS * ITERATIONS))
+                .compareTo(adder.sum()));
+    }
+}
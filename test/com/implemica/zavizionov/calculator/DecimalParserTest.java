@@ -0,0 +1,151 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for decimal parser class
+ *
+ * @author Zavizionov Andrii
+ */
+public class DecimalParserTest {
+
+    private final DecimalParser parser = new DecimalParser();
+
+    private void assertParse(String text) {
+        BigDecimal expected = new BigDecimal(text);
+
+        parser.parse(text);
+        assertEquals(text, expected, parser.toBigDecimal());
+        assertEquals(text, expected.scale(), parser.toBigDecimal().scale());
+
+        byte[] bytes = ("  " + text + " ").getBytes(StandardCharsets.US_ASCII);
+        parser.parse(ByteBuffer.wrap(bytes), 2, bytes.length - 1);
+        assertEquals(text, expected, parser.toBigDecimal());
+    }
+
+    private void assertCompact(String text, long unscaled, int scale) {
+        parser.parse(text);
+        assertTrue(text, parser.isCompact());
+        assertEquals(text, unscaled, parser.getUnscaled());
+        assertEquals(text, scale, parser.getScale());
+    }
+
+    private void assertMalformed(String text) {
+        try {
+            parser.parse(text);
+            fail("Expected NumberFormatException for " + text);
+        } catch (NumberFormatException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testSameAsBigDecimal() {
+        assertParse("0");
+        assertParse("-0");
+        assertParse("+7");
+        assertParse("123");
+        assertParse("-123.450");
+        assertParse("0.000");
+        assertParse("00012.5");
+        assertParse(".5");
+        assertParse("5.");
+        assertParse("-.25");
+        assertParse("1E+3");
+        assertParse("1e3");
+        assertParse("2.5E-10");
+        assertParse("-9.99e9999");
+        assertParse("1E-6000");
+        assertParse("999999999999999999");
+        assertParse("-999999999999999999");
+        assertParse("9999999999999999999");
+        assertParse("123456789012345678901234567890.123456789");
+        assertParse("-123456789012345678.901234567890123456");
+        assertParse("1234567890123456789012345678901234567");
+        assertParse("0.0000000000000000000000000001");
+        assertParse("100000000000000000000000000000");
+        assertParse("9223372036854775807");
+        assertParse("-9223372036854775808");
+    }
+
+    @Test
+    public void testRandomNumbers() {
+        Random random = new Random(17);
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextBoolean()) {
+                text.append('-');
+            }
+            int digits = 1 + random.nextInt(40);
+            int dot = random.nextInt(digits + 1);
+            for (int j = 0; j < digits; j++) {
+                if (j == dot && j > 0) {
+                    text.append('.');
+                }
+                text.append(random.nextInt(10));
+            }
+            if (random.nextInt(4) == 0) {
+                text.append('E').append(random.nextInt(200) - 100);
+            }
+            assertParse(text.toString());
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        assertCompact("-123.450", -123450, 3);
+        assertCompact("2.5E-10", 25, 11);
+        assertCompact("1E+3", 1, -3);
+        assertCompact("0.000", 0, 3);
+        assertCompact("999999999999999999", 999999999999999999L, 0);
+        assertCompact("0.000000000000000000000000123", 123, 27);
+
+        parser.parse("1234567890123456789");
+        assertFalse(parser.isCompact());
+        try {
+            parser.getUnscaled();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testPrefix() {
+        String expression = "12.5*-3e2+.5";
+
+        assertEquals(4, parser.parsePrefix(expression, 0, expression.length()));
+        assertEquals(new BigDecimal("12.5"), parser.toBigDecimal());
+        assertEquals(9, parser.parsePrefix(expression, 5, expression.length()));
+        assertEquals(new BigDecimal("-3e2"), parser.toBigDecimal());
+        assertEquals(12, parser.parsePrefix(expression, 10, expression.length()));
+        assertEquals(new BigDecimal(".5"), parser.toBigDecimal());
+        assertEquals(2, parser.parsePrefix(expression, 0, 2));
+        assertEquals(new BigDecimal("12"), parser.toBigDecimal());
+    }
+
+    @Test
+    public void testMalformed() {
+        assertMalformed("");
+        assertMalformed("-");
+        assertMalformed(".");
+        assertMalformed("1.2.3");
+        assertMalformed("1e");
+        assertMalformed("1e+");
+        assertMalformed("abc");
+        assertMalformed("12a");
+        assertMalformed("1 ");
+        assertMalformed("1E99999999999");
+        assertMalformed("--1");
+    }
+}
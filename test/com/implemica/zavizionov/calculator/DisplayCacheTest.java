@@ -0,0 +1,106 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.implemica.zavizionov.calculator.KeypadEngine.FontSize;
+import static com.implemica.zavizionov.calculator.KeypadEngine.Key;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for display cache class
+ *
+ * @author Zavizionov Andrii
+ */
+public class DisplayCacheTest {
+
+    private final DisplayCache cache = new DisplayCache(4);
+
+    private void assertEntry(String expectedText, FontSize expectedSize, String value) {
+        DisplayCache.Entry entry = cache.get(new BigDecimal(value));
+        assertEquals(value, expectedText, entry.getText());
+        assertEquals(value, expectedSize, entry.getFontSize());
+    }
+
+    @Test
+    public void testEntries() {
+        assertEntry("12.5", FontSize.BIG, "12.50");
+        assertEntry("1234567890123", FontSize.MEDIUM, "1234567890123");
+        assertEntry("0.333333333333333", FontSize.SMALL, "0.33333333333333333333");
+        assertEntry("-1.5e+20", FontSize.BIG, "-1.5E+20");
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        BigDecimal value = new BigDecimal("2.5");
+        DisplayCache.Entry entry = cache.get(value);
+
+        assertSame(entry, cache.get(new BigDecimal("2.5")));
+        assertSame(entry, cache.get(new BigDecimal("25E-1")));
+        assertEquals("2.5", cache.get(new BigDecimal("2.50")).getText());
+
+        assertEquals(2, cache.getCache().getHitCount());
+        assertEquals(2, cache.getCache().getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testCapacity() {
+        for (int i = 0; i < 10; i++) {
+            cache.get(BigDecimal.valueOf(i));
+        }
+
+        assertEquals(4, cache.getCache().size());
+        assertEquals(6, cache.getCache().getEvictionCount());
+    }
+
+    @Test
+    public void testEngineWithCache() {
+        DisplayCache shared = new DisplayCache();
+        KeypadEngine cached = KeypadEngine.getInstance(CalculatorController.getInstance(), shared);
+        KeypadEngine plain = KeypadEngine.getInstance();
+        Key[] keys = {Key.ONE, Key.DIVIDE, Key.THREE, Key.EQUAL, Key.EQUAL, Key.MS, Key.SQRT, Key.MR,
+                Key.MR, Key.REVERSE, Key.MULTIPLY, Key.EQUAL, Key.EQUAL, Key.MR, Key.PLUS, Key.MR, Key.EQUAL};
+
+        for (Key key : keys) {
+            cached.press(key);
+            plain.press(key);
+            assertEquals(key.name(), plain.getDisplayText(), cached.getDisplayText());
+            assertEquals(key.name(), plain.getFontSize(), cached.getFontSize());
+        }
+        assertTrue(shared.toString(), shared.getCache().getHitCount() > 0);
+    }
+
+    @Test
+    public void testManyThreads() {
+        final DisplayCache shared = new DisplayCache(16);
+        final DisplayFormatter formatter = DisplayFormatter.getInstance();
+        final BigDecimal[] values = new BigDecimal[32];
+        Random random = new Random(20);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = BigDecimal.valueOf(random.nextLong(), random.nextInt(30));
+        }
+
+        IntStream.range(0, 20000).parallel().forEach(i -> {
+            BigDecimal value = values[i % values.length];
+            assertEquals(formatter.format(value), shared.get(value).getText());
+        });
+
+        assertEquals(20000, shared.getCache().getHitCount() + shared.getCache().getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        cache.get(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCapacity() {
+        new DisplayCache(0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+/**
+ * Tests for display formatter class
+ *
+ * @author Zavizionov Andrii
+ */
+public class DisplayFormatterTest {
+
+    private final DisplayFormatter formatter = DisplayFormatter.getInstance();
+
+    private void assertFormat(String expected, String value) {
+        assertEquals(value, expected, formatter.format(new BigDecimal(value)));
+    }
+
+    private static String showOnScreen(BigDecimal value) {
+        KeypadEngine engine = KeypadEngine.getInstance();
+        engine.paste(value.toPlainString());
+        return engine.getDisplayText();
+    }
+
+    @Test
+    public void testFormat() {
+        assertFormat("0", "0");
+        assertFormat("0", "0.000");
+        assertFormat("12.5", "12.500");
+        assertFormat("-7", "-7");
+        assertFormat("1234567890123456", "1234567890123456");
+        assertFormat("1.234567890123457e+16", "12345678901234567");
+        assertFormat("1e+20", "1E+20");
+        assertFormat("0.333333333333333", "0.3333333333333333333");
+        assertFormat("-3.333333333333333e-1", "-0.3333333333333333333");
+        assertFormat("1.5e-20", "1.5E-20");
+        assertFormat("2", "2.000000000000000001");
+        assertFormat("0.0000000000001", "0.0000000000001");
+    }
+
+    @Test
+    public void testRounded() {
+        assertEquals(new BigDecimal("2"), formatter.getRounded(new BigDecimal("1.999999999999999999")));
+        assertEquals(new BigDecimal("2.5"), formatter.getRounded(new BigDecimal("2.5")));
+        assertEquals(new BigDecimal("-1.999999999999999999"),
+                formatter.getRounded(new BigDecimal("-1.999999999999999999")));
+        assertEquals(new BigDecimal("3.00000000000001"), formatter.getRounded(new BigDecimal("3.00000000000001")));
+    }
+
+    @Test
+    public void testAppendTo() {
+        StringBuilder out = new StringBuilder("= ");
+
+        assertSame(out, formatter.appendTo(new BigDecimal("1E+20"), out));
+        assertEquals("= 1e+20", out.toString());
+    }
+
+    @Test
+    public void testParallelBatchAsScreen() {
+        Random random = new Random(19);
+        List<BigDecimal> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            BigInteger unscaled = new BigInteger(1 + random.nextInt(100), random);
+            values.add(new BigDecimal(random.nextBoolean() ? unscaled : unscaled.negate(), random.nextInt(40) - 10));
+        }
+
+        List<String> expected = values.stream().map(DisplayFormatterTest::showOnScreen).collect(Collectors.toList());
+        List<String> actual = values.parallelStream().map(formatter::format).collect(Collectors.toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        formatter.format(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullBuilder() {
+        formatter.appendTo(BigDecimal.ONE, null);
+    }
+}
@@ -0,0 +1,180 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for display renderer class. Renderer is compared with DecimalFormat
+ * based formatting, that it replaced.
+ *
+ * @author Zavizionov Andrii
+ */
+public class DisplayRendererTest {
+
+    private static String formatWithDecimalFormat(BigDecimal value) {
+        DecimalFormat scientific = new DecimalFormat("0E0");
+        scientific.setMaximumIntegerDigits(1);
+        scientific.setMaximumFractionDigits(15);
+        scientific.setGroupingUsed(false);
+        scientific.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ROOT));
+        DecimalFormat plain = new DecimalFormat("0");
+        plain.setGroupingUsed(false);
+        plain.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ROOT));
+
+        String result;
+        if (value.compareTo(new BigDecimal("1E16")) >= 0 || value.compareTo(new BigDecimal("1E-14")) < 0
+                || value.scale() > 29) {
+            result = scientific.format(value);
+        } else {
+            plain.setMaximumFractionDigits(16 - value.toPlainString().lastIndexOf('.'));
+            result = plain.format(value);
+        }
+        if (result.contains("E-")) {
+            return result.replace("E", "e");
+        } else {
+            return result.replace("E", "e+");
+        }
+    }
+
+    private static String render(BigDecimal value) {
+        StringBuilder out = new StringBuilder("screen:");
+        DisplayRenderer.appendFormatted(value, out);
+        assertTrue(out.toString().startsWith("screen:"));
+        return out.substring("screen:".length());
+    }
+
+    private static void assertRender(String value) {
+        assertRender(new BigDecimal(value));
+    }
+
+    private static void assertRender(BigDecimal value) {
+        assertEquals(value.toString(), formatWithDecimalFormat(value), render(value));
+    }
+
+    private static BigDecimal randomValue(Random random) {
+        int digits = 1 + random.nextInt(40);
+        BigInteger unscaled = new BigInteger(digits * 4, random);
+        if (random.nextInt(3) == 0) {
+            //many nines to check carry of rounding
+            unscaled = BigInteger.TEN.pow(digits).subtract(BigInteger.valueOf(random.nextInt(10)));
+        }
+        if (random.nextBoolean()) {
+            unscaled = unscaled.negate();
+        }
+        return new BigDecimal(unscaled, random.nextInt(80) - 30);
+    }
+
+    @Test
+    public void testScientific() {
+        assertRender("1E16");
+        assertRender("12345678901234567890");
+        assertRender("-5");
+        assertRender("-0.5");
+        assertRender("-12345.678");
+        assertRender("0.00000000000000123");
+        assertRender("1.23456789012345649E+30");
+        assertRender("1.23456789012345650E+30");
+        assertRender("1.23456789012345750E+30");
+        assertRender("1.23456789012345650001E+30");
+        assertRender("99999999999999999");
+        assertRender("-9.9999999999999995E-100");
+        assertRender("1E-10000");
+        assertRender("0.5E-29");
+        assertRender("0");
+        assertRender("0E+5");
+
+        assertEquals("1e+16", render(new BigDecimal("1E16")));
+        assertEquals("-5e-1", render(new BigDecimal("-0.5")));
+        assertEquals("1e+17", render(new BigDecimal("99999999999999999")));
+    }
+
+    @Test
+    public void testPlain() {
+        assertRender("0.12345678901234567");
+        assertRender("0.12345678901234565");
+        assertRender("0.12345678901234575");
+        assertRender("0.123456789012345650000001");
+        assertRender("12345678.123456789");
+        assertRender("9999999999999999.5");
+        assertRender("9999999999999998.5");
+        assertRender("0.99999999999999999");
+        assertRender("0.00000000000001");
+        assertRender("0.0000000000000100000001");
+        assertRender("1.00000000000000001");
+        assertRender("123");
+
+        assertEquals("0.123456789012346", render(new BigDecimal("0.12345678901234567")));
+        assertEquals("10000000000000000", render(new BigDecimal("9999999999999999.5")));
+        assertEquals("1", render(new BigDecimal("0.99999999999999999")));
+    }
+
+    @Test
+    public void testRandomValues() {
+        Random random = new Random(18);
+        for (int i = 0; i < 20000; i++) {
+            assertRender(randomValue(random));
+        }
+    }
+
+    @Test
+    public void testExactPlain() {
+        Random random = new Random(19);
+        for (int i = 0; i < 5000; i++) {
+            BigDecimal value = randomValue(random);
+            String expected = value.stripTrailingZeros().toPlainString();
+            if (value.signum() == 0) {
+                expected = "0";
+            }
+            StringBuilder out = new StringBuilder();
+            DisplayRenderer.appendPlain(value.stripTrailingZeros(), out);
+
+            assertEquals(value.toString(), expected, out.toString());
+            assertEquals(value.toString(), expected.replace("-", "").replace(".", "").length(),
+                    DisplayRenderer.countPlainDigits(value.stripTrailingZeros()));
+        }
+    }
+
+    @Test
+    public void testManyThreads() throws Exception {
+        final List<BigDecimal> values = new ArrayList<>();
+        Random random = new Random(20);
+        for (int i = 0; i < 2000; i++) {
+            values.add(randomValue(random));
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (BigDecimal value : values) {
+                        assertRender(value);
+                    }
+                    return null;
+                }
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
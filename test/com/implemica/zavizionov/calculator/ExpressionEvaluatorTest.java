@@ -0,0 +1,142 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import com.implemica.zavizionov.calculator.exception.NumberOverflowException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for expression evaluator class
+ *
+ * @author Zavizionov Andrii
+ */
+public class ExpressionEvaluatorTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    private void assertExpression(String expression, String expectedResult) throws Exception {
+        BigDecimal result = evaluator.evaluate(expression);
+        if (new BigDecimal(expectedResult).compareTo(result) != 0) {
+            fail("\nExpression :" + expression + "\nExpected :" + expectedResult + "\nActual   :" + result);
+        }
+    }
+
+    private void assertMalformed(String expression) throws Exception {
+        try {
+            evaluator.evaluate(expression);
+            fail("Expected IllegalArgumentException for expression: " + expression);
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testEvaluate() throws Exception {
+        assertExpression("3+5*2=", "16");
+        assertExpression("3+5*2", "16");
+        assertExpression("7", "7");
+        assertExpression("7=", "7");
+        assertExpression(" 1.5 * -2 - .5 ", "-3.5");
+        assertExpression("1/8*8", "1");
+        assertExpression("10/4", "2.5");
+        assertExpression("1E+3-1e-3", "999.999");
+        assertExpression("123456789123456789123*1", "123456789123456789123");
+        assertExpression("-0.0000000000000000000000001*10", "-1E-24");
+    }
+
+    @Test
+    public void testEqualSequences() throws Exception {
+        //repeated equal repeats last operation with the same right operand
+        assertExpression("2+3==", "8");
+        assertExpression("2*3===", "54");
+        //number after equal is left operand of the same operation
+        assertExpression("2+3=1=", "4");
+        //operation after equal continues with result
+        assertExpression("2+3=*4", "20");
+        assertExpression("2+3=1*4=", "4");
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        try {
+            evaluator.evaluate("1+2/0");
+            fail("Expected DivideByZeroException");
+        } catch (DivideByZeroException e) {
+            //expected
+        }
+        try {
+            evaluator.evaluate("1E-6000*1E-6000");
+            fail("Expected NumberOverflowException");
+        } catch (NumberOverflowException e) {
+            //expected
+        }
+        assertEquals(ResultStatus.DIVIDE_BY_ZERO, evaluator.tryEvaluate("5/0+1").getStatus());
+        assertEquals(CalculationResult.of(new BigDecimal("6")), evaluator.tryEvaluate("5+1"));
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        assertMalformed("");
+        assertMalformed("   ");
+        assertMalformed("+3");
+        assertMalformed("3+");
+        assertMalformed("3+*2");
+        assertMalformed("3 4");
+        assertMalformed("3+=");
+        assertMalformed("3+a");
+        assertMalformed("3+.");
+        assertMalformed("3+-");
+        assertMalformed("1.2.3");
+        assertMalformed("1e");
+        assertMalformed("1e99999999999");
+        assertMalformed("?+1");
+    }
+
+    @Test
+    public void testPlan() throws Exception {
+        ExpressionPlan plan = evaluator.compile("?+?*2=");
+        assertEquals(2, plan.getSlotCount());
+        assertEquals(new BigDecimal("16"), evaluator.evaluate(plan, new BigDecimal("3"), new BigDecimal("5")));
+        assertEquals(new BigDecimal("-4"), evaluator.evaluate(plan, new BigDecimal("-3"), BigDecimal.ONE));
+
+        plan = evaluator.compile("?+3==?=");
+        assertEquals(new BigDecimal("11"), evaluator.evaluate(plan, new BigDecimal("2"), new BigDecimal("8")));
+        assertEquals(ResultStatus.DIVIDE_BY_ZERO,
+                evaluator.tryEvaluate(evaluator.compile("1/?"), BigDecimal.ZERO).getStatus());
+        assertEquals(new BigDecimal("7"), evaluator.evaluate(evaluator.compile("7")));
+        assertEquals(ResultStatus.OVERFLOW,
+                evaluator.tryEvaluate(evaluator.compile("?+1="), new BigDecimal("1E+20000000")).getStatus());
+        assertEquals(ResultStatus.OVERFLOW, evaluator.tryEvaluate("1E+1000000=").getStatus());
+        try {
+            evaluator.evaluate(plan, BigDecimal.ONE);
+            fail("Expected IllegalArgumentException for wrong count of operands");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testPlanCache() {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(PrecisionPolicy.DEFAULT,
+                new LruCache<String, ExpressionPlan>(2));
+        LruCache<String, ExpressionPlan> cache = evaluator.getPlanCache();
+        ExpressionPlan plan = evaluator.compile("?+1");
+        assertSame(plan, evaluator.compile("?+1"));
+        evaluator.compile("?+2");
+        evaluator.compile("?+1");
+        evaluator.compile("?+3");
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        //least recently used "?+2" was evicted
+        assertSame(plan, evaluator.compile("?+1"));
+        assertEquals(3, cache.getHitCount());
+    }
+}
@@ -0,0 +1,96 @@
+package com.implemica.zavizionov.calculator;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for flight recorder events of calculator.
+ *
+ * @author Zavizionov Andrii
+ */
+public class FlightEventsTest {
+
+    private static final String OPERATION_EVENT = "com.implemica.calculator.Operation";
+
+    private static final String FORMAT_EVENT = "com.implemica.calculator.DisplayFormat";
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name, String operation) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)
+                    && (operation == null || operation.equals(event.getString("operation")))) {
+                return event;
+            }
+        }
+        throw new AssertionError("Expected: " + name + " " + operation + " in " + events);
+    }
+
+    @Test
+    public void testNoEventsWithoutRecording() {
+        assumeTrue(FlightEvents.isAvailable());
+
+        assertNull(FlightEvents.beginOperation());
+        assertNull(FlightEvents.beginFormat());
+    }
+
+    @Test
+    public void testRecordedEvents() throws Exception {
+        assumeTrue(FlightEvents.isAvailable());
+        CalculatorController controller = CalculatorController.getInstance();
+        File file = File.createTempFile("calculator", ".jfr");
+        List<RecordedEvent> events;
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(OPERATION_EVENT).withThreshold(Duration.ZERO);
+                recording.enable(FORMAT_EVENT).withThreshold(Duration.ZERO);
+                recording.start();
+
+                controller.setOperation(new BigDecimal("12.50"), Operation.DIVIDE);
+                controller.tryGetResult(new BigDecimal("3"));
+                controller.setOperation(new BigDecimal("1E+9999"), Operation.MULTIPLY);
+                controller.tryGetResult(new BigDecimal("1E+9999"));
+                controller.getSqrt(new BigDecimal("2"));
+                DisplayFormatter.getInstance().format(new BigDecimal("123.456"));
+
+                recording.stop();
+                recording.dump(file.toPath());
+            }
+            events = RecordingFile.readAllEvents(file.toPath());
+        } finally {
+            assertTrue(file.delete());
+        }
+
+        RecordedEvent divide = find(events, OPERATION_EVENT, "DIVIDE");
+        assertEquals(4, divide.getInt("leftPrecision"));
+        assertEquals(2, divide.getInt("leftScale"));
+        assertEquals(1, divide.getInt("rightPrecision"));
+        assertEquals(0, divide.getInt("rightScale"));
+        assertTrue(divide.getInt("resultScale") > 0);
+        assertEquals("OK", divide.getString("status"));
+
+        RecordedEvent multiply = find(events, OPERATION_EVENT, "MULTIPLY");
+        assertEquals("OVERFLOW", multiply.getString("status"));
+        assertEquals(0, multiply.getInt("resultScale"));
+
+        RecordedEvent sqrt = find(events, OPERATION_EVENT, "SQRT");
+        assertEquals(1, sqrt.getInt("leftPrecision"));
+        assertEquals(0, sqrt.getInt("rightPrecision"));
+        assertTrue(sqrt.getInt("resultScale") > 0);
+
+        RecordedEvent format = find(events, FORMAT_EVENT, null);
+        assertEquals(6, format.getInt("precision"));
+        assertEquals(3, format.getInt("scale"));
+        assertEquals(7, format.getInt("textLength"));
+    }
+}
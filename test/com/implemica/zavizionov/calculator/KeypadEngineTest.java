@@ -0,0 +1,227 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for headless keypad engine. Sequences are the same as in GUI tests.
+ *
+ * @author Zavizionov Andrii
+ */
+public class KeypadEngineTest {
+
+    private final KeypadEngine engine = KeypadEngine.getInstance();
+
+    private void press(String sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            String key = sequence.substring(i, i + 1);
+            if (key.equals("(")) {
+                int indexOfBrace = sequence.indexOf(')', i);
+                key = sequence.substring(i + 1, indexOfBrace);
+                i = indexOfBrace;
+            }
+            engine.press(getKey(key));
+        }
+    }
+
+    private static KeypadEngine.Key getKey(String key) {
+        switch (key) {
+            case "+":
+                return KeypadEngine.Key.PLUS;
+            case "-":
+                return KeypadEngine.Key.MINUS;
+            case "*":
+                return KeypadEngine.Key.MULTIPLY;
+            case "/":
+                return KeypadEngine.Key.DIVIDE;
+            case "=":
+                return KeypadEngine.Key.EQUAL;
+            case ".":
+                return KeypadEngine.Key.DOT;
+            case "%":
+                return KeypadEngine.Key.PERCENT;
+            case "s":
+                return KeypadEngine.Key.SQRT;
+            case "<":
+                return KeypadEngine.Key.BACKSPACE;
+            case "+/-":
+                return KeypadEngine.Key.INVERT;
+            case "1/x":
+                return KeypadEngine.Key.REVERSE;
+            case "CE":
+                return KeypadEngine.Key.CLEAR_ENTRY;
+            case "C":
+                return KeypadEngine.Key.CLEAR;
+            case "M+":
+                return KeypadEngine.Key.MPLUS;
+            case "M-":
+                return KeypadEngine.Key.MMINUS;
+            case "MS":
+            case "MR":
+            case "MC":
+                return KeypadEngine.Key.valueOf(key);
+            default:
+                return KeypadEngine.Key.ofDigit(Integer.parseInt(key));
+        }
+    }
+
+    private void assertScreens(String expectedFirstScreen, String expectedSecondScreen) {
+        assertEquals(expectedFirstScreen, engine.getDisplayText());
+        assertEquals(expectedSecondScreen, engine.getHistoryText());
+    }
+
+    private void assertSequence(String expectedFirstScreen, String expectedSecondScreen, String sequence) {
+        engine.pressClearButton();
+        press(sequence);
+        assertScreens(expectedFirstScreen, expectedSecondScreen);
+    }
+
+    private void assertExpression(String expression) {
+        engine.pressClearButton();
+        int equal = expression.lastIndexOf("=");
+        press(expression.substring(0, equal + 1));
+        assertEquals(expression.substring(equal + 1), engine.getDisplayText());
+    }
+
+    @Test
+    public void testInitialState() {
+        assertScreens("0", "");
+        assertFalse(engine.isMemoryIndicated());
+        assertFalse(engine.isLocked());
+        assertEquals(KeypadEngine.FontSize.BIG, engine.getFontSize());
+    }
+
+    @Test
+    public void testDigitsAndDot() {
+        assertSequence("1234567890", "", "1234567890");
+        assertSequence("0.5", "", "0.5");
+        assertSequence("0.5", "", ".5");
+        assertSequence("1.5", "", "1..5");
+        assertSequence("9999999999999999", "", "99999999999999991");
+        assertSequence("0.", "", "5+8=.");
+    }
+
+    @Test
+    public void testExpressions() {
+        assertExpression("3+5=8");
+        assertExpression("+5=====25");
+        assertExpression("8+5(+/-)===-7");
+        assertExpression("12345.6789-98765.4321=-86419.7532");
+        assertExpression("9999999999999999+1=1e+16");
+        assertExpression("0.00000000000001/3=3.333333333333333e-15");
+        assertExpression("9999999999999999*9999999999999999=9.999999999999998e+31");
+        assertExpression("1/3=3.333333333333333e-1");
+        assertExpression("3*=*=81");
+        assertExpression("3+4-5/2*8=8");
+        assertExpression("55-5=50-7=43");
+        assertExpression("999.99999999999+0.00000000001=1000");
+        assertExpression("1000-0.00000000000001=1000");
+    }
+
+    @Test
+    public void testPercent() {
+        assertExpression("100+10%=110");
+        assertExpression("-100*10%=1000");
+        assertExpression("0.00000000000001-1%=9.9e-15");
+        assertSequence("0", "0", "5%");
+        assertSequence("1", "50 + 1", "50+2%");
+        assertSequence("5", "50 +", "50+2%5");
+    }
+
+    @Test
+    public void testFunctions() {
+        assertSequence("0.2", "1 + reciproc(5)", "1+5(1/x)");
+        assertSequence("5", "1 + reciproc(reciproc(5))", "1+5(1/x)(1/x)");
+        assertSequence("3", "5 + sqrt(sqrt(81))", "5+81ss");
+        assertSequence("1", "sqrt(9) +", "9s+1");
+        assertSequence("3", "", "9s=");
+        assertSequence("5", "10 +", "10+9s5");
+        assertSequence(KeypadEngine.INVALID_INPUT_MESSAGE, "sqrt(-5)", "3-8=s");
+        assertSequence(KeypadEngine.DIVIDE_BY_ZERO_MESSAGE, "1 + reciproc(0)", "1+0(1/x)");
+    }
+
+    @Test
+    public void testSqrtOnScreen() {
+        assertSequence("100000000", "", "9999999999999999s=");
+        assertSequence("10000", "", "9999999999999999ss=");
+        assertSequence("3.162277660168379", "", "9999999999999999sssss=");
+        assertSequence("0.000316227766017", "", "0.00000000000001ss=");
+    }
+
+    @Test
+    public void testSecondScreen() {
+        assertSequence("8", "3 + 5 -", "3+5++-");
+        press("*");
+        assertScreens("8", "3 + 5 *");
+        press("2=");
+        assertScreens("16", "");
+
+        assertSequence("1.00000001e+16", KeypadEngine.SCREEN_OVERFLOW_SYMBOL + "9999999999999 + 99999999 + 1 +",
+                "9999999999999999+99999999+1+");
+        assertSequence("987654321", KeypadEngine.SCREEN_OVERFLOW_SYMBOL + "6789 * 987654321 / 123456789 -",
+                "123456789*987654321/123456789-");
+    }
+
+    @Test
+    public void testClearAndBackSpace() {
+        assertSequence("0", "1 + 9999999999999999 + 1 +", "1+9999999999999999+1+(CE)");
+        assertSequence("1.5", "", "1+9999999999999999+1+C1.5");
+        assertSequence("0", "", "123<<<");
+        assertSequence("0.", "", "0.00000000000001<<<<<<<<<<<<<<");
+        assertSequence("3", "12 +", "12+<<34<");
+    }
+
+    @Test
+    public void testErrorLocksScreens() {
+        assertSequence(KeypadEngine.DIVIDE_BY_ZERO_MESSAGE, "3 /", "3/0=");
+        assertTrue(engine.isLocked());
+        press("5+2=");
+        assertEquals(KeypadEngine.DIVIDE_BY_ZERO_MESSAGE, engine.getDisplayText());
+
+        press("C5");
+        assertFalse(engine.isLocked());
+        assertScreens("5", "");
+    }
+
+    @Test
+    public void testMemory() {
+        press("5(MS)");
+        assertTrue(engine.isMemoryIndicated());
+        press("C3(M+)C(MR)");
+        assertScreens("8", "");
+        press("2(M-)C(MR)");
+        assertScreens("6", "");
+        press("(MC)C(MR)");
+        assertScreens("0", "");
+        assertFalse(engine.isMemoryIndicated());
+
+        press("C(MS)(M+)(M-)");
+        assertFalse(engine.isMemoryIndicated());
+    }
+
+    @Test
+    public void testFontSize() {
+        press("999999999999");
+        assertEquals(KeypadEngine.FontSize.BIG, engine.getFontSize());
+        press("9");
+        assertEquals(KeypadEngine.FontSize.MEDIUM, engine.getFontSize());
+        press("(1/x)");
+        assertEquals(KeypadEngine.FontSize.SMALL, engine.getFontSize());
+    }
+
+    @Test
+    public void testPaste() {
+        engine.paste("12.50");
+        assertScreens("12.5", "");
+        press("*2=");
+        assertScreens("25", "");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadDigit() {
+        engine.pressDigitButton(10);
+    }
+}
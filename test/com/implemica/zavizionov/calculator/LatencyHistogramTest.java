@@ -0,0 +1,69 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for latency histogram.
+ *
+ * @author Zavizionov Andrii
+ */
+public class LatencyHistogramTest {
+
+    private static void assertApproximately(long expected, long actual) {
+        assertTrue("expected: ~" + expected + ", actual: " + actual,
+                actual >= expected && actual <= expected + expected / 16);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(99));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 100L);
+        }
+
+        assertApproximately(50000, histogram.getValueAtPercentile(50));
+        assertApproximately(99000, histogram.getValueAtPercentile(99));
+        assertApproximately(100000, histogram.getMax());
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test
+    public void testAddAndReset() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(5);
+        second.record(7);
+        second.record(-1);
+        first.add(second);
+
+        assertEquals(3, first.getCount());
+        assertEquals(0, first.getValueAtPercentile(0));
+
+        first.reset();
+        assertEquals(0, first.getCount());
+        assertEquals(0, first.getValueAtPercentile(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPercentile() {
+        new LatencyHistogram().getValueAtPercentile(101);
+    }
+}
@@ -0,0 +1,133 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.exception.DivideByZeroException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for operation metrics.
+ *
+ * @author Zavizionov Andrii
+ */
+public class OperationMetricsTest {
+
+    private final OperationMetrics metrics = new OperationMetrics();
+
+    private final CalculatorController controller = CalculatorController.getInstance();
+
+    @Test
+    public void testRecord() {
+        metrics.record(Operation.PLUS, 3, ResultStatus.OK);
+        metrics.record(Operation.PLUS, 9, ResultStatus.OK);
+        metrics.record(Operation.DIVIDE, 50, ResultStatus.DIVIDE_BY_ZERO);
+        metrics.record(Operation.DIVIDE, 70, ResultStatus.OK);
+
+        assertEquals(2, metrics.getCount(Operation.PLUS));
+        assertEquals(2, metrics.getCount(Operation.DIVIDE));
+        assertEquals(0, metrics.getCount(Operation.MINUS));
+        assertEquals(1, metrics.getErrorCount(Operation.DIVIDE, ResultStatus.DIVIDE_BY_ZERO));
+        assertEquals(0, metrics.getErrorCount(Operation.DIVIDE, ResultStatus.OVERFLOW));
+        assertEquals(0, metrics.getErrorCount(Operation.DIVIDE, ResultStatus.OK));
+        assertEquals(0.5, metrics.getErrorRate(Operation.DIVIDE), 1e-9);
+        assertEquals(0.0, metrics.getErrorRate(Operation.MINUS), 1e-9);
+        assertEquals(9, metrics.getLatencies(Operation.PLUS).getMax());
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getCount(Operation.PLUS));
+        assertEquals(0, metrics.getErrorCount(Operation.DIVIDE, ResultStatus.DIVIDE_BY_ZERO));
+        assertEquals(0, metrics.getLatencies(Operation.PLUS).getCount());
+    }
+
+    @Test
+    public void testSnapshot() {
+        metrics.record(Operation.MULTIPLY, 8, ResultStatus.OK);
+        metrics.record(Operation.MULTIPLY, 8, ResultStatus.OVERFLOW);
+
+        assertEquals("calculator_operations_total{operation=\"MULTIPLY\"} 2\n"
+                + "calculator_errors_total{operation=\"MULTIPLY\",status=\"DIVIDE_BY_ZERO\"} 0\n"
+                + "calculator_errors_total{operation=\"MULTIPLY\",status=\"OVERFLOW\"} 1\n"
+                + "calculator_latency_nanos{operation=\"MULTIPLY\",quantile=\"0.5\"} 8\n"
+                + "calculator_latency_nanos{operation=\"MULTIPLY\",quantile=\"0.9\"} 8\n"
+                + "calculator_latency_nanos{operation=\"MULTIPLY\",quantile=\"0.99\"} 8\n"
+                + "calculator_latency_nanos{operation=\"MULTIPLY\",quantile=\"0.999\"} 8\n"
+                + "calculator_latency_nanos_max{operation=\"MULTIPLY\"} 8\n", metrics.snapshot());
+        assertEquals("", new OperationMetrics().snapshot());
+    }
+
+    @Test
+    public void testControllerOperations() throws Exception {
+        controller.setMetrics(metrics);
+
+        controller.setOperation(new BigDecimal("7"), Operation.PLUS);
+        controller.getResult(new BigDecimal("5"));
+        controller.setOperation(new BigDecimal("7"), Operation.DIVIDE);
+        controller.tryGetResult(BigDecimal.ZERO);
+        try {
+            controller.getResult(BigDecimal.ZERO);
+            fail("Expected: DivideByZeroException");
+        } catch (DivideByZeroException e) {
+            //expected
+        }
+        controller.setOperation(new BigDecimal("1E+9999"), Operation.MULTIPLY);
+        controller.tryGetResult(new BigDecimal("1E+9999"));
+        controller.getPercent(new BigDecimal("50"));
+        controller.getInverted(BigDecimal.ONE);
+        controller.getSqrt(new BigDecimal("2"));
+        controller.getReversed(new BigDecimal("4"));
+        try {
+            controller.getReversed(BigDecimal.ZERO);
+            fail("Expected: DivideByZeroException");
+        } catch (DivideByZeroException e) {
+            //expected
+        }
+
+        assertEquals(1, metrics.getCount(Operation.PLUS));
+        assertEquals(2, metrics.getCount(Operation.DIVIDE));
+        assertEquals(2, metrics.getErrorCount(Operation.DIVIDE, ResultStatus.DIVIDE_BY_ZERO));
+        assertEquals(1, metrics.getErrorCount(Operation.MULTIPLY, ResultStatus.OVERFLOW));
+        assertEquals(1, metrics.getCount(Operation.PERCENT));
+        assertEquals(1, metrics.getCount(Operation.INVERT));
+        assertEquals(1, metrics.getCount(Operation.SQRT));
+        assertEquals(2, metrics.getCount(Operation.REVERSE));
+        assertEquals(1, metrics.getErrorCount(Operation.REVERSE, ResultStatus.DIVIDE_BY_ZERO));
+        assertTrue(metrics.snapshot(), metrics.snapshot().contains("calculator_operations_total{operation=\"SQRT\"} 1\n"));
+
+        controller.setMetrics(null);
+        controller.getSqrt(new BigDecimal("2"));
+
+        assertEquals(1, metrics.getCount(Operation.SQRT));
+    }
+
+    @Test
+    public void testPoolStopsRecording() {
+        CalculatorSessionPool pool = new CalculatorSessionPool();
+        CalculatorController pooled = pool.acquire();
+        pooled.setMetrics(metrics);
+
+        pool.release(pooled);
+
+        assertNull(pooled.getMetrics());
+    }
+
+    @Test
+    public void testManyThreads() {
+        IntStream.range(0, 20000).parallel().forEach(i -> {
+            CalculatorController local = CalculatorController.getInstance();
+            local.setMetrics(metrics);
+            local.setOperation(BigDecimal.valueOf(i), Operation.DIVIDE);
+            local.tryGetResult(BigDecimal.valueOf(i % 4));
+        });
+
+        assertEquals(20000, metrics.getCount(Operation.DIVIDE));
+        assertEquals(5000, metrics.getErrorCount(Operation.DIVIDE, ResultStatus.DIVIDE_BY_ZERO));
+        assertEquals(20000, metrics.getLatencies(Operation.DIVIDE).getCount());
+    }
+}
@@ -0,0 +1,125 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for precision policy class
+ *
+ * @author Zavizionov Andrii
+ */
+public class PrecisionPolicyTest {
+
+    private void assertDivide(PrecisionPolicy policy, String dividend, String divisor, String expectedResult) {
+        BigDecimal result = policy.divide(new BigDecimal(dividend), new BigDecimal(divisor));
+        if (new BigDecimal(expectedResult).compareTo(result) != 0) {
+            fail("\nExpected :" + expectedResult + "\nActual   :" + result);
+        }
+    }
+
+    private void assertBadPolicy(int digits) {
+        try {
+            PrecisionPolicy.exactOrSignificant(digits);
+            fail("Expected IllegalArgumentException for digits: " + digits);
+        } catch (IllegalArgumentException e) {
+            //correct for this arguments
+        }
+    }
+
+    @Test
+    public void testExactOrSignificantTerminating() {
+        PrecisionPolicy policy = PrecisionPolicy.exactOrSignificant(5);
+        assertDivide(policy, "1", "8", "0.125");
+        assertDivide(policy, "1", "1024", "0.0009765625");
+        assertDivide(policy, "10", "20", "0.5");
+        assertDivide(policy, "0", "7", "0");
+        assertDivide(policy, "-0.001", "100", "-0.00001");
+        assertDivide(policy, "1E10", "4E-5", "2.5E14");
+        assertDivide(policy, "123456789", "0.000008", "15432098625000");
+    }
+
+    @Test
+    public void testExactOrSignificantNonTerminating() {
+        PrecisionPolicy policy = PrecisionPolicy.exactOrSignificant(5);
+        assertDivide(policy, "1", "3", "0.33333");
+        assertDivide(policy, "2", "3", "0.66667");
+        assertDivide(policy, "-1", "7", "-0.14286");
+        assertDivide(policy, "6", "21", "0.28571");
+    }
+
+    @Test
+    public void testCompactAndBigOperandsGiveSameResult() {
+        PrecisionPolicy policy = PrecisionPolicy.exactOrSignificant(20);
+        BigDecimal big = new BigDecimal("1E30").add(BigDecimal.ONE);
+        for (int i = -30; i <= 30; i++) {
+            for (int j = 1; j <= 30; j++) {
+                BigDecimal dividend = BigDecimal.valueOf(i, 2);
+                BigDecimal divisor = BigDecimal.valueOf(j);
+                BigDecimal compact = policy.divide(dividend, divisor);
+                BigDecimal inflated = policy.divide(dividend.multiply(big), divisor.multiply(big));
+                assertEquals(inflated.stripTrailingZeros(), compact.stripTrailingZeros());
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultPrecision() {
+        BigDecimal third = PrecisionPolicy.DEFAULT.divide(BigDecimal.ONE, BigDecimal.valueOf(3));
+        assertEquals(PrecisionPolicy.DEFAULT_SIGNIFICANT_DIGITS, third.precision());
+    }
+
+    @Test
+    public void testMathContext() {
+        PrecisionPolicy policy = PrecisionPolicy.of(new MathContext(3, RoundingMode.HALF_UP));
+        assertDivide(policy, "1", "3", "0.333");
+        assertDivide(policy, "1", "1024", "0.000977");
+        assertDivide(policy, "10", "4", "2.5");
+    }
+
+    @Test
+    public void testFixedScale() {
+        PrecisionPolicy policy = PrecisionPolicy.fixedScale(2);
+        assertDivide(policy, "1", "3", "0.33");
+        assertDivide(policy, "2", "3", "0.67");
+        assertDivide(policy, "1", "1024", "0");
+    }
+
+    @Test
+    public void testValueOf() {
+        PrecisionPolicy[] policies = {PrecisionPolicy.DEFAULT, PrecisionPolicy.fixedScale(10000),
+                PrecisionPolicy.of(MathContext.DECIMAL128), PrecisionPolicy.exactOrSignificant(5)};
+        for (PrecisionPolicy policy : policies) {
+            PrecisionPolicy parsed = PrecisionPolicy.valueOf(policy.toString());
+            assertEquals(policy.toString(), parsed.toString());
+            assertEquals(policy.toString(), policy.divide(BigDecimal.ONE, new BigDecimal("7")),
+                    parsed.divide(BigDecimal.ONE, new BigDecimal("7")));
+        }
+        for (String text : new String[]{null, "", "fixedScale", "fixedScale(x)", "exactOrSignificant(0)",
+                "of(precision=0 roundingMode=HALF_UP)", "scale(5)"}) {
+            try {
+                PrecisionPolicy.valueOf(text);
+                fail("Expected IllegalArgumentException for text: " + text);
+            } catch (IllegalArgumentException e) {
+                //correct for this arguments
+            }
+        }
+    }
+
+    @Test
+    public void testBadArguments() {
+        assertBadPolicy(0);
+        assertBadPolicy(-5);
+        try {
+            PrecisionPolicy.of(MathContext.UNLIMITED);
+            fail("Expected IllegalArgumentException for unlimited math context");
+        } catch (IllegalArgumentException e) {
+            //correct for this arguments
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.implemica.zavizionov.calculator;
+
+import com.implemica.zavizionov.calculator.SlowOperationSampler.Sample;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for slow operation sampler.
+ *
+ * @author Zavizionov Andrii
+ */
+public class SlowOperationSamplerTest {
+
+    private static final PrecisionPolicy LEGACY = PrecisionPolicy.fixedScale(10000);
+
+    private final SlowOperationSampler sampler = new SlowOperationSampler(100, 3);
+
+    private void record(String left, long nanos) {
+        sampler.record(Operation.PLUS, new BigDecimal(left), BigDecimal.ONE, nanos, ResultStatus.OK,
+                PrecisionPolicy.DEFAULT);
+    }
+
+    @Test
+    public void testThreshold() {
+        record("1", 99);
+        record("2", 100);
+        record("3", 5000);
+
+        List<Sample> samples = sampler.getSamples();
+        assertEquals(2, sampler.getCapturedCount());
+        assertEquals(2, samples.size());
+        assertEquals(new BigDecimal("2"), samples.get(0).getLeft());
+        assertEquals(5000, samples.get(1).getNanos());
+    }
+
+    @Test
+    public void testRingBuffer() {
+        for (int i = 1; i <= 5; i++) {
+            record(String.valueOf(i), 1000);
+        }
+
+        List<Sample> samples = sampler.getSamples();
+        assertEquals(5, sampler.getCapturedCount());
+        assertEquals(3, samples.size());
+        assertEquals(new BigDecimal("3"), samples.get(0).getLeft());
+        assertEquals(new BigDecimal("5"), samples.get(2).getLeft());
+
+        sampler.clear();
+
+        assertEquals(0, sampler.getCapturedCount());
+        assertTrue(sampler.getSamples().isEmpty());
+    }
+
+    @Test
+    public void testDumpAndRead() throws Exception {
+        sampler.record(Operation.DIVIDE, new BigDecimal("1"), new BigDecimal("3"), 1534000, ResultStatus.OK, LEGACY);
+        sampler.record(Operation.SQRT, new BigDecimal("2E+9999"), null, 2210000, ResultStatus.OK,
+                PrecisionPolicy.of(java.math.MathContext.DECIMAL128));
+        sampler.record(Operation.MULTIPLY, new BigDecimal("1E+9999"), new BigDecimal("-1E+9999"), 300,
+                ResultStatus.OVERFLOW, PrecisionPolicy.DEFAULT);
+        StringWriter text = new StringWriter();
+
+        sampler.dump(text);
+        List<Sample> samples = SlowOperationSampler.read(new StringReader(text.toString()));
+
+        assertTrue(text.toString(), text.toString().contains("\nDIVIDE 1 3 1534000 OK fixedScale(10000)\n"));
+        assertEquals(3, samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            assertEquals(sampler.getSamples().get(i).toString(), samples.get(i).toString());
+        }
+        assertNull(samples.get(1).getRight());
+        assertEquals(ResultStatus.OVERFLOW, samples.get(2).getStatus());
+    }
+
+    @Test
+    public void testCalculatorCapturesOperations() throws Exception {
+        SlowOperationSampler all = new SlowOperationSampler(0, 16);
+        CalculatorController controller = CalculatorController.getInstance(LEGACY);
+        controller.setSampler(all);
+
+        controller.setOperation(new BigDecimal("1"), Operation.DIVIDE);
+        BigDecimal quotient = controller.getResult(new BigDecimal("3"));
+        BigDecimal root = controller.getSqrt(new BigDecimal("2"));
+        controller.setOperation(new BigDecimal("200"), Operation.PLUS);
+        BigDecimal percent = controller.getPercent(new BigDecimal("5"));
+
+        List<Sample> samples = all.getSamples();
+        assertEquals(3, samples.size());
+        assertEquals("DIVIDE 1 3", samples.get(0).toString().substring(0, 10));
+        assertTrue(samples.get(0).toString().endsWith(" OK fixedScale(10000)"));
+        assertEquals(Operation.SQRT, samples.get(1).getOperation());
+        assertEquals(Operation.PERCENT, samples.get(2).getOperation());
+
+        Calculator calculator = new Calculator();
+        assertEquals(quotient, samples.get(0).replay(calculator));
+        assertEquals(root, samples.get(1).replay(calculator));
+        assertEquals(percent, samples.get(2).replay(calculator));
+        assertEquals(LEGACY, calculator.getPrecisionPolicy());
+    }
+
+    @Test
+    public void testReplayErrors() throws Exception {
+        List<Sample> samples = SlowOperationSampler.read(new StringReader(
+                "# errors\nDIVIDE 1 0 10 DIVIDE_BY_ZERO exactOrSignificant(64)\nREVERSE 0 - 10 DIVIDE_BY_ZERO fixedScale(5)\n"));
+        Calculator calculator = new Calculator();
+
+        assertNull(samples.get(0).replay(calculator));
+        assertNull(samples.get(1).replay(calculator));
+    }
+
+    @Test
+    public void testPoolStopsCapturing() {
+        CalculatorSessionPool pool = new CalculatorSessionPool();
+        CalculatorController pooled = pool.acquire();
+        pooled.setSampler(sampler);
+
+        pool.release(pooled);
+
+        assertNull(pooled.getSampler());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedLine() throws Exception {
+        SlowOperationSampler.read(new StringReader("DIVIDE 1 3 10 OK\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCapacity() {
+        new SlowOperationSampler(0, 0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.implemica.zavizionov.calculator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for streaming evaluator class
+ *
+ * @author Zavizionov Andrii
+ */
+public class StreamingEvaluatorTest {
+
+    private Path input;
+
+    private Path output;
+
+    @Before
+    public void createFiles() throws IOException {
+        input = Files.createTempFile("expressions", ".txt");
+        output = Files.createTempFile("results", ".txt");
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    private String evaluate(String expressions, StreamingEvaluator evaluator) throws IOException {
+        Files.write(input, expressions.getBytes(StandardCharsets.US_ASCII));
+        StreamingEvaluator.Summary summary = evaluator.evaluate(input, output);
+        assertEquals(Files.size(input), summary.getBytesRead());
+        assertEquals(Files.size(output), summary.getBytesWritten());
+        return new String(Files.readAllBytes(output), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testResultsAndErrors() throws IOException {
+        Files.write(input, "3+5*2-0.5/4=\r\n1/0=\n\n1+\n1E-6000*1E-6000=\n10/4".getBytes(StandardCharsets.US_ASCII));
+        StreamingEvaluator.Summary summary = new StreamingEvaluator().evaluate(input, output);
+
+        assertEquals("3.875\nERROR DIVIDE_BY_ZERO\n\nERROR MALFORMED\nERROR OVERFLOW\n2.5\n",
+                new String(Files.readAllBytes(output), StandardCharsets.US_ASCII));
+        assertEquals(6, summary.getLines());
+        assertEquals(3, summary.getErrors());
+        assertEquals(1, summary.getMalformed());
+    }
+
+    @Test
+    public void testSmallWindowsAndBuffer() throws IOException {
+        StringBuilder expressions = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            expressions.append(i).append("*3+1=\n");
+            expected.append(i * 3 + 1).append('\n');
+        }
+
+        String results = evaluate(expressions.toString(), new StreamingEvaluator(PrecisionPolicy.DEFAULT, 100, 7));
+
+        assertEquals(expected.toString(), results);
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertEquals("", evaluate("", new StreamingEvaluator()));
+    }
+
+    @Test
+    public void testLineLongerThanWindow() throws IOException {
+        try {
+            evaluate("1+2=\n123456789+1=\n", new StreamingEvaluator(PrecisionPolicy.DEFAULT, 8, 16));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("byte 5"));
+        }
+        //result of line before failure is flushed
+        assertEquals("3\n", new String(Files.readAllBytes(output), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testOperandsOutOfRange() throws IOException {
+        long start = System.nanoTime();
+        String results = evaluate("1E+1000000+1=\n1E+1000000=\n1-1E-10001=\n1E+10000+1=\n",
+                new StreamingEvaluator());
+
+        assertEquals("ERROR OVERFLOW\nERROR OVERFLOW\nERROR OVERFLOW\n1" + zeros(9999) + "1\n", results);
+        //huge numbers are neither added nor printed
+        assertTrue(System.nanoTime() - start < 1000000000L);
+    }
+
+    private static String zeros(int count) {
+        StringBuilder zeros = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            zeros.append('0');
+        }
+        return zeros.toString();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadWindowSize() {
+        new StreamingEvaluator(PrecisionPolicy.DEFAULT, 0, 16);
+    }
+}
@@ -0,0 +1,75 @@
+package com.implemica.zavizionov.calculator.allocation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for allocation profiler and allocation budgets of controller.
+ *
+ * @author Zavizionov Andrii
+ */
+public class AllocationProfilerTest {
+
+    private long[] lastArray;
+
+    @Before
+    public void checkSupport() {
+        assumeTrue(AllocationProfiler.isSupported());
+    }
+
+    @Test
+    public void testControllerWithinBudgets() {
+        AllocationReport report = ControllerAllocations.profile(new AllocationProfiler()).run();
+
+        assertTrue(report.toString(), report.isWithinBudgets());
+    }
+
+    @Test
+    public void testBytesPerCall() {
+        AllocationReport report = new AllocationProfiler(1000, 1000)
+                .add("nothing", 0, () -> {
+                })
+                .add("array", 2048, () -> lastArray = new long[126])
+                .add("two arrays", 1024, () -> {
+                    lastArray = new long[126];
+                    lastArray = new long[126];
+                })
+                .run();
+        List<AllocationReport.Row> rows = report.getRows();
+
+        assertEquals(0, rows.get(0).getBytesPerCall());
+        long arrayBytes = rows.get(1).getBytesPerCall();
+        assertTrue(String.valueOf(arrayBytes), arrayBytes >= 126 * 8 && arrayBytes <= 126 * 8 + 32);
+        assertEquals(arrayBytes * 2, rows.get(2).getBytesPerCall());
+
+        assertFalse(report.isWithinBudgets());
+        assertEquals(1, report.getOverBudget().size());
+        assertEquals("two arrays", report.getOverBudget().get(0).getName());
+        assertTrue(report.toString(), report.toString().contains("OVER"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailedCall() {
+        new AllocationProfiler(0, 1).add("failure", 0, () -> {
+            throw new Exception("failure");
+        }).run();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeBudget() {
+        new AllocationProfiler().add("negative", -1, () -> {
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoMeasuredCalls() {
+        new AllocationProfiler(0, 0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.implemica.zavizionov.calculator.replay;
+
+import com.implemica.zavizionov.calculator.PrecisionPolicy;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for session replayer.
+ *
+ * @author Zavizionov Andrii
+ */
+public class SessionReplayerTest {
+
+    private static final String LOG = "# two sessions\n"
+            + "session 1\n"
+            + "key THREE\n"
+            + "key PLUS\n"
+            + "key FIVE\n"
+            + "key MINUS\n"
+            + "display 8\n"
+            + "history 3 + 5 -\n"
+            + "key TWO\n"
+            + "key EQUAL\n"
+            + "display 6\n"
+            + "history \n"
+            + "\n"
+            + "session 2\n"
+            + "paste 12.50\n"
+            + "key MULTIPLY\n"
+            + "key ONE\n"
+            + "key ZERO\n"
+            + "key BACKSPACE\n"
+            + "key EQUAL\n"
+            + "display 12.5\n";
+
+    private static ReplayReport replay(String log) throws Exception {
+        return new SessionReplayer().replay(new StringReader(log));
+    }
+
+    @Test
+    public void testPassedReplay() throws Exception {
+        ReplayReport report = replay(LOG);
+
+        assertTrue(report.toString(), report.isPassed());
+        assertEquals(2, report.getSessions());
+        assertEquals(12, report.getKeys());
+        assertEquals(5, report.getChecks());
+        assertTrue(report.getKeysPerSecond() > 0);
+        assertTrue(report.getP50Nanos() <= report.getP99Nanos());
+    }
+
+    @Test
+    public void testDivergence() throws Exception {
+        ReplayReport report = replay(LOG.replace("display 6", "display 7"));
+
+        assertFalse(report.isPassed());
+        assertEquals(1, report.getDivergenceCount());
+        Divergence divergence = report.getDivergences().get(0);
+        assertEquals(11, divergence.getLine());
+        assertEquals("1", divergence.getSession());
+        assertEquals("display", divergence.getScreen());
+        assertEquals("7", divergence.getExpected());
+        assertEquals("6", divergence.getActual());
+    }
+
+    @Test
+    public void testSessionsAreIndependent() throws Exception {
+        String log = "session a\nkey FIVE\nkey MS\nkey PLUS\n"
+                + "session b\nkey MR\ndisplay 0\nkey TWO\nhistory \n";
+
+        assertTrue(replay(log).isPassed());
+    }
+
+    @Test
+    public void testLimitOfDivergences() throws Exception {
+        String log = "key ONE\ndisplay 2\ndisplay 3\ndisplay 4\n";
+        ReplayReport report = new SessionReplayer(PrecisionPolicy.DEFAULT, 2)
+                .replay(new StringReader(log));
+
+        assertEquals(3, report.getDivergenceCount());
+        assertEquals(2, report.getDivergences().size());
+    }
+
+    @Test
+    public void testReplayFile() throws Exception {
+        Path log = Files.createTempFile("sessions", ".log");
+        try {
+            Files.write(log, Arrays.asList(LOG.split("\n")), StandardCharsets.UTF_8);
+            assertTrue(new SessionReplayer().replay(log).isPassed());
+        } finally {
+            Files.delete(log);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownKey() throws Exception {
+        replay("key ELEVEN\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownCommand() throws Exception {
+        replay("press ONE\n");
+    }
+}
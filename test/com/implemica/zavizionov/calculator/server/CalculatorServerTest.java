@@ -0,0 +1,133 @@
+package com.implemica.zavizionov.calculator.server;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.Socket;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for calculator server and its sessions
+ *
+ * @author Zavizionov Andrii
+ */
+public class CalculatorServerTest {
+
+    @Test
+    public void testSession() {
+        CalculatorSession session = new CalculatorSession();
+        assertEquals("OK", session.handle("SET 3 +"));
+        assertEquals("OK 8", session.handle("RESULT 5"));
+        assertEquals("OK 13", session.handle("result 5"));
+        assertEquals("OK 6", session.handle("AGAIN 1"));
+        assertEquals("OK 11", session.handle("ONGO 5"));
+        assertEquals("OK 5.5", session.handle("PERCENT 50"));
+        assertEquals("OK 1.5", session.handle("SQRT 2.25"));
+        assertEquals("OK -2", session.handle("NEGATE 2"));
+        assertEquals("OK 0.25", session.handle("REVERSE 4"));
+        assertEquals("ERROR DIVIDE_BY_ZERO", session.handle("REVERSE 0"));
+        assertEquals("ERROR OVERFLOW", session.handle("REVERSE 3E+9999"));
+
+        assertEquals("OK", session.handle("MSTORE 10"));
+        assertEquals("OK", session.handle("MADD 5"));
+        assertEquals("OK", session.handle("MSUB 1"));
+        assertEquals("OK 14", session.handle("MR"));
+        assertEquals("OK", session.handle("MC"));
+        assertEquals("OK 0", session.handle("MR"));
+
+        assertEquals("OK 16", session.handle("EVAL 3+5*2="));
+        assertEquals("ERROR DIVIDE_BY_ZERO", session.handle("EVAL 1/0"));
+        assertEquals("OK", session.handle("SET 1 /"));
+        assertEquals("ERROR DIVIDE_BY_ZERO", session.handle("RESULT 0"));
+
+        assertTrue(session.handle("SET 1 %").startsWith("ERROR "));
+        assertTrue(session.handle("RESULT x").startsWith("ERROR "));
+        assertTrue(session.handle("EVAL 1+").startsWith("ERROR "));
+        assertTrue(session.handle("POWER 2").startsWith("ERROR "));
+        assertTrue(session.handle("SET 1E+20000000 +").startsWith("ERROR "));
+        assertTrue(session.handle("SET 1E+2147483647 +").startsWith("ERROR "));
+        assertTrue(session.handle("PERCENT 1E-10001").startsWith("ERROR "));
+        assertEquals("OK", session.handle("SET 1E+10000 +"));
+        assertEquals("OK", session.handle("SET 1E+9999 *"));
+        assertEquals("ERROR OVERFLOW", session.handle("RESULT 1E+9999"));
+        assertEquals("OK 3", session.handle("SQRT 9"));
+
+        assertEquals("BYE", session.handle("QUIT"));
+        assertTrue(session.isClosed());
+    }
+
+    @Test
+    public void testServer() throws Exception {
+        try (CalculatorServer server = new CalculatorServer(0)) {
+            try (Socket socket = new Socket("localhost", server.getPort());
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                         StandardCharsets.US_ASCII));
+                 Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                writer.write("SET 2 *\nRESULT 21\nQUIT\n");
+                writer.flush();
+                assertEquals("OK", reader.readLine());
+                assertEquals("OK 42", reader.readLine());
+                assertEquals("BYE", reader.readLine());
+            }
+            try (Socket socket = new Socket("localhost", server.getPort());
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                         StandardCharsets.US_ASCII));
+                 Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                StringBuilder longLine = new StringBuilder("EVAL ");
+                for (int i = 0; i < CalculatorServer.MAX_LINE_LENGTH; i++) {
+                    longLine.append('1');
+                }
+                writer.write(longLine + "\nSET 1E+20000000 +\nSET 1E+9999 *\nRESULT 1E+9999\nSQRT 9\nQUIT\n");
+                writer.flush();
+                assertTrue(reader.readLine().startsWith("ERROR request is longer than"));
+                assertTrue(reader.readLine().startsWith("ERROR "));
+                assertEquals("OK", reader.readLine());
+                assertEquals("ERROR OVERFLOW", reader.readLine());
+                assertEquals("OK 3", reader.readLine());
+                assertEquals("BYE", reader.readLine());
+            }
+            LoadGenerator.Report report = new LoadGenerator(50, 20, "localhost", server.getPort()).run();
+            assertEquals(1000, report.getRequests());
+            assertEquals(50, server.getPeakSessions());
+        }
+    }
+
+    @Test
+    public void testRequestReader() throws Exception {
+        RequestReader reader = new RequestReader(new StringReader("SET 1 +\r\n123456789\nMR"), 4);
+
+        assertEquals("SET ", reader.readLine());
+        assertTrue(reader.isTruncated());
+        assertEquals("1234", reader.readLine());
+        assertTrue(reader.isTruncated());
+        assertEquals("MR", reader.readLine());
+        assertFalse(reader.isTruncated());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void testVirtualSessions() throws Exception {
+        assumeTrue(SessionExecutors.isVirtual());
+        final Method isVirtual = Thread.class.getMethod("isVirtual");
+        ExecutorService executor = SessionExecutors.newPerSessionExecutor();
+        try {
+            assertEquals(Boolean.TRUE, executor.submit(() -> isVirtual.invoke(Thread.currentThread())).get());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}